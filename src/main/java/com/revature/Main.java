@@ -4,16 +4,24 @@ import com.revature.controller.AuthenticationController;
 import com.revature.controller.IngredientController;
 import com.revature.controller.RecipeController;
 import com.revature.dao.ChefDAO;
+import com.revature.dao.ChefSessionDAO;
 import com.revature.dao.IngredientDAO;
 import com.revature.dao.RecipeDAO;
+import com.revature.dao.RevokedTokenDAO;
 import com.revature.service.AuthenticationService;
 import com.revature.service.ChefService;
 import com.revature.service.IngredientService;
 import com.revature.service.RecipeService;
+import com.revature.service.SignedTokenService;
 import com.revature.util.AdminMiddleware;
 import com.revature.util.ConnectionUtil;
 import com.revature.util.JavalinAppUtil;
 import com.revature.util.DBUtil;
+import com.revature.util.JdbcSessionStore;
+import com.revature.util.SessionStore;
+import com.revature.util.TokenSigner;
+
+import java.util.Base64;
 
 import io.javalin.Javalin;
 
@@ -92,6 +100,12 @@ public class Main {
         }
     }
 
+    if (DBUtil.resetRequested()) {
+        DBUtil.RUN_SQL();
+    } else {
+        DBUtil.MIGRATE();
+    }
+
     INGREDIENT_DAO = new IngredientDAO(CONNECTION_UTIL);
 		
 		CHEF_DAO = new ChefDAO(CONNECTION_UTIL);
@@ -100,7 +114,7 @@ public class Main {
 		
 		CHEF_SERVICE = new ChefService(CHEF_DAO);
 		
-		AUTH_SERVICE = new AuthenticationService(CHEF_SERVICE);
+		AUTH_SERVICE = createAuthenticationService();
 		
 		RECIPE_SERVICE = new RecipeService(RECIPE_DAO);
 		
@@ -114,11 +128,42 @@ public class Main {
 		
 		JAVALIN_APP_UTIL = new JavalinAppUtil(RECIPE_CONTROLLER, AUTH_CONTROLLER, INGREDIENT_CONTROLLER);
 		
-		DBUtil.RUN_SQL();
+		INGREDIENT_DAO.loadCatalog();
+		RECIPE_DAO.loadIndexes();
 		
         Javalin app = JAVALIN_APP_UTIL.getApp();
         app.start(port);
         return app;
     }
+
+    /**
+     * Creates the authentication service for the configured session backend: signed tokens with `-Dauth.tokenMode=signed`, sessions in the CHEF_SESSION table with `-Dsession.store=jdbc`, and in-memory sessions otherwise.
+     */
+    private static AuthenticationService createAuthenticationService() {
+        if ("signed".equalsIgnoreCase(System.getProperty("auth.tokenMode"))) {
+            return new AuthenticationService(CHEF_SERVICE, createSignedTokenService());
+        }
+        if ("jdbc".equalsIgnoreCase(System.getProperty("session.store"))) {
+            SessionStore sessions = new JdbcSessionStore(new ChefSessionDAO(CONNECTION_UTIL));
+            return new AuthenticationService(CHEF_SERVICE, sessions);
+        }
+        return new AuthenticationService(CHEF_SERVICE);
+    }
+
+    /**
+     * Creates the signed token service for `-Dauth.tokenMode=signed`. Every node must share the base64 signing secret, given by the `auth.tokenSecret` system property or the AUTH_TOKEN_SECRET environment variable. Tokens last `auth.tokenTtlMillis` (default 12 hours) and the deny-list is reloaded every `auth.denyListRefreshMillis` (default 30 seconds).
+     *
+     * @throws IllegalStateException if no secret is configured
+     */
+    private static SignedTokenService createSignedTokenService() {
+        String secret = System.getProperty("auth.tokenSecret", System.getenv("AUTH_TOKEN_SECRET"));
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalStateException("Signed token mode needs auth.tokenSecret or AUTH_TOKEN_SECRET");
+        }
+        return new SignedTokenService(new TokenSigner(Base64.getDecoder().decode(secret)),
+                new RevokedTokenDAO(CONNECTION_UTIL),
+                Long.getLong("auth.tokenTtlMillis", 12 * 60 * 60 * 1000L),
+                Long.getLong("auth.denyListRefreshMillis", 30 * 1000L));
+    }
 }
 
@@ -1,5 +1,6 @@
 package com.revature.controller;
 
+import com.revature.dao.DuplicateChefException;
 import com.revature.model.Chef;
 import com.revature.service.AuthenticationService;
 import com.revature.service.ChefService;
@@ -13,32 +14,30 @@ import io.javalin.http.Context;
 /**
  * The AuthenticationController class handles user authentication-related operations. This includes login, logout, registration, and managing the authorization filter. 
  * 
- * It interacts with the ChefService and AuthenticationService for certain functionalities related to the user.
+ * It interacts with the AuthenticationService for certain functionalities related to the user.
  */
 
 public class AuthenticationController {
 
-    /** A service that handles chef-related operations. */
-    private ChefService chefService;
     /** A service that handles authentication-related operations. */
     private AuthenticationService authService;
 
     /**
      * Constructs an AuthenticationController with the parameters.
      * 
-     * @param chefService the service used to manage chef-related operations
+     * @param chefService the service used to manage chef-related operations; not used, but kept so that callers
+     *                    wire every controller the same way
      * 
      * @param authService the service used to manage authentication-related operations
      */
     public AuthenticationController(ChefService chefService, AuthenticationService authService) {
-        this.chefService = chefService;
         this.authService = authService;
     }
 
     /**
      * Registers a new chef in the system.
      * 
-     * If the username already exists, responds with a 409 Conflict status and a result of "Username already exists".
+     * If the username already exists, responds with a 409 Conflict status and a result of "Username already exists". Any other invalid chef is answered with a 400 Bad Request status.
      * 
      * Otherwise, registers the chef and responds with a 201 Created status and the registered chef details.
      *
@@ -48,13 +47,15 @@ public class AuthenticationController {
     public void register(Context ctx) {
         Chef newChef = ctx.bodyAsClass(Chef.class);
 
-        if (chefService.searchChefs(newChef.getUsername()).stream().anyMatch(c -> c.getUsername().equals(newChef.getUsername()))) {
-            ctx.status(409).result("Username already exists");
-            return;
+        try {
+            Chef registeredChef = authService.registerChef(newChef);
+            ctx.status(201).json(registeredChef);
+        } catch (DuplicateChefException e) {
+            // The unique constraints on CHEF catch duplicates, so there is no need to look first
+            ctx.status(409).result(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).result(e.getMessage());
         }
-
-        Chef registeredChef = authService.registerChef(newChef);
-        ctx.status(201).json(registeredChef);
     }
 
     /**
@@ -70,7 +71,7 @@ public class AuthenticationController {
         String token = authService.login(chefCredentials);
         if (token != null) {
             // get chef's role
-            Chef chef = AuthenticationService.loggedInUsers.get(token);
+            Chef chef = authService.getChefFromSessionToken(token);
 
             // send back token and role
             ctx.status(200).result(token + " " + Boolean.toString(chef.isAdmin())).header("Authorization", token);
@@ -90,7 +91,7 @@ public class AuthenticationController {
      * No modifications or implementations are required.
      */
     public void logout(Context ctx) {
-        authService.logout(ctx.header("Authorization").split(" ")[1]);
+        authService.logout(AuthenticationService.tokenFromHeader(ctx.header("Authorization")));
 
         if (" " != null) {
             ctx.status(200).result("Logout successful");
@@ -98,6 +99,13 @@ public class AuthenticationController {
     }
 
     
+    /**
+     * @return the AuthenticationService that holds this application's sessions
+     */
+    public AuthenticationService getAuthService() {
+        return authService;
+    }
+
     /**
      * Configures the routes for authentication operations.
      * Sets up routes for registration, login, and logout, and applies the authorization filter to protect specific routes.
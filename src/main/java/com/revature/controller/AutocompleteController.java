@@ -0,0 +1,67 @@
+package com.revature.controller;
+
+import com.revature.service.IngredientService;
+import com.revature.service.RecipeService;
+
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+
+/**
+ * The AutocompleteController class suggests ingredient and recipe names as the user types. Suggestions are served from the in-memory ingredient catalog and recipe search index, which are kept up to date by every write, so each keystroke costs a binary search rather than a LIKE scan of the table.
+ */
+public class AutocompleteController {
+
+    /** The number of suggestions returned when the request does not ask for a number. */
+    private static final int DEFAULT_LIMIT = 10;
+    /** The most suggestions a request may ask for. */
+    private static final int MAX_LIMIT = 50;
+
+    /** A service that handles ingredient-related operations. */
+    private IngredientService ingredientService;
+    /** A service that handles recipe-related operations. */
+    private RecipeService recipeService;
+
+    public AutocompleteController(IngredientService ingredientService, RecipeService recipeService) {
+        this.ingredientService = ingredientService;
+        this.recipeService = recipeService;
+    }
+
+    /**
+     * Suggests names that start with the "prefix" query parameter. The "type" parameter chooses between ingredients ("ingredient") and recipes ("recipe"), and the optional "limit" parameter caps the number of suggestions (default 10, at most 50).
+     *
+     * Responds with a 200 OK status and the suggestions, ordered by name, or a 400 Bad Request status if a parameter is missing or invalid.
+     */
+    public void autocomplete(Context ctx) {
+        String type = ctx.queryParam("type");
+        String prefix = ctx.queryParam("prefix");
+        if (prefix == null) {
+            ctx.status(400).result("A prefix is required");
+            return;
+        }
+        int limit;
+        try {
+            limit = ctx.queryParam("limit") == null ? DEFAULT_LIMIT : Integer.parseInt(ctx.queryParam("limit"));
+        } catch (NumberFormatException e) {
+            ctx.status(400).result("Invalid limit");
+            return;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            ctx.status(400).result("The limit must be between 1 and " + MAX_LIMIT);
+            return;
+        }
+        if ("ingredient".equals(type)) {
+            ctx.json(ingredientService.suggestIngredients(prefix, limit));
+        } else if ("recipe".equals(type)) {
+            ctx.json(recipeService.suggestRecipes(prefix, limit));
+        } else {
+            ctx.status(400).result("The type must be ingredient or recipe");
+        }
+    }
+
+    /**
+     * Configure the routes for autocomplete.
+     */
+    public void configureRoutes(Javalin app) {
+        app.get("/autocomplete", this::autocomplete);
+    }
+}
@@ -3,10 +3,14 @@ package com.revature.controller;
 
 import com.revature.model.Ingredient;
 import com.revature.service.IngredientService;
+import com.revature.util.ConditionalGet;
+import com.revature.util.CursorPage;
 import com.revature.util.Page;
+import com.revature.util.ResponseCache;
 
 import io.javalin.Javalin;
 import io.javalin.http.Context;
+import io.javalin.http.Handler;
 
 import java.util.Optional;
 
@@ -104,19 +108,38 @@ public class IngredientController {
      * Retrieves a paginated list of ingredients, or all ingredients if no pagination parameters are provided.
      * 
      * If pagination parameters are included, returns ingredients based on page, page size, sorting, and filter term.
+     * 
+     * If an "after" parameter is included, returns a cursor page instead. An empty "after" reads the first page, and each page's nextCursor reads the one after it.
      *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
      */
     public void getIngredients(Context ctx) {
        String term = getParamAsClassOrElse(ctx, "term", String.class, null);
+        if(ctx.queryParam("after") != null) {
+            String after = ctx.queryParam("after");
+            int pageSize = getParamAsClassOrElse(ctx, "pageSize", Integer.class, 10);
+            String sortBy = getParamAsClassOrElse(ctx, "sortBy", String.class, "id");
+            String sortDirection = getParamAsClassOrElse(ctx, "sortDirection", String.class, "asc");
+            try {
+                CursorPage<Ingredient> ingredients = ingredientService.searchIngredientsAfter(term, after, pageSize, sortBy, sortDirection);
+                ctx.json(ingredients);
+            } catch (IllegalArgumentException e) {
+                ctx.status(400).result(e.getMessage());
+            }
+            return;
+        }
         if(ctx.queryParam("page") != null) {
             int page = getParamAsClassOrElse(ctx, "page", Integer.class, 1);
             int pageSize = getParamAsClassOrElse(ctx, "pageSize", Integer.class, 10);
             String sortBy = getParamAsClassOrElse(ctx, "sortBy", String.class, "id");
             String sortDirection = getParamAsClassOrElse(ctx, "sortDirection", String.class, "asc");
-            Page<Ingredient> ingredients = ingredientService.searchIngredients(term, page, pageSize, sortBy, sortDirection);
-            ctx.json(ingredients);
+            try {
+                Page<Ingredient> ingredients = ingredientService.searchIngredients(term, page, pageSize, sortBy, sortDirection);
+                ctx.json(ingredients);
+            } catch (IllegalArgumentException e) {
+                ctx.status(400).result(e.getMessage());
+            }
             return;
         }
         ctx.json(ingredientService.searchIngredients(term));
@@ -138,14 +161,34 @@ public class IngredientController {
         }
     }
     /**
-     * Configure the routes for ingredient operations.
+     * @return the service the controller uses, so that other routes can share it
+     */
+    public IngredientService getIngredientService() {
+        return ingredientService;
+    }
+
+    /**
+     * Configure the routes for ingredient operations. Reads are wrapped in {@link ConditionalGet}, so they carry ETags and
+     * answer a matching If-None-Match with 304 Not Modified.
      *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
      */
     public void configureRoutes(Javalin app) {
-        app.get("/ingredients", this::getIngredients);
-        app.get("/ingredients/{id}", this::getIngredient);
+        configureRoutes(app, null);
+    }
+
+    /**
+     * Configure the routes for ingredient operations, serving ingredient lists from the given {@link ResponseCache} so
+     * that a popular page is serialized and gzipped once per change to the ingredients.
+     *
+     * @param responseCache the cache shared by every controller of the app, or null to serialize every response
+     */
+    public void configureRoutes(Javalin app, ResponseCache responseCache) {
+        Handler lists = responseCache == null ? this::getIngredients
+                : responseCache.cached("ingredients", ingredientService::getDataVersion, this::getIngredients);
+        app.get("/ingredients", new ConditionalGet("ingredients", ingredientService::getDataVersion, lists));
+        app.get("/ingredients/{id}", new ConditionalGet("ingredients", ingredientService::getDataVersion, this::getIngredient));
         app.post("/ingredients", this::createIngredient);
         app.put("/ingredients/{id}", this::updateIngredient);
         app.delete("/ingredients/{id}", this::deleteIngredient);
@@ -4,7 +4,10 @@ import com.revature.model.Chef;
 import com.revature.model.Recipe;
 import com.revature.service.AuthenticationService;
 import com.revature.service.RecipeService;
+import com.revature.util.ConditionalGet;
+import com.revature.util.CursorPage;
 import com.revature.util.Page;
+import com.revature.util.ResponseCache;
 
 import io.javalin.Javalin;
 import io.javalin.http.Context;
@@ -44,6 +47,14 @@ public class RecipeController {
      * Handler for fetching all recipes. Supports pagination, sorting, and filtering by recipe name or ingredient.
      * 
      * Responds with a 200 OK status and the list of recipes, or 404 Not Found with a result of "No recipes found".
+     * 
+     * When an "after" parameter is present, responds with a cursor page instead. An empty "after" reads the first page, and each page's nextCursor reads the one after it.
+     * 
+     * Recipes are returned without their ingredients unless the request asks for them with "include=ingredients".
+     * 
+     * With an "ingredients" parameter, a comma-separated list of ingredient ids or names, responds with the recipes that use them: all of them ("match=all", the default), any of them ("match=any"), or any of them with at most "maxMissing" other ingredients ("match=missing", fewest missing first).
+     * 
+     * With a "page" parameter, "sortBy=relevance" ranks recipes by how well their name and instructions match the words of the term.
      *
      * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
@@ -51,17 +62,64 @@ public class RecipeController {
     public Handler fetchAllRecipes = ctx -> {
         String term = getParamAsClassOrElse(ctx, "term", String.class, null);
 
-		if (ctx.queryParam("page") != null) {
+		if (ctx.queryParam("after") != null) {
+
+			String after = ctx.queryParam("after");
+			int pageSize = getParamAsClassOrElse(ctx, "pageSize", Integer.class, 10);
+			String sortBy = getParamAsClassOrElse(ctx, "sortBy", String.class, "id");
+			String sortDirection = getParamAsClassOrElse(ctx, "sortDirection", String.class, "asc");
+
+			try {
+				CursorPage<Recipe> recipePage = recipeService.searchRecipesAfter(term, after, pageSize, sortBy, sortDirection);
+				if (includesIngredients(ctx)) {
+					recipeService.loadIngredients(recipePage.getItems());
+				}
+				ctx.json(recipePage);
+			} catch (IllegalArgumentException e) {
+				ctx.status(400).result(e.getMessage());
+			}
+
+		} else if (ctx.queryParam("page") != null) {
 
 			int page = getParamAsClassOrElse(ctx, "page", Integer.class, 1);
 			int pageSize = getParamAsClassOrElse(ctx, "pageSize", Integer.class, 10);
 			String sortBy = getParamAsClassOrElse(ctx, "sortBy", String.class, "id");
 			String sortDirection = getParamAsClassOrElse(ctx, "sortDirection", String.class, "asc");
 
-			Page<Recipe> recipePage = recipeService.searchRecipes(term, page, pageSize, sortBy, sortDirection);
+			try {
+				Page<Recipe> recipePage = recipeService.searchRecipes(term, page, pageSize, sortBy, sortDirection);
+				if (includesIngredients(ctx)) {
+					recipeService.loadIngredients(recipePage.getItems());
+				}
+				ctx.json(recipePage);
+			} catch (IllegalArgumentException e) {
+				ctx.status(400).result(e.getMessage());
+			}
 
-            
-			ctx.json(recipePage);
+		} else if (ctx.queryParam("ingredients") != null) {
+
+			List<String> ingredients = new ArrayList<>();
+			for (String part : ctx.queryParam("ingredients").split(",")) {
+				if (!part.isBlank()) {
+					ingredients.add(part.trim());
+				}
+			}
+			String match = getParamAsClassOrElse(ctx, "match", String.class, "all");
+
+			try {
+				int maxMissing = getParamAsClassOrElse(ctx, "maxMissing", Integer.class, 0);
+				List<Recipe> recipes = recipeService.searchRecipesByIngredients(ingredients, match, maxMissing);
+				if (recipes == null || recipes.isEmpty()) {
+					ctx.status(404).result("No recipes found");
+				} else {
+					if (includesIngredients(ctx)) {
+						recipeService.loadIngredients(recipes);
+					}
+					ctx.status(200).json(recipes);
+				}
+			} catch (IllegalArgumentException e) {
+				ctx.status(400).result(e.getMessage());
+			}
 
 		} else {
 
@@ -75,11 +133,17 @@ public class RecipeController {
             else if(ingredient == null && recipeName != null) {
                 recipes = recipeService.searchRecipes(recipeName);
             }
+            else if(ingredient != null && recipeName == null) {
+                recipes = recipeService.searchRecipesByIngredient(ingredient);
+            }
             if(recipes.isEmpty()) {
                 ctx.status(404);
                 ctx.result("No recipes found");
             }
             else {
+                if (includesIngredients(ctx)) {
+                    recipeService.loadIngredients(recipes);
+                }
                 ctx.status(200);
                 ctx.json(recipes);
             }
@@ -93,12 +157,15 @@ public class RecipeController {
      * 
      * If unsuccessful, responds with a 404 status code and a result of "Recipe not found".
      * 
+     * The recipe's ingredients are included when the request asks for them with "include=ingredients". Recipes are
+     * read through the recipe cache.
+     * 
      * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
      */
     public Handler fetchRecipeById = ctx -> {
         int id = Integer.parseInt(ctx.pathParam("id"));
-        Optional<Recipe> recipe = recipeService.findRecipe(id);
+        Optional<Recipe> recipe = recipeService.findRecipe(id, includesIngredients(ctx));
         if (recipe.isPresent()) {
             ctx.json(recipe.get());
             ctx.status(200);
@@ -117,7 +184,7 @@ public class RecipeController {
      * No modifications or implementations are required.
      */
     public Handler createRecipe = ctx -> {
-        Chef chef = authService.getChefFromSessionToken(ctx.header("Authorization").split(" ")[1]);
+        Chef chef = authService.getChefFromAuthorizationHeader(ctx.header("Authorization"));
         if (chef == null) {
 			ctx.status(401);
 		} else {
@@ -214,14 +281,50 @@ public class RecipeController {
     }
 
     /**
-     * Configure the routes for recipe operations.
+     * @return true if the "include" query parameter, a comma-separated list, names "ingredients"
+     */
+    private boolean includesIngredients(Context ctx) {
+        String include = ctx.queryParam("include");
+        if (include == null) {
+            return false;
+        }
+        for (String part : include.split(",")) {
+            if (part.trim().equalsIgnoreCase("ingredients")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the service the controller uses, so that other routes can share it
+     */
+    public RecipeService getRecipeService() {
+        return recipeService;
+    }
+
+    /**
+     * Configure the routes for recipe operations. Reads are wrapped in {@link ConditionalGet}, so they carry ETags and
+     * answer a matching If-None-Match with 304 Not Modified.
      *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
      */
     public void configureRoutes(Javalin app) {
-        app.get("/recipes", fetchAllRecipes);
-        app.get("/recipes/{id}", fetchRecipeById);
+        configureRoutes(app, null);
+    }
+
+    /**
+     * Configure the routes for recipe operations, serving recipe lists from the given {@link ResponseCache} so that a
+     * popular page is serialized and gzipped once per change to the recipes.
+     *
+     * @param responseCache the cache shared by every controller of the app, or null to serialize every response
+     */
+    public void configureRoutes(Javalin app, ResponseCache responseCache) {
+        Handler lists = responseCache == null ? fetchAllRecipes
+                : responseCache.cached("recipes", recipeService::getDataVersion, fetchAllRecipes);
+        app.get("/recipes", new ConditionalGet("recipes", recipeService::getDataVersion, lists));
+        app.get("/recipes/{id}", new ConditionalGet("recipes", recipeService::getDataVersion, fetchRecipeById));
         app.post("/recipes", createRecipe);
         app.put("/recipes/{id}", updateRecipe);
         app.delete("/recipes/{id}", deleteRecipe);
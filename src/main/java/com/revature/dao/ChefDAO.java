@@ -4,12 +4,19 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
 
 import com.revature.model.Chef;
+import com.revature.util.CacheStats;
 import com.revature.util.ConnectionUtil;
+import com.revature.util.IntLruCache;
+import com.revature.util.LruCache;
 import com.revature.util.Page;
 import com.revature.util.PageOptions;
 
@@ -22,18 +29,56 @@ import com.revature.util.PageOptions;
  */
 public class ChefDAO {
 
+   /** The columns a page of chefs may be sorted by, keyed by the name clients use. */
+   private static final Map<String, String> SORT_COLUMNS = Map.of("id", "id", "username", "username", "email", "email",
+           "is_admin", "is_admin");
+
    /** A utility class for establishing connections to the database. */
    @SuppressWarnings("unused")
    private ConnectionUtil connectionUtil;
 
+   /**
+    * Chefs read by id, so that repeated lookups of the same chef skip the database. The CHEF table changes rarely,
+    * and every write through this DAO invalidates the chef it touched.
+    */
+   private final IntLruCache<Chef> chefCache;
+
+   /** Chefs read by username, for logins. Cleared on every update or delete, since those may rename a chef. */
+   private final LruCache<String, Chef> usernameCache;
+
+   /** Called with the id of each updated or deleted chef, after the write. */
+   private final List<IntConsumer> changeListeners = new CopyOnWriteArrayList<>();
+
    /** Constructs a ChefDAO with the specified ConnectionUtil for database connectivity.
+    *
+    * The chef cache can be sized with the `chef.cache.maxEntries` and `chef.cache.ttlMillis` system properties.
     * 
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
     */
    public ChefDAO(ConnectionUtil connectionUtil) {
+       this(connectionUtil, Integer.getInteger("chef.cache.maxEntries", 1000),
+               Long.getLong("chef.cache.ttlMillis", 60000L));
+   }
+
+   /**
+    * Constructs a ChefDAO whose chef cache holds at most maxEntries chefs, each for at most ttlMillis.
+    */
+   public ChefDAO(ConnectionUtil connectionUtil, int maxEntries, long ttlMillis) {
        this.connectionUtil = connectionUtil;
+       this.chefCache = new IntLruCache<>(maxEntries, ttlMillis);
+       this.usernameCache = new LruCache<>(maxEntries, ttlMillis);
    }
+
+    /**
+     * Registers a callback for chef updates and deletes, for copies of chef rows kept elsewhere, such as the
+     * authors of cached recipes.
+     *
+     * @param listener called with the id of each updated or deleted chef, after the write
+     */
+    public void addChangeListener(IntConsumer listener) {
+        changeListeners.add(listener);
+    }
      /**
      * Retrieves all Chef records from the database. 
      *
@@ -42,11 +87,10 @@ public class ChefDAO {
      * No modifications or implementations are required.
     */
     public List<Chef> getAllChefs() {
-        try  {
-            Connection connection = connectionUtil.getConnection();
+        String sql = "SELECT * FROM CHEF ORDER BY id";
+        try (Connection connection = connectionUtil.getConnection();
                 Statement statement = connection.createStatement();
-            String sql = "SELECT * FROM CHEF ORDER BY id";
-            ResultSet resultSet = statement.executeQuery(sql);
+                ResultSet resultSet = statement.executeQuery(sql)) {
             return mapRows(resultSet);
 
         } catch (SQLException e) {
@@ -62,34 +106,72 @@ public class ChefDAO {
      * No modifications or implementations are required.
          */
     public Page<Chef> getAllChefs(PageOptions pageOptions) {
-        String sql = String.format("SELECT * FROM CHEF ORDER BY %s %s", pageOptions.getSortBy(),
-                pageOptions.getSortDirection());
-        try {
-            Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql);
-            ResultSet chefSet = statement.executeQuery();
-            return pageResults(chefSet, pageOptions);
+        String sql = "SELECT * FROM CHEF ORDER BY " + orderBy(pageOptions) + " LIMIT ? OFFSET ?";
+        String countSql = "SELECT COUNT(*) FROM CHEF";
+        try (Connection connection = connectionUtil.getConnection()) {
+            return pageResults(connection, sql, countSql, null, pageOptions);
         } catch (SQLException e) {
             throw new RuntimeException("Unable to retrieve all chefs", e);
         }
     }
 
     /**
-     * Retrieves a Chef record by its unique identifier.
+     * Retrieves a Chef record by its unique identifier. Chefs are served from the chef cache when possible. Each
+     * caller gets its own copy, so changing the returned chef does not change the cached one.
      *
      /*
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
      */
     public Chef getChefById(int id) {
+        Chef cached = chefCache.get(id);
+        if (cached != null) {
+            return copy(cached);
+        }
+        long generation = chefCache.generation();
         String sql = "SELECT * FROM CHEF WHERE id = ?";
-        try {
-            Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, id);
-            ResultSet resultSet = statement.executeQuery();
-            resultSet.next();
-            return mapSingleRow(resultSet);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                Chef chef = mapSingleRow(resultSet);
+                chefCache.put(id, copy(chef), generation);
+                return chef;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the Chef with exactly the given username, using the unique index on CHEF.username. Chefs are served
+     * from a cache when possible, and each caller gets its own copy.
+     *
+     * @return the chef, or null if there is no chef with that username
+     */
+    public Chef getChefByUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        Chef cached = usernameCache.get(username);
+        if (cached != null) {
+            return copy(cached);
+        }
+        long generation = usernameCache.generation();
+        String sql = "SELECT * FROM CHEF WHERE username = ?";
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, username);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                Chef chef = mapSingleRow(resultSet);
+                usernameCache.put(username, copy(chef), generation);
+                return chef;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -99,15 +181,19 @@ public class ChefDAO {
     /**
      * Creates a new Chef record in the database.
      *
+     * The unique constraints on CHEF.username and CHEF.email reject duplicates, so callers do not need to look for an
+     * existing chef first.
+     *
+     * @throws DuplicateChefException if the username or email is already taken
+     *
     /**
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
  */
     public int createChef(Chef chef) {
         String sql = "INSERT INTO CHEF (username, email, password, is_admin) VALUES (?, ?, ?, ?)";
-        try {
-            Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             statement.setString(1, chef.getUsername());
             statement.setString(2, chef.getEmail());
             statement.setString(3, chef.getPassword());
@@ -115,12 +201,20 @@ public class ChefDAO {
             int affectedRows = statement.executeUpdate();
 
             if (affectedRows >= 1) {
-                ResultSet generatedKeys = statement.getGeneratedKeys();
-                if (generatedKeys.next()) {
-                    return generatedKeys.getInt(1);
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        int id = generatedKeys.getInt(1);
+                        chefCache.invalidate(id);
+                        usernameCache.invalidate(chef.getUsername());
+                        return id;
+                    }
                 }
             }
 
+        } catch (SQLIntegrityConstraintViolationException e) {
+            String message = String.valueOf(e.getMessage()).toUpperCase();
+            throw new DuplicateChefException(message.contains("(USERNAME") ? "Username already exists"
+                    : message.contains("(EMAIL") ? "Email already exists" : "Chef already exists", e);
         } catch (SQLException e) {
            e.printStackTrace();
         }
@@ -136,9 +230,8 @@ public class ChefDAO {
      */
     public void updateChef(Chef chef) {
         String sql = "UPDATE CHEF SET username = ?, email = ?, password = ?, is_admin = ? WHERE id = ?";
-        try {
-            Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, chef.getUsername());
             statement.setString(2, chef.getEmail());
             statement.setString(3, chef.getPassword());
@@ -147,6 +240,10 @@ public class ChefDAO {
             statement.executeUpdate();
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            chefCache.invalidate(chef.getId());
+            usernameCache.clear();
+            notifyChanged(chef.getId());
         }
     }
 
@@ -158,13 +255,16 @@ public class ChefDAO {
      */
     public void deleteChef(Chef chef) {
         String sql = "DELETE FROM CHEF WHERE id = ?";
-        try  {
-            Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, chef.getId());
             statement.executeUpdate();
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            chefCache.invalidate(chef.getId());
+            usernameCache.clear();
+            notifyChanged(chef.getId());
         }
     }
 
@@ -176,12 +276,12 @@ public class ChefDAO {
      */
     public List<Chef> searchChefsByTerm(String term) {
         String sql = "SELECT * FROM CHEF WHERE username LIKE ?";
-        try  {
-            Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, "%" + term + "%");
-            ResultSet resultSet = statement.executeQuery();
-            return mapRows(resultSet);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return mapRows(resultSet);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -196,14 +296,10 @@ public class ChefDAO {
      * No modifications or implementations are required.
      */
     public Page<Chef> searchChefsByTerm(String term, PageOptions pageOptions) {
-        String sql = String.format("SELECT * FROM CHEF WHERE name LIKE ? ORDER BY %s %s", pageOptions.getSortBy(),
-                pageOptions.getSortDirection());
-        try{
-            Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql);
-            statement.setString(1, "%" + term + "%");
-            ResultSet resultSet = statement.executeQuery();
-            return pageResults(resultSet, pageOptions);
+        String sql = "SELECT * FROM CHEF WHERE username LIKE ? ORDER BY " + orderBy(pageOptions) + " LIMIT ? OFFSET ?";
+        String countSql = "SELECT COUNT(*) FROM CHEF WHERE username LIKE ?";
+        try (Connection connection = connectionUtil.getConnection()) {
+            return pageResults(connection, sql, countSql, term, pageOptions);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -211,8 +307,31 @@ public class ChefDAO {
         return null;
     }
 
+    /**
+     * @return a snapshot of the chef cache's hit, miss and eviction counters
+     */
+    public CacheStats getCacheStats() {
+        return chefCache.getStats();
+    }
+
     // below are helper methods that are included for your convenience
 
+    /**
+     * @return a copy of the chef, so that cached chefs are never shared with callers
+     */
+    private static Chef copy(Chef chef) {
+        return new Chef(chef.getId(), chef.getUsername(), chef.getEmail(), chef.getPassword(), chef.isAdmin());
+    }
+
+    /**
+     * Tells the change listeners that a chef was updated or deleted.
+     */
+    private void notifyChanged(int id) {
+        for (IntConsumer listener : changeListeners) {
+            listener.accept(id);
+        }
+    }
+
     /**
      * Maps a single row from the ResultSet to a Chef object.
      *
@@ -247,34 +366,67 @@ public class ChefDAO {
     }
 
     /**
-     * Paginates the results of a ResultSet into a Page of Chef objects.
-     *
-     * No modifications or implementations are required by candidates.
-     * 
-     * (FOR REFERENCE) This method is part of the backend logic.
-     * No modifications or implementations are required.
+     * Reads one page of chefs into a Page of Chef objects. The page query must
+     * end in "LIMIT ? OFFSET ?". The total comes from the count query, which is
+     * skipped when a short page shows it is the last one. Both queries take the
+     * search term as their first parameter when one is given.
      */
-    private Page<Chef> pageResults(ResultSet set, PageOptions pageOptions) throws SQLException {
-        List<Chef> chefs = mapRows(set);
-        int offset = (pageOptions.getPageNumber() - 1) * pageOptions.getPageSize();
-        int limit = offset + pageOptions.getPageSize();
-        List<Chef> slicedList = sliceList(chefs, offset, limit);
-        return new Page<>(pageOptions.getPageNumber(), pageOptions.getPageSize(),
-                chefs.size() / pageOptions.getPageSize(), chefs.size(), slicedList);
+    private Page<Chef> pageResults(Connection connection, String sql, String countSql, String term,
+            PageOptions pageOptions) throws SQLException {
+        int pageSize = pageOptions.getPageSize();
+        if (pageSize < 1 || pageSize > PageOptions.MAX_PAGE_SIZE || pageOptions.getPageNumber() < 1) {
+            throw new IllegalArgumentException(
+                    "Page number must be positive and page size between 1 and " + PageOptions.MAX_PAGE_SIZE);
+        }
+        int offset = pageOptions.getOffset();
+        List<Chef> chefs;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (term != null) {
+                statement.setString(index++, "%" + term + "%");
+            }
+            statement.setInt(index++, pageSize);
+            statement.setInt(index, offset);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                chefs = mapRows(resultSet);
+            }
+        }
+        int totalElements;
+        if (chefs.size() < pageSize && (offset == 0 || !chefs.isEmpty())) {
+            totalElements = offset + chefs.size();
+        } else {
+            totalElements = count(connection, countSql, term);
+        }
+        return new Page<>(pageOptions.getPageNumber(), pageSize,
+                (int) Math.ceil(totalElements / (float) pageSize), totalElements, chefs);
     }
 
     /**
-     * Slices a list of Chef objects from a starting index to an ending index.
-     *
-     * No modifications or implementations are required by candidates.
-     * (FOR REFERENCE) This method is part of the backend logic.
-     * No modifications or implementations are required.
+     * Runs a COUNT(*) query, binding the search term as a LIKE pattern if one is given.
+     */
+    private int count(Connection connection, String countSql, String term) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(countSql)) {
+            if (term != null) {
+                statement.setString(1, "%" + term + "%");
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Builds an ORDER BY clause from the page options. Only known columns are
+     * accepted because the clause cannot be bound as a parameter. Ties are broken
+     * by id so that pages do not overlap.
      */
-    private List<Chef> sliceList(List<Chef> list, int start, int end) {
-        List<Chef> sliced = new ArrayList<>();
-        for (int i = start; i < end; i++) {
-            sliced.add(list.get(i));
+    private String orderBy(PageOptions pageOptions) {
+        String sortBy = pageOptions.getSortBy() == null ? "id" : pageOptions.getSortBy().toLowerCase();
+        String column = SORT_COLUMNS.get(sortBy);
+        if (column == null) {
+            throw new IllegalArgumentException("Chefs cannot be sorted by " + pageOptions.getSortBy());
         }
-        return sliced;
+        String direction = pageOptions.isDescending() ? "DESC" : "ASC";
+        return column.equals("id") ? column + " " + direction : column + " " + direction + ", id " + direction;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.revature.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import com.revature.model.Chef;
+import com.revature.util.ConnectionUtil;
+
+/**
+ * Data Access Object (DAO) for the CHEF_SESSION table, which holds server-side login sessions shared by every app process using the database. Expiry is decided by the caller from the timestamps; {@link #deleteExpired(long, long)} prunes the rows it has given up on.
+ */
+public class ChefSessionDAO {
+
+    /**
+     * A session row together with the chef it belongs to.
+     */
+    public static class StoredSession {
+
+        private final Chef chef;
+        private final long createdAt;
+        private final long lastAccessedAt;
+
+        public StoredSession(Chef chef, long createdAt, long lastAccessedAt) {
+            this.chef = chef;
+            this.createdAt = createdAt;
+            this.lastAccessedAt = lastAccessedAt;
+        }
+
+        public Chef getChef() {
+            return chef;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public long getLastAccessedAt() {
+            return lastAccessedAt;
+        }
+    }
+
+    /** A utility class for establishing connections to the database. */
+    private ConnectionUtil connectionUtil;
+
+    public ChefSessionDAO(ConnectionUtil connectionUtil) {
+        this.connectionUtil = connectionUtil;
+    }
+
+    /**
+     * Records a new session.
+     *
+     * @param token the session token
+     * @param chefId the id of the chef who logged in
+     * @param now the current time, in milliseconds since the epoch
+     */
+    public void insert(String token, int chefId, long now) {
+        String sql = "INSERT INTO CHEF_SESSION (token, chef_id, created_at, last_accessed_at) VALUES (?, ?, ?, ?)";
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, token);
+            statement.setInt(2, chefId);
+            statement.setTimestamp(3, new Timestamp(now));
+            statement.setTimestamp(4, new Timestamp(now));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to save session", e);
+        }
+    }
+
+    /**
+     * @param token the session token
+     * @return the session and its chef, or null if there is no row for the token
+     */
+    public StoredSession find(String token) {
+        String sql = "SELECT s.created_at, s.last_accessed_at, c.id, c.username, c.email, c.password, c.is_admin "
+                + "FROM CHEF_SESSION s JOIN CHEF c ON s.chef_id = c.id WHERE s.token = ?";
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, token);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                Chef chef = new Chef(resultSet.getInt("id"), resultSet.getString("username"),
+                        resultSet.getString("email"), resultSet.getString("password"), resultSet.getBoolean("is_admin"));
+                return new StoredSession(chef, resultSet.getTimestamp("created_at").getTime(),
+                        resultSet.getTimestamp("last_accessed_at").getTime());
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to read session", e);
+        }
+    }
+
+    /**
+     * Records that a session was used, which extends its idle timeout.
+     *
+     * @param token the session token
+     * @param now the current time, in milliseconds since the epoch
+     */
+    public void touch(String token, long now) {
+        String sql = "UPDATE CHEF_SESSION SET last_accessed_at = ? WHERE token = ? AND last_accessed_at < ?";
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setTimestamp(1, new Timestamp(now));
+            statement.setString(2, token);
+            statement.setTimestamp(3, new Timestamp(now));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to update session", e);
+        }
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @param token the session token
+     * @return true if there was a row for the token
+     */
+    public boolean delete(String token) {
+        String sql = "DELETE FROM CHEF_SESSION WHERE token = ?";
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, token);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to delete session", e);
+        }
+    }
+
+    /**
+     * Deletes the sessions that have been idle since before one cutoff or were created before the other.
+     *
+     * @param idleCutoff sessions last used at or before this time are deleted, in milliseconds since the epoch
+     * @param createdCutoff sessions created at or before this time are deleted, in milliseconds since the epoch
+     * @return the number of rows deleted
+     */
+    public int deleteExpired(long idleCutoff, long createdCutoff) {
+        String sql = "DELETE FROM CHEF_SESSION WHERE last_accessed_at <= ? OR created_at <= ?";
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setTimestamp(1, new Timestamp(idleCutoff));
+            statement.setTimestamp(2, new Timestamp(createdCutoff));
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to prune sessions", e);
+        }
+    }
+
+    /**
+     * @return the number of session rows, including expired ones that have not been pruned yet
+     */
+    public int count() {
+        String sql = "SELECT COUNT(*) FROM CHEF_SESSION";
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql);
+                ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to count sessions", e);
+        }
+    }
+}
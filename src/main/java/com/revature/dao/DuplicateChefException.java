@@ -0,0 +1,17 @@
+package com.revature.dao;
+
+/**
+ * The DuplicateChefException class is thrown when a chef cannot be saved because the unique constraint on CHEF.username or CHEF.email already holds the same value. It is an IllegalArgumentException, so callers that only need to know the chef was rejected can go on catching that, while the register endpoint can tell a taken name (409 Conflict) from any other bad request.
+ */
+public class DuplicateChefException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message which value was taken, e.g. "Username already exists"
+     * @param cause the constraint violation reported by the database
+     */
+    public DuplicateChefException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
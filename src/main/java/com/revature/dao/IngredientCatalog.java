@@ -0,0 +1,292 @@
+package com.revature.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.revature.model.Ingredient;
+import com.revature.util.collections.IntObjectMap;
+
+/**
+ * The IngredientCatalog class keeps every ingredient in memory so that id lookups and name searches never reach the database. The INGREDIENT table is small and read-mostly, which makes a full copy cheap.
+ *
+ * Substring searches use a trigram index: every three-character run of every name maps to the sorted positions of the ingredients whose names contain it. A term of three or more characters can only occur in a name that contains all of the term's trigrams, so a search intersects those posting lists and checks just the surviving candidates. Shorter terms have no trigram to look up and fall back to a scan.
+ *
+ * The catalog is an immutable snapshot behind a volatile field. Readers take the current snapshot and never lock. Writers hold the catalog's lock, build a modified copy and publish it in one assignment, so a reader sees either the old catalog or the new one and never a mix.
+ *
+ * The catalog starts empty and unloaded. {@link IngredientDAO} loads it from the database on first use and applies each committed write to it. A load that was read before a write was applied must not be installed after it, or the write would be lost. Loaders therefore read {@link #generation()} before their query and pass it to {@link #load(Collection, long)}, which refuses the rows if a write happened in between. This is the same protocol {@link com.revature.util.CountCache} uses.
+ *
+ * Ingredients are mutable, so every ingredient handed out is a copy.
+ */
+public class IngredientCatalog {
+
+    /** Orders ingredients by name, then by id so that equal names keep a stable order. */
+    private static final Comparator<Ingredient> BY_NAME = Comparator.comparing(IngredientCatalog::nameOf)
+            .thenComparingInt(Ingredient::getId);
+
+    /** The length of the runs of characters the substring index is built from. */
+    private static final int GRAM = 3;
+
+    /** One immutable version of the catalog. */
+    private static final class Snapshot {
+        private final IntObjectMap<Ingredient> byId;
+        private final Ingredient[] inIdOrder;
+        private final Ingredient[] inNameOrder;
+        /** For each trigram, the ascending positions in inIdOrder of the names that contain it. */
+        private final Map<String, int[]> trigrams;
+
+        private Snapshot(Collection<Ingredient> ingredients) {
+            IntObjectMap<Ingredient> map = new IntObjectMap<>(ingredients.size());
+            for (Ingredient ingredient : ingredients) {
+                map.put(ingredient.getId(), ingredient);
+            }
+            this.byId = map;
+            this.inIdOrder = map.values().toArray(new Ingredient[0]);
+            Arrays.sort(inIdOrder, Comparator.comparingInt(Ingredient::getId));
+            this.inNameOrder = inIdOrder.clone();
+            Arrays.sort(inNameOrder, BY_NAME);
+            this.trigrams = indexTrigrams(inIdOrder);
+        }
+
+        private static Map<String, int[]> indexTrigrams(Ingredient[] ingredients) {
+            Map<String, List<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < ingredients.length; i++) {
+                for (String trigram : trigramsOf(nameOf(ingredients[i]))) {
+                    positions.computeIfAbsent(trigram, key -> new ArrayList<>()).add(i);
+                }
+            }
+            Map<String, int[]> index = new HashMap<>(positions.size() * 2);
+            for (Map.Entry<String, List<Integer>> entry : positions.entrySet()) {
+                index.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+            return index;
+        }
+    }
+
+    // fields
+
+    /** The current catalog, or null until it is loaded. Replaced, never modified. */
+    private volatile Snapshot snapshot;
+    /** Incremented on every write. Guarded by this. */
+    private long generation;
+
+    /**
+     * @return true once the catalog has been loaded
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * @return the current generation, to be passed to {@link #load(Collection, long)}
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Replaces the catalog with the given ingredients, unless a write was applied after they were read.
+     *
+     * @param ingredients every row of the INGREDIENT table
+     * @param startGeneration the value of {@link #generation()} read before the rows were queried
+     * @return true if the rows were installed
+     */
+    public synchronized boolean load(Collection<Ingredient> ingredients, long startGeneration) {
+        if (startGeneration != generation) {
+            return false;
+        }
+        List<Ingredient> rows = new ArrayList<>(ingredients.size());
+        for (Ingredient ingredient : ingredients) {
+            rows.add(copy(ingredient));
+        }
+        snapshot = new Snapshot(rows);
+        return true;
+    }
+
+    /**
+     * Adds an ingredient or replaces the one with the same id. Call this after the write commits.
+     */
+    public synchronized void put(Ingredient ingredient) {
+        generation++;
+        Snapshot current = snapshot;
+        if (current != null) {
+            IntObjectMap<Ingredient> next = current.byId.copy();
+            next.put(ingredient.getId(), copy(ingredient));
+            snapshot = new Snapshot(next.values());
+        }
+    }
+
+    /**
+     * Removes the ingredient with the given id, if there is one. Call this after the delete commits.
+     */
+    public synchronized void remove(int id) {
+        generation++;
+        Snapshot current = snapshot;
+        if (current != null && current.byId.containsKey(id)) {
+            IntObjectMap<Ingredient> next = current.byId.copy();
+            next.remove(id);
+            snapshot = new Snapshot(next.values());
+        }
+    }
+
+    /**
+     * @return a copy of the ingredient with the given id, or null if there is none
+     */
+    public Ingredient getById(int id) {
+        Ingredient ingredient = loaded().byId.get(id);
+        return ingredient == null ? null : copy(ingredient);
+    }
+
+    /**
+     * @return a copy of the ingredient with exactly the given name, or null if there is none
+     */
+    public Ingredient getByName(String name) {
+        List<Ingredient> matches = searchPrefix(name, 1);
+        // No other name starting with this one sorts before the name itself
+        return matches.isEmpty() || !nameOf(matches.get(0)).equals(name) ? null : matches.get(0);
+    }
+
+    /**
+     * @return copies of every ingredient, ordered by id
+     */
+    public List<Ingredient> getAll() {
+        Ingredient[] ingredients = loaded().inIdOrder;
+        return copies(ingredients, 0, ingredients.length);
+    }
+
+    /**
+     * Finds the ingredients whose names contain the term, ordered by id. The term is matched literally and
+     * case-sensitively, like the SQL LIKE search it replaces without the wildcard characters. Terms of three or more
+     * characters are answered from the trigram index; shorter ones scan every name.
+     *
+     * @return copies of the matching ingredients
+     */
+    public List<Ingredient> search(String term) {
+        Snapshot current = loaded();
+        List<Ingredient> matches = new ArrayList<>();
+        if (term.length() < GRAM) {
+            for (Ingredient ingredient : current.inIdOrder) {
+                if (nameOf(ingredient).contains(term)) {
+                    matches.add(copy(ingredient));
+                }
+            }
+            return matches;
+        }
+        List<int[]> lists = new ArrayList<>();
+        for (String trigram : trigramsOf(term)) {
+            int[] positions = current.trigrams.get(trigram);
+            if (positions == null) {
+                return matches;
+            }
+            lists.add(positions);
+        }
+        // Start from the shortest list so that the candidate set is as small as possible from the outset
+        lists.sort(Comparator.comparingInt(positions -> positions.length));
+        int[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        for (int position : candidates) {
+            Ingredient ingredient = current.inIdOrder[position];
+            // Sharing every trigram does not guarantee the trigrams are adjacent, so confirm the match
+            if (nameOf(ingredient).contains(term)) {
+                matches.add(copy(ingredient));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the ingredients whose names start with the prefix, ordered by name. The matches are found by binary
+     * search over the names, so the cost depends on the number of matches rather than the size of the catalog.
+     *
+     * @param prefix the case-sensitive start of the name
+     * @param limit the maximum number of ingredients to return
+     * @return copies of the matching ingredients
+     */
+    public List<Ingredient> searchPrefix(String prefix, int limit) {
+        Ingredient[] names = loaded().inNameOrder;
+        int low = 0;
+        int high = names.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (nameOf(names[middle]).compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int end = low;
+        while (end < names.length && end - low < limit && nameOf(names[end]).startsWith(prefix)) {
+            end++;
+        }
+        return copies(names, low, end);
+    }
+
+    /**
+     * @return the current snapshot
+     * @throws IllegalStateException if the catalog has not been loaded
+     */
+    private Snapshot loaded() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("The ingredient catalog has not been loaded");
+        }
+        return current;
+    }
+
+    /**
+     * @return the distinct runs of three characters in the text, in order of first appearance
+     */
+    private static Set<String> trigramsOf(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM));
+        }
+        return trigrams;
+    }
+
+    /**
+     * @return the values found in both ascending arrays, in ascending order
+     */
+    private static int[] intersect(int[] left, int[] right) {
+        int[] both = new int[Math.min(left.length, right.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                both[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(both, count);
+    }
+
+    private static List<Ingredient> copies(Ingredient[] ingredients, int from, int to) {
+        List<Ingredient> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add(copy(ingredients[i]));
+        }
+        return result;
+    }
+
+    private static Ingredient copy(Ingredient ingredient) {
+        return new Ingredient(ingredient.getId(), ingredient.getName());
+    }
+
+    private static String nameOf(Ingredient ingredient) {
+        return ingredient.getName() == null ? "" : ingredient.getName();
+    }
+}
@@ -7,10 +7,17 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
 
 import com.revature.model.Ingredient;
+import com.revature.util.ChangeCounter;
 import com.revature.util.ConnectionUtil;
+import com.revature.util.CountCache;
+import com.revature.util.CursorPage;
 import com.revature.util.Page;
+import com.revature.util.PageCursor;
 import com.revature.util.PageOptions;
 
 
@@ -24,10 +31,28 @@ import com.revature.util.PageOptions;
  */
 public class IngredientDAO {
 
+   /** The columns a page of ingredients may be sorted by, keyed by the name clients use. */
+   private static final Map<String, String> SORT_COLUMNS = Map.of("id", "ID", "name", "NAME");
+
    /** A utility class used for establishing connections to the database. */
    @SuppressWarnings("unused")
    private ConnectionUtil connectionUtil;
 
+   /** Totals for paged searches, so that later pages of the same search skip the count query. */
+   private final CountCache countCache = new CountCache(256, 30000);
+
+   /** Every ingredient, in memory, for id lookups and unpaged searches. */
+   private final IngredientCatalog catalog = new IngredientCatalog();
+
+   /** Called with the id of each deleted ingredient, after the delete commits. */
+   private final List<IntConsumer> deleteListeners = new CopyOnWriteArrayList<>();
+
+   /** Called with the id of each renamed ingredient, after the update. */
+   private final List<IntConsumer> updateListeners = new CopyOnWriteArrayList<>();
+
+   /** Counts the writes to the INGREDIENT table, for conditional reads. */
+   private final ChangeCounter changes = new ChangeCounter();
+
    /**
     * Constructs an IngredientDAO with the specified ConnectionUtil for database connectivity.
     * 
@@ -40,18 +65,67 @@ public class IngredientDAO {
 
 
     /**
-     * Retrieves an Ingredient record by its unique identifier.
+     * Loads the ingredient catalog now rather than on the first read. Call this at startup, after the schema is in
+     * place.
+     */
+    public void loadCatalog() {
+        try {
+            catalog();
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * @return a version of the INGREDIENT table that changes with every write made through this DAO
+     */
+    public String getDataVersion() {
+        return changes.version();
+    }
+
+    /**
+     * Registers a callback for ingredient deletes. Deleting an ingredient also deletes the RECIPE_INGREDIENT rows
+     * that use it, so in-memory copies of those rows kept elsewhere must be told.
+     *
+     * @param listener called with the id of each deleted ingredient, after the delete commits
+     */
+    public void addDeleteListener(IntConsumer listener) {
+        deleteListeners.add(listener);
+    }
+
+    /**
+     * Registers a callback for ingredient updates, for copies of ingredient names kept elsewhere.
+     *
+     * @param listener called with the id of each updated ingredient, after the update
+     */
+    public void addUpdateListener(IntConsumer listener) {
+        updateListeners.add(listener);
+    }
+
+    /**
+     * Retrieves an Ingredient record by its exact name. The ingredient comes from the in-memory catalog.
+     *
+     * @return the ingredient, or null if no ingredient has that name
+     */
+    public Ingredient getIngredientByName(String name) {
+        try {
+            return catalog().getByName(name);
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Retrieves an Ingredient record by its unique identifier. The ingredient comes from the in-memory catalog.
      *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
      */
     public Ingredient getIngredientById(int id) {
-        String sql = "SELECT * FROM INGREDIENT WHERE ID = ?";
-        try (Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, id);
-            ResultSet resultSet = statement.executeQuery();
-            return resultSet.next() ? mapSingleRow(resultSet) : null;
+        try {
+            return catalog().getById(id);
         } catch (SQLException ex) {
             ex.printStackTrace();
         }
@@ -71,10 +145,15 @@ public class IngredientDAO {
                 PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             statement.setString(1, ingredient.getName());
             statement.executeUpdate();
+            countCache.invalidate("INGREDIENT");
 
             ResultSet resultSet = statement.getGeneratedKeys();
             if (resultSet.next()) {
-                return resultSet.getInt(1);
+                int id = resultSet.getInt(1);
+                catalog.put(new Ingredient(id, ingredient.getName()));
+                // The version moves last, once every read path shows the write
+                changes.increment();
+                return id;
             } else {
                 throw new RuntimeException("Unable to create ingredient");
             }
@@ -96,32 +175,41 @@ public class IngredientDAO {
     public void deleteIngredient(Ingredient ingredient) {
         String deleteRecipeIngredientSql = "DELETE FROM RECIPE_INGREDIENT WHERE INGREDIENT_ID = ?";
         String deleteIngredientSql = "DELETE FROM INGREDIENT WHERE ID = ?";
-        Connection connection = connectionUtil.getConnection();
-        try {
-            connection.setAutoCommit(false); // Start transaction
+        try (Connection connection = connectionUtil.getConnection()) {
+            try {
+                connection.setAutoCommit(false); // Start transaction
 
-            // Step 1: Delete references in the RECIPE_INGREDIENT table
-            try (PreparedStatement ps = connection.prepareStatement(deleteRecipeIngredientSql)) {
-                ps.setInt(1, ingredient.getId());
-                ps.executeUpdate();
-            }
+                // Step 1: Delete references in the RECIPE_INGREDIENT table
+                try (PreparedStatement ps = connection.prepareStatement(deleteRecipeIngredientSql)) {
+                    ps.setInt(1, ingredient.getId());
+                    ps.executeUpdate();
+                }
 
-            // Step 2: Delete the ingredient itself
-            try (PreparedStatement ps = connection.prepareStatement(deleteIngredientSql)) {
-                ps.setInt(1, ingredient.getId());
-                int rowsAffected = ps.executeUpdate();
-                if (rowsAffected == 0) {
-                    throw new RuntimeException("No ingredient found with id: " + ingredient.getId());
+                // Step 2: Delete the ingredient itself
+                try (PreparedStatement ps = connection.prepareStatement(deleteIngredientSql)) {
+                    ps.setInt(1, ingredient.getId());
+                    int rowsAffected = ps.executeUpdate();
+                    if (rowsAffected == 0) {
+                        throw new RuntimeException("No ingredient found with id: " + ingredient.getId());
+                    }
                 }
-            }
 
-            connection.commit();
-        } catch (SQLException ex) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                rollbackEx.printStackTrace();
+                connection.commit();
+                countCache.invalidate("INGREDIENT");
+                catalog.remove(ingredient.getId());
+                for (IntConsumer listener : deleteListeners) {
+                    listener.accept(ingredient.getId());
+                }
+                changes.increment();
+            } catch (SQLException ex) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    rollbackEx.printStackTrace();
+                }
+                ex.printStackTrace();
             }
+        } catch (SQLException ex) {
             ex.printStackTrace();
         }
     }
@@ -138,24 +226,28 @@ public class IngredientDAO {
                 PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, ingredient.getName());
             statement.setInt(2, ingredient.getId());
-            statement.executeUpdate();
+            if (statement.executeUpdate() > 0) {
+                catalog.put(ingredient);
+                for (IntConsumer listener : updateListeners) {
+                    listener.accept(ingredient.getId());
+                }
+                changes.increment();
+            }
+            countCache.invalidate("INGREDIENT");
         } catch (SQLException ex) {
             ex.printStackTrace();
         }
     }
 
     /**
-     * Retrieves all Ingredient records from the database.
+     * Retrieves all Ingredient records, ordered by id, from the in-memory catalog.
      * 
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
      */
     public List<Ingredient> getAllIngredients() {
-        String sql = "SELECT * FROM INGREDIENT ORDER BY ID";
-        try (Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
-            ResultSet resultSet = statement.executeQuery();
-            return mapRows(resultSet);
+        try {
+            return catalog().getAll();
         } catch (SQLException ex) {
             ex.printStackTrace();
         }
@@ -170,12 +262,10 @@ public class IngredientDAO {
      * No modifications or implementations are required.
      */
     public Page<Ingredient> getAllIngredients(PageOptions pageOptions) {
-        String sql = String.format("SELECT * FROM ingredient ORDER BY %s %s", pageOptions.getSortBy(),
-                pageOptions.getSortDirection());
-        try (Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
-            ResultSet resultSet = statement.executeQuery();
-            return pageResults(resultSet, pageOptions);
+        String sql = "SELECT * FROM INGREDIENT ORDER BY " + orderBy(pageOptions) + " LIMIT ? OFFSET ?";
+        String countSql = "SELECT COUNT(*) FROM INGREDIENT";
+        try (Connection connection = connectionUtil.getConnection()) {
+            return pageResults(connection, sql, countSql, null, pageOptions);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -183,18 +273,29 @@ public class IngredientDAO {
     }
 
     /**
-     * Searches for Ingredient records by a search term in the name.
+     * Searches for Ingredient records by a search term in the name, ordered by id, in the in-memory catalog.
      *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
      */
     public List<Ingredient> searchIngredients(String term) {
-        String sql = "SELECT * FROM INGREDIENT WHERE NAME LIKE ? ORDER BY ID";
-        try (Connection connection = connectionUtil.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setString(1, "%" + term + "%");
-            ResultSet resultSet = statement.executeQuery();
-            return mapRows(resultSet);
+        try {
+            return catalog().search(term);
+        } catch (SQLException ex) {
+            throw new RuntimeException("Unable to search ingredients", ex);
+        }
+    }
+
+    /**
+     * Finds the ingredients whose names start with a prefix, ordered by name, for autocomplete. The names come from
+     * the in-memory catalog, so no query runs.
+     *
+     * @param prefix the case-sensitive start of the name
+     * @param limit the maximum number of ingredients to return
+     */
+    public List<Ingredient> searchIngredientsByPrefix(String prefix, int limit) {
+        try {
+            return catalog().searchPrefix(prefix, limit);
         } catch (SQLException ex) {
             throw new RuntimeException("Unable to search ingredients", ex);
         }
@@ -207,20 +308,96 @@ public class IngredientDAO {
      * No modifications or implementations are required.
      */
     public Page<Ingredient> searchIngredients(String term, PageOptions pageOptions) {
-        String sql = String.format("SELECT * FROM ingredient WHERE name LIKE ? ORDER BY %s %s", pageOptions.getSortBy(),
-                pageOptions.getSortDirection());
+        String sql = "SELECT * FROM INGREDIENT WHERE NAME LIKE ? ORDER BY " + orderBy(pageOptions)
+                + " LIMIT ? OFFSET ?";
+        String countSql = "SELECT COUNT(*) FROM INGREDIENT WHERE NAME LIKE ?";
+        try (Connection connection = connectionUtil.getConnection()) {
+            return pageResults(connection, sql, countSql, term, pageOptions);
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to search ingredients by term", e);
+        }
+    }
+
+    /**
+     * Retrieves one page of ingredients using keyset pagination, optionally
+     * filtered by a term in the name. The query seeks past the row marked by the
+     * cursor on the sort column and id, so every page costs the same however deep
+     * it is. One extra row is read to tell whether another page follows.
+     *
+     * @param term        the search term, or null for all ingredients
+     * @param after       the position to continue from, or null for the first page
+     * @param pageOptions the page size and sort order; the page number is ignored
+     * @return the page of ingredients, with a cursor for the next page if there is one
+     */
+    public CursorPage<Ingredient> searchIngredientsAfter(String term, PageCursor after, PageOptions pageOptions) {
+        int pageSize = pageOptions.getPageSize();
+        if (pageSize < 1 || pageSize > PageOptions.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + PageOptions.MAX_PAGE_SIZE);
+        }
+        String sortBy = sortKey(pageOptions);
+        String column = SORT_COLUMNS.get(sortBy);
+        boolean descending = pageOptions.isDescending();
+        if (after != null && (!after.getSortBy().equals(sortBy) || after.isDescending() != descending)) {
+            throw new IllegalArgumentException("The cursor does not match the requested sort order");
+        }
+        List<String> conditions = new ArrayList<>();
+        if (term != null) {
+            conditions.add("NAME LIKE ?");
+        }
+        if (after != null) {
+            conditions.add(seek(column, descending));
+        }
+        String sql = "SELECT * FROM INGREDIENT" + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + orderBy(pageOptions) + " LIMIT ?";
+        List<Ingredient> ingredients;
         try (Connection connection = connectionUtil.getConnection();
                 PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setString(1, "%" + term + "%");
-            ResultSet resultSet = statement.executeQuery();
-            return pageResults(resultSet, pageOptions);
+            int index = 1;
+            if (term != null) {
+                statement.setString(index++, "%" + term + "%");
+            }
+            if (after != null) {
+                if (!column.equals("ID")) {
+                    statement.setString(index++, after.getLastValue());
+                    statement.setString(index++, after.getLastValue());
+                }
+                statement.setInt(index++, after.getLastId());
+            }
+            statement.setInt(index, pageSize + 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ingredients = mapRows(resultSet);
+            }
         } catch (SQLException e) {
-            throw new RuntimeException("Unable to search ingredients by term", e);
+            throw new RuntimeException("Unable to page ingredients by cursor", e);
+        }
+        String nextCursor = null;
+        if (ingredients.size() > pageSize) {
+            ingredients = new ArrayList<>(ingredients.subList(0, pageSize));
+            Ingredient last = ingredients.get(pageSize - 1);
+            String lastValue = column.equals("ID") ? String.valueOf(last.getId()) : last.getName();
+            nextCursor = new PageCursor(sortBy, descending, lastValue, last.getId()).encode();
         }
+        return new CursorPage<>(pageSize, sortBy, descending ? "desc" : "asc", nextCursor, ingredients);
     }
 
     // below are helper methods for your convenience
 
+    /**
+     * @return the ingredient catalog, loading it from the database first if needed. A load that races with a write
+     *         is thrown away and read again, so the catalog never misses a committed write.
+     */
+    private IngredientCatalog catalog() throws SQLException {
+        while (!catalog.isLoaded()) {
+            long generation = catalog.generation();
+            try (Connection connection = connectionUtil.getConnection();
+                    PreparedStatement statement = connection.prepareStatement("SELECT * FROM INGREDIENT ORDER BY ID");
+                    ResultSet resultSet = statement.executeQuery()) {
+                catalog.load(mapRows(resultSet), generation);
+            }
+        }
+        return catalog;
+    }
+
     /**
      * Maps a single row from the ResultSet to an Ingredient object.
      *
@@ -246,17 +423,96 @@ public class IngredientDAO {
     }
 
     /**
-     * Paginates the results of a ResultSet into a Page of Ingredient objects.
-     *
-	 * (FOR REFERENCE) This method is part of the backend logic.
-     * No modifications or implementations are required.
+     * Reads one page of ingredients into a Page of Ingredient objects. The page
+     * query must end in "LIMIT ? OFFSET ?". The total comes from the count cache
+     * or else the count query, which is skipped when a short page shows it is the
+     * last one. Both queries take the search term as their first parameter when
+     * one is given.
+     */
+    private Page<Ingredient> pageResults(Connection connection, String sql, String countSql, String term,
+            PageOptions pageOptions) throws SQLException {
+        int pageSize = pageOptions.getPageSize();
+        if (pageSize < 1 || pageSize > PageOptions.MAX_PAGE_SIZE || pageOptions.getPageNumber() < 1) {
+            throw new IllegalArgumentException(
+                    "Page number must be positive and page size between 1 and " + PageOptions.MAX_PAGE_SIZE);
+        }
+        int offset = pageOptions.getOffset();
+        long generation = countCache.generation();
+        List<Ingredient> ingredients;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (term != null) {
+                statement.setString(index++, "%" + term + "%");
+            }
+            statement.setInt(index++, pageSize);
+            statement.setInt(index, offset);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ingredients = mapRows(resultSet);
+            }
+        }
+        int totalElements;
+        if (ingredients.size() < pageSize && (offset == 0 || !ingredients.isEmpty())) {
+            totalElements = offset + ingredients.size();
+            countCache.put("INGREDIENT", term, totalElements, generation);
+        } else {
+            Integer cached = countCache.get("INGREDIENT", term);
+            if (cached != null) {
+                totalElements = cached;
+            } else {
+                totalElements = count(connection, countSql, term);
+                countCache.put("INGREDIENT", term, totalElements, generation);
+            }
+        }
+        return new Page<>(pageOptions.getPageNumber(), pageSize,
+                (int) Math.ceil(totalElements / ((float) pageSize)), totalElements, ingredients);
+    }
+
+    /**
+     * Runs a COUNT(*) query, binding the search term as a LIKE pattern if one is given.
      */
-    private Page<Ingredient> pageResults(ResultSet resultSet, PageOptions pageOptions) throws SQLException {
-        List<Ingredient> ingredients = mapRows(resultSet);
-        int offset = (pageOptions.getPageNumber() - 1) * pageOptions.getPageSize();
-        int limit = offset + pageOptions.getPageSize();
-        List<Ingredient> subList = ingredients.subList(offset, limit);
-        return new Page<>(pageOptions.getPageNumber(), pageOptions.getPageSize(),
-                (int) Math.ceil(ingredients.size() / ((float) pageOptions.getPageSize())), ingredients.size(), subList);
+    private int count(Connection connection, String countSql, String term) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(countSql)) {
+            if (term != null) {
+                statement.setString(1, "%" + term + "%");
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Builds an ORDER BY clause from the page options. Only known columns are
+     * accepted because the clause cannot be bound as a parameter. Ties are broken
+     * by id so that pages do not overlap.
+     */
+    private String orderBy(PageOptions pageOptions) {
+        String column = SORT_COLUMNS.get(sortKey(pageOptions));
+        String direction = pageOptions.isDescending() ? "DESC" : "ASC";
+        return column.equals("ID") ? column + " " + direction : column + " " + direction + ", ID " + direction;
+    }
+
+    /**
+     * @return the lower-cased sort field from the page options, defaulting to id
+     * @throws IllegalArgumentException if ingredients cannot be sorted by that field
+     */
+    private String sortKey(PageOptions pageOptions) {
+        String sortBy = pageOptions.getSortBy() == null ? "id" : pageOptions.getSortBy().toLowerCase();
+        if (!SORT_COLUMNS.containsKey(sortBy)) {
+            throw new IllegalArgumentException("Ingredients cannot be sorted by " + pageOptions.getSortBy());
+        }
+        return sortBy;
+    }
+
+    /**
+     * Builds the WHERE condition that continues after the cursor's row. The
+     * column is compared first and the id breaks ties, matching the ORDER BY.
+     */
+    private String seek(String column, boolean descending) {
+        String op = descending ? "<" : ">";
+        if (column.equals("ID")) {
+            return "ID " + op + " ?";
+        }
+        return "(" + column + " " + op + " ? OR (" + column + " = ? AND ID " + op + " ?))";
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
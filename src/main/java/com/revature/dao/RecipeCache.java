@@ -0,0 +1,172 @@
+package com.revature.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.revature.model.Chef;
+import com.revature.model.Recipe;
+import com.revature.model.RecipeIngredient;
+import com.revature.util.CacheStats;
+import com.revature.util.IntLruCache;
+import com.revature.util.collections.IntIntMap;
+
+/**
+ * The RecipeCache class holds whole recipes, with their author and ingredients, keyed by id, so that reading a popular recipe skips both the recipe query and the ingredient query. It is bounded and evicts the least recently used recipe.
+ *
+ * A cached recipe depends on three kinds of rows: its own, its author's and those of its ingredients. The cache keeps a clock that ticks on every change to any of them and records the tick at which each recipe, chef and ingredient last changed. Loaders read {@link #stamp()} before their queries and store the recipe under that stamp. An entry is served only while none of the rows it was built from has changed after its stamp, so a change that was recorded before a write returned can never be read around, and a load that raced with a write is never stored. This is the same reasoning as the generation protocol of {@link com.revature.util.LruCache}, applied per row instead of per cache, so that changing one chef does not throw away every recipe.
+ *
+ * The change records only matter for entries stamped before them. Once they outnumber the entries the cache may hold, the cache is emptied and the records dropped, and stamps older than that point are refused.
+ *
+ * Recipes are mutable, so every recipe handed out or stored is a copy.
+ */
+public class RecipeCache {
+
+    /** A cached recipe and the clock value it was loaded at. */
+    private static class Entry {
+        private final Recipe recipe;
+        private final long stamp;
+
+        private Entry(Recipe recipe, long stamp) {
+            this.recipe = recipe;
+            this.stamp = stamp;
+        }
+    }
+
+    // fields
+
+    /** The maximum number of recipes to keep. */
+    private final int maxEntries;
+    private final IntLruCache<Entry> entries;
+    /** Ticks on every change. Guarded by this. */
+    private long clock;
+    /** The clock value when the change records were last dropped; older stamps are refused. Guarded by this. */
+    private long floor;
+    /** When each recipe, chef and ingredient last changed, as ticks after floor. Guarded by this. */
+    private final IntIntMap recipeChanges = new IntIntMap();
+    private final IntIntMap chefChanges = new IntIntMap();
+    private final IntIntMap ingredientChanges = new IntIntMap();
+
+    public RecipeCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.entries = new IntLruCache<>(maxEntries, ttlMillis);
+    }
+
+    /**
+     * @return the stamp to store a recipe under, to be read before its queries run
+     */
+    public synchronized long stamp() {
+        return clock;
+    }
+
+    /**
+     * Looks up a cached recipe.
+     *
+     * @return a copy of the recipe, or null if it is not cached or anything it was built from has changed since
+     */
+    public synchronized Recipe get(int id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (!isCurrent(entry.recipe, entry.stamp)) {
+            entries.invalidate(id);
+            return null;
+        }
+        return copy(entry.recipe);
+    }
+
+    /**
+     * Stores a recipe, unless something it was built from changed after the stamp was read.
+     *
+     * @param recipe the recipe, with its author and ingredients filled in
+     * @param stamp the value of {@link #stamp()} read before the recipe was loaded
+     */
+    public synchronized void put(Recipe recipe, long stamp) {
+        if (recipe != null && isCurrent(recipe, stamp)) {
+            entries.put(recipe.getId(), new Entry(copy(recipe), stamp), entries.generation());
+        }
+    }
+
+    /**
+     * Records a change to a recipe. Call this after the write commits and before it returns.
+     */
+    public synchronized void recipeChanged(int id) {
+        record(recipeChanges, id);
+        entries.invalidate(id);
+    }
+
+    /**
+     * Records a change to a chef, which makes every cached recipe by that chef stale.
+     */
+    public synchronized void chefChanged(int id) {
+        record(chefChanges, id);
+    }
+
+    /**
+     * Records a change to an ingredient, which makes every cached recipe that uses it stale.
+     */
+    public synchronized void ingredientChanged(int id) {
+        record(ingredientChanges, id);
+    }
+
+    /**
+     * @return a snapshot of the cache's counters. A recipe found stale counts as a hit that was then dropped.
+     */
+    public CacheStats getStats() {
+        return entries.getStats();
+    }
+
+    /** The caller holds the lock. */
+    private boolean isCurrent(Recipe recipe, long stamp) {
+        if (stamp < floor || changedAfter(recipeChanges, recipe.getId(), stamp)) {
+            return false;
+        }
+        if (recipe.getAuthor() != null && changedAfter(chefChanges, recipe.getAuthor().getId(), stamp)) {
+            return false;
+        }
+        if (recipe.getIngredients() != null) {
+            for (RecipeIngredient ingredient : recipe.getIngredients()) {
+                if (changedAfter(ingredientChanges, ingredient.getId(), stamp)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /** The caller holds the lock. */
+    private boolean changedAfter(IntIntMap changes, int id, long stamp) {
+        return floor + changes.getOrDefault(id, 0) > stamp;
+    }
+
+    /** The caller holds the lock. */
+    private void record(IntIntMap changes, int id) {
+        clock++;
+        if (clock - floor >= Integer.MAX_VALUE
+                || recipeChanges.size() + chefChanges.size() + ingredientChanges.size() >= maxEntries) {
+            // Every entry is stamped at or before the current clock, so dropping them all makes the records moot
+            entries.clear();
+            recipeChanges.clear();
+            chefChanges.clear();
+            ingredientChanges.clear();
+            floor = clock;
+        } else {
+            changes.put(id, (int) (clock - floor));
+        }
+    }
+
+    private static Recipe copy(Recipe recipe) {
+        Chef author = recipe.getAuthor();
+        Recipe copy = new Recipe(recipe.getId(), recipe.getName(), recipe.getInstructions(), author == null ? null
+                : new Chef(author.getId(), author.getUsername(), author.getEmail(), author.getPassword(), author.isAdmin()));
+        if (recipe.getIngredients() != null) {
+            List<RecipeIngredient> ingredients = new ArrayList<>(recipe.getIngredients().size());
+            for (RecipeIngredient ingredient : recipe.getIngredients()) {
+                ingredients.add(new RecipeIngredient(ingredient.getId(), ingredient.getName(), ingredient.getVolume(),
+                        ingredient.getUnit()));
+            }
+            copy.setIngredients(ingredients);
+        }
+        return copy;
+    }
+}
@@ -1,20 +1,34 @@
 package com.revature.dao;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import com.revature.model.Chef;
+import com.revature.model.Ingredient;
 import com.revature.model.Recipe;
 import com.revature.model.RecipeIngredient;
+import com.revature.util.CacheStats;
+import com.revature.util.ChangeCounter;
 import com.revature.util.ConnectionUtil;
+import com.revature.util.CountCache;
+import com.revature.util.CursorPage;
 import com.revature.util.Page;
+import com.revature.util.PageCursor;
 import com.revature.util.PageOptions;
+import com.revature.util.collections.IntObjectMap;
+import com.revature.util.collections.IntSet;
 
 
 // NOTE: This file is part of the backend implementation. No changes are required.
@@ -29,14 +43,34 @@ import com.revature.util.PageOptions;
  */
 public class RecipeDAO {
 
+	/**
+	 * Selects recipe columns together with the author's columns, so that a recipe
+	 * and its author are read in a single query instead of one author lookup per
+	 * row.
+	 */
+	private static final String SELECT_RECIPES = "SELECT r.id, r.name, r.instructions, r.chef_id, c.username, c.email, c.password, c.is_admin FROM RECIPE r LEFT JOIN CHEF c ON r.chef_id = c.id";
+
+	/**
+	 * The most recipe ids sent in one IN list when reading recipes by id.
+	 */
+	private static final int IN_LIST_SIZE = 500;
+
+	/**
+	 * The columns a page of recipes may be sorted by, keyed by the name clients
+	 * use. A recipe without an author sorts as chef 0 so that cursors never have to
+	 * seek on NULL.
+	 */
+	private static final Map<String, String> SORT_COLUMNS = Map.of("id", "r.id", "name", "r.name", "instructions",
+			"r.instructions", "chef_id", "COALESCE(r.chef_id, 0)");
+
 	/**
 	 * DAO for managing Chef entities, used for retrieving chef details associated
 	 * with recipes.
 	 */
 	private ChefDAO chefDAO;
 	/**
-	 * DAO for managing Ingredient entities, used for retrieving ingredient details
-	 * for recipes.
+	 * DAO for managing Ingredient entities, used for looking ingredients up by
+	 * name in ingredient searches.
 	 */
 	private IngredientDAO ingredientDAO;
 	/**
@@ -44,10 +78,37 @@ public class RecipeDAO {
 	 * database connections.
 	 */
 	private ConnectionUtil connectionUtil;
+	/**
+	 * Totals for paged searches, so that later pages of the same search skip the
+	 * count query.
+	 */
+	private final CountCache countCache = new CountCache(256, 30000);
+	/**
+	 * A full-text index over recipe names and instructions, for searches ranked
+	 * by relevance.
+	 */
+	private final RecipeSearchIndex searchIndex = new RecipeSearchIndex();
+	/**
+	 * The recipes that use each ingredient, for searches over several
+	 * ingredients.
+	 */
+	private final RecipeIngredientIndex ingredientIndex = new RecipeIngredientIndex();
+	/**
+	 * Whole recipes, with their authors and ingredients, for reads by id.
+	 */
+	private final RecipeCache recipeCache;
+	/**
+	 * Counts the writes to recipes and to the chefs and ingredients shown with
+	 * them, for conditional reads.
+	 */
+	private final ChangeCounter changes = new ChangeCounter();
 
 	/**
 	 * Constructs a RecipeDAO instance with specified ChefDAO and IngredientDAO.
 	 *
+	 * The recipe cache can be sized with the `recipe.cache.maxEntries` and
+	 * `recipe.cache.ttlMillis` system properties.
+	 *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
 	 */
@@ -55,6 +116,26 @@ public class RecipeDAO {
 		this.chefDAO = chefDAO;
 		this.ingredientDAO = ingredientDAO;
 		this.connectionUtil = connectionUtil;
+		this.recipeCache = new RecipeCache(Integer.getInteger("recipe.cache.maxEntries", 1000),
+				Long.getLong("recipe.cache.ttlMillis", 60000L));
+		if (chefDAO != null) {
+			chefDAO.addChangeListener(id -> {
+				recipeCache.chefChanged(id);
+				changes.increment();
+			});
+		}
+		if (ingredientDAO != null) {
+			// Deleting an ingredient also deletes the RECIPE_INGREDIENT rows that use it
+			ingredientDAO.addDeleteListener(id -> {
+				ingredientIndex.removeIngredient(id);
+				recipeCache.ingredientChanged(id);
+				changes.increment();
+			});
+			ingredientDAO.addUpdateListener(id -> {
+				recipeCache.ingredientChanged(id);
+				changes.increment();
+			});
+		}
 	}
 
 	/**
@@ -65,11 +146,10 @@ public class RecipeDAO {
 	 */
 	public List<Recipe> getAllRecipes() {
 
-		try {
-			Connection connection = connectionUtil.getConnection();
-			Statement statement = connection.createStatement();
-			String sql = "SELECT * FROM RECIPE ORDER BY id";
-			ResultSet resultSet = statement.executeQuery(sql);
+		String sql = SELECT_RECIPES + " ORDER BY r.id";
+		try (Connection connection = connectionUtil.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(sql)) {
 			return mapRows(resultSet);
 
 		} catch (SQLException e) {
@@ -87,12 +167,10 @@ public class RecipeDAO {
      * No modifications or implementations are required.
 	 */
 	public Page<Recipe> getAllRecipes(PageOptions pageOptions) {
-		String sql = String.format("SELECT * FROM RECIPE ORDER BY %s %s", pageOptions.getSortBy(),
-				pageOptions.getSortDirection());
-		try (Connection connection = connectionUtil.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql)) {
-			ResultSet resultSet = statement.executeQuery();
-			return pageResults(resultSet, pageOptions);
+		String sql = SELECT_RECIPES + " ORDER BY " + orderBy(pageOptions) + " LIMIT ? OFFSET ?";
+		String countSql = "SELECT COUNT(*) FROM RECIPE";
+		try (Connection connection = connectionUtil.getConnection()) {
+			return pageResults(connection, sql, countSql, null, pageOptions);
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
@@ -107,7 +185,7 @@ public class RecipeDAO {
      * No modifications or implementations are required.
 	 */
 	public List<Recipe> searchRecipesByTerm(String term) {
-		String sql = "SELECT * FROM RECIPE WHERE name LIKE ?";
+		String sql = SELECT_RECIPES + " WHERE r.name LIKE ?";
 		try (Connection connection = connectionUtil.getConnection();
 				PreparedStatement statement = connection.prepareStatement(sql)) {
 			statement.setString(1, "%" + term + "%");
@@ -127,7 +205,8 @@ public class RecipeDAO {
      * No modifications or implementations are required.
 	 */
 	public List<Recipe> searchRecipesByIngredient(String ingredient) {
-		String sql = "SELECT r.id, r.name, r.instructions FROM recipe r JOIN recipe_ingredient ir ON r.id = ir.recipe_id JOIN ingredient i ON ir.ingredient_id = i.id WHERE i.name LIKE ?;";
+		String sql = SELECT_RECIPES
+				+ " WHERE r.id IN (SELECT ri.recipe_id FROM RECIPE_INGREDIENT ri JOIN INGREDIENT i ON ri.ingredient_id = i.id WHERE i.name LIKE ?) ORDER BY r.id";
 		try (Connection connection = connectionUtil.getConnection();
 				PreparedStatement statement = connection.prepareStatement(sql)) {
 			statement.setString(1, "%" + ingredient + "%");
@@ -148,13 +227,80 @@ public class RecipeDAO {
      * No modifications or implementations are required.
 	 */
 	public Page<Recipe> searchRecipesByTerm(String term, PageOptions pageOptions) {
-		String sql = String.format("SELECT * FROM RECIPE WHERE name LIKE ? ORDER BY %s %s", pageOptions.getSortBy(),
-				pageOptions.getSortDirection());
-		try (Connection connection = connectionUtil.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql)) {
-			statement.setString(1, "%" + term + "%");
-			ResultSet resultSet = statement.executeQuery();
-			return pageResults(resultSet, pageOptions);
+		String sql = SELECT_RECIPES + " WHERE r.name LIKE ? ORDER BY " + orderBy(pageOptions) + " LIMIT ? OFFSET ?";
+		String countSql = "SELECT COUNT(*) FROM RECIPE WHERE name LIKE ?";
+		try (Connection connection = connectionUtil.getConnection()) {
+			return pageResults(connection, sql, countSql, term, pageOptions);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Searches recipe names and instructions for the words of a search term and
+	 * returns one page of the matching recipes, best match first. The ranking
+	 * comes from the in-memory search index, so only the recipes on the page are
+	 * read from the database. The sort field and direction are ignored.
+	 *
+	 * @param term        the words to search for
+	 * @param pageOptions the page number and size
+	 * @return the page of recipes, or null if they could not be read
+	 */
+	public Page<Recipe> searchRecipesByRelevance(String term, PageOptions pageOptions) {
+		int pageSize = pageOptions.getPageSize();
+		if (pageSize < 1 || pageSize > PageOptions.MAX_PAGE_SIZE || pageOptions.getPageNumber() < 1) {
+			throw new IllegalArgumentException(
+					"Page number must be positive and page size between 1 and " + PageOptions.MAX_PAGE_SIZE);
+		}
+		try {
+			RecipeSearchIndex.Result result = searchIndex().search(term, pageOptions.getOffset(), pageSize);
+			List<Recipe> recipes = readRecipes(result.getIds());
+			int totalElements = result.getTotalMatches();
+			return new Page<>(pageOptions.getPageNumber(), pageSize,
+					(int) Math.ceil(totalElements / (float) pageSize), totalElements, recipes);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Finds the recipes that use some or all of the given ingredients, from the
+	 * in-memory index of which recipes use each ingredient. Each ingredient is
+	 * given by its id or by its exact name; names that match no ingredient match
+	 * no recipe.
+	 *
+	 * @param ingredients the ingredient ids or names
+	 * @param match       whether recipes must use all of the ingredients, any of
+	 *                    them, or any of them with at most maxMissing others
+	 * @param maxMissing  for {@link RecipeIngredientIndex.Match#MISSING}, the most
+	 *                    ingredients a recipe may need besides the given ones
+	 * @return the matching recipes, ordered by id, or for MISSING by the number of
+	 *         missing ingredients and then by id; null if they could not be read
+	 * @throws IllegalArgumentException if an ingredient id is negative
+	 */
+	public List<Recipe> searchRecipesByIngredients(List<String> ingredients, RecipeIngredientIndex.Match match,
+			int maxMissing) {
+		List<Integer> ingredientIds = new ArrayList<>();
+		for (String ingredient : ingredients) {
+			String value = ingredient.trim();
+			if (value.matches("-?\\d+")) {
+				ingredientIds.add(Integer.valueOf(value));
+			} else {
+				Ingredient found = ingredientDAO == null ? null : ingredientDAO.getIngredientByName(value);
+				if (found != null) {
+					ingredientIds.add(found.getId());
+				} else if (match == RecipeIngredientIndex.Match.ALL) {
+					return new ArrayList<>();
+				}
+			}
+		}
+		try {
+			int[] ids = ingredientIds.stream().mapToInt(Integer::intValue).toArray();
+			return readRecipes(ingredientIndex().search(ids, match, maxMissing));
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
@@ -162,6 +308,119 @@ public class RecipeDAO {
 		return null;
 	}
 
+	/**
+	 * Finds the recipes whose names start with a prefix, ordered by name, for
+	 * autocomplete. The names come from the in-memory search index, so no query
+	 * runs.
+	 *
+	 * @param prefix the case-sensitive start of the name
+	 * @param limit  the maximum number of recipes to return
+	 * @return the matching recipes, with only their id and name filled in, or
+	 *         null if the index could not be loaded
+	 */
+	public List<Recipe> searchRecipesByPrefix(String prefix, int limit) {
+		try {
+			return searchIndex().searchPrefix(prefix, limit);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Loads the recipe search index and the ingredient index now rather than on
+	 * their first search. Call this at startup, after the schema is in place.
+	 */
+	public void loadIndexes() {
+		try {
+			searchIndex();
+			ingredientIndex();
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * @return a version of the recipe data, including the authors and
+	 *         ingredients shown with recipes, that changes with every write made
+	 *         through the DAOs
+	 */
+	public String getDataVersion() {
+		return changes.version();
+	}
+
+	/**
+	 * @return a snapshot of the recipe cache's hit, miss and eviction counters
+	 */
+	public CacheStats getCacheStats() {
+		return recipeCache.getStats();
+	}
+
+	/**
+	 * Retrieves one page of recipes using keyset pagination, optionally filtered
+	 * by a term in the recipe name. Instead of skipping rows with OFFSET, the query
+	 * seeks past the row marked by the cursor on the sort column and id, so every
+	 * page costs the same however deep it is. One extra row is read to tell
+	 * whether another page follows.
+	 *
+	 * @param term        the search term, or null for all recipes
+	 * @param after       the position to continue from, or null for the first page
+	 * @param pageOptions the page size and sort order; the page number is ignored
+	 * @return the page of recipes, with a cursor for the next page if there is one
+	 */
+	public CursorPage<Recipe> searchRecipesAfter(String term, PageCursor after, PageOptions pageOptions) {
+		int pageSize = pageOptions.getPageSize();
+		if (pageSize < 1 || pageSize > PageOptions.MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Page size must be between 1 and " + PageOptions.MAX_PAGE_SIZE);
+		}
+		String sortBy = sortKey(pageOptions);
+		String column = SORT_COLUMNS.get(sortBy);
+		boolean descending = pageOptions.isDescending();
+		if (after != null && (!after.getSortBy().equals(sortBy) || after.isDescending() != descending)) {
+			throw new IllegalArgumentException("The cursor does not match the requested sort order");
+		}
+		List<String> conditions = new ArrayList<>();
+		if (term != null) {
+			conditions.add("r.name LIKE ?");
+		}
+		if (after != null) {
+			conditions.add(seek(column, descending));
+		}
+		String sql = SELECT_RECIPES + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+				+ " ORDER BY " + orderBy(pageOptions) + " LIMIT ?";
+		List<Recipe> recipes;
+		try (Connection connection = connectionUtil.getConnection();
+				PreparedStatement statement = connection.prepareStatement(sql)) {
+			int index = 1;
+			if (term != null) {
+				statement.setString(index++, "%" + term + "%");
+			}
+			if (after != null) {
+				if (!column.equals("r.id")) {
+					Object lastValue = parseSortValue(sortBy, after.getLastValue());
+					statement.setObject(index++, lastValue);
+					statement.setObject(index++, lastValue);
+				}
+				statement.setInt(index++, after.getLastId());
+			}
+			statement.setInt(index, pageSize + 1);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				recipes = mapRows(resultSet);
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+			return null;
+		}
+		String nextCursor = null;
+		if (recipes.size() > pageSize) {
+			recipes = new ArrayList<>(recipes.subList(0, pageSize));
+			Recipe last = recipes.get(pageSize - 1);
+			nextCursor = new PageCursor(sortBy, descending, sortValue(last, sortBy), last.getId()).encode();
+		}
+		return new CursorPage<>(pageSize, sortBy, descending ? "desc" : "asc", nextCursor, recipes);
+	}
+
 	/**
 	 * Retrieves a recipe by its unique identifier.
 	 *
@@ -169,7 +428,7 @@ public class RecipeDAO {
      * No modifications or implementations are required.
 	 */
 	public Recipe getRecipeById(int id) {
-		String sql = "SELECT * FROM RECIPE WHERE id = ?";
+		String sql = SELECT_RECIPES + " WHERE r.id = ?";
 		try (Connection connection = connectionUtil.getConnection();
 				PreparedStatement statement = connection.prepareStatement(sql)) {
 			statement.setInt(1, id);
@@ -184,6 +443,27 @@ public class RecipeDAO {
 		return null;
 	}
 
+	/**
+	 * Retrieves a recipe by its unique identifier together with its ingredients,
+	 * from the recipe cache when it is there. A recipe is never served from the
+	 * cache once a write to it, its author or one of its ingredients has returned.
+	 *
+	 * @return a recipe the caller may modify, or null if there is none
+	 */
+	public Recipe getRecipeWithIngredients(int id) {
+		Recipe cached = recipeCache.get(id);
+		if (cached != null) {
+			return cached;
+		}
+		long stamp = recipeCache.stamp();
+		Recipe recipe = getRecipeById(id);
+		if (recipe != null) {
+			loadIngredients(List.of(recipe));
+			recipeCache.put(recipe, stamp);
+		}
+		return recipe;
+	}
+
 	/**
 	 * Creates a new recipe in the database and returns its generated unique
 	 * identifier.
@@ -195,19 +475,33 @@ public class RecipeDAO {
 		String sql = "INSERT INTO RECIPE (name, instructions, chef_id) VALUES (?, ?, ?)";
 		int generatedId = 0;
 
-		try (Connection conn = connectionUtil.getConnection();
-				PreparedStatement statement = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-			statement.setString(1, recipe.getName());
-			statement.setString(2, recipe.getInstructions());
-			statement.setInt(3, recipe.getAuthor().getId());
-			statement.executeUpdate();
+		try (Connection conn = connectionUtil.getConnection()) {
+			conn.setAutoCommit(false);
+			try (PreparedStatement statement = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+				statement.setString(1, recipe.getName());
+				statement.setString(2, recipe.getInstructions());
+				statement.setInt(3, recipe.getAuthor().getId());
+				statement.executeUpdate();
 
-			try (ResultSet rs = statement.getGeneratedKeys()) {
-				if (rs.next()) {
-					generatedId = rs.getInt(1); // Get generated ID
-					System.out.println("Recipe added with ID: " + generatedId); // Logging
+				try (ResultSet rs = statement.getGeneratedKeys()) {
+					if (rs.next()) {
+						generatedId = rs.getInt(1); // Get generated ID
+					}
 				}
+				if (generatedId != 0 && recipe.getIngredients() != null) {
+					insertIngredients(conn, generatedId, recipe.getIngredients());
+				}
+				conn.commit();
+				countCache.invalidate("RECIPE");
+				searchIndex.put(generatedId, recipe.getName(), recipe.getInstructions());
+				ingredientIndex.put(generatedId, ingredientIds(recipe.getIngredients()));
+				// The version moves last, once every read path shows the write
+				changes.increment();
+				System.out.println("Recipe added with ID: " + generatedId); // Logging
+			} catch (SQLException e) {
+				conn.rollback(); // the recipe and its ingredients are saved together or not at all
+				generatedId = 0;
+				throw e;
 			}
 		} catch (SQLException e) {
 			System.err.println("Error adding recipe: " + e.getMessage()); // Logging
@@ -218,7 +512,9 @@ public class RecipeDAO {
 	}
 
 	/**
-	 * Updates an existing recipe's instructions and chef_id in the database.
+	 * Updates an existing recipe's instructions and chef_id in the database. If
+	 * the recipe carries an ingredient list, the stored list is brought in line
+	 * with it in the same transaction; a null list leaves the ingredients alone.
 	 *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
@@ -229,14 +525,29 @@ public class RecipeDAO {
 			throw new IllegalArgumentException("Invalid recipe provided for update.");
 		}
 		String sql = "UPDATE RECIPE SET instructions = ?, chef_id = ? WHERE id = ?";
-		try (Connection connection = connectionUtil.getConnection();
-			 PreparedStatement statement = connection.prepareStatement(sql)) {
-			statement.setString(1, recipe.getInstructions());
-			statement.setInt(2, recipe.getAuthor().getId());
-			statement.setInt(3, recipe.getId());
-			int rowsUpdated = statement.executeUpdate();
-			if (rowsUpdated == 0) {
-				throw new RuntimeException("No rows updated. Recipe ID may be invalid.");
+		try (Connection connection = connectionUtil.getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				statement.setString(1, recipe.getInstructions());
+				statement.setInt(2, recipe.getAuthor().getId());
+				statement.setInt(3, recipe.getId());
+				int rowsUpdated = statement.executeUpdate();
+				if (rowsUpdated == 0) {
+					throw new RuntimeException("No rows updated. Recipe ID may be invalid.");
+				}
+				if (recipe.getIngredients() != null) {
+					syncIngredients(connection, recipe.getId(), recipe.getIngredients());
+				}
+				connection.commit();
+				recipeCache.recipeChanged(recipe.getId());
+				searchIndex.put(recipe.getId(), recipe.getName(), recipe.getInstructions());
+				if (recipe.getIngredients() != null) {
+					ingredientIndex.put(recipe.getId(), ingredientIds(recipe.getIngredients()));
+				}
+				changes.increment();
+			} catch (SQLException | RuntimeException e) {
+				connection.rollback();
+				throw e;
 			}
 		} catch (SQLException e) {
 			throw new RuntimeException("Error updating recipe in database", e);
@@ -265,6 +576,11 @@ public class RecipeDAO {
 					throw new RuntimeException("Recipe not found for deletion: " + recipe.getId());
 				}
 				connection.commit();
+				countCache.invalidate("RECIPE");
+				recipeCache.recipeChanged(recipe.getId());
+				searchIndex.remove(recipe.getId());
+				ingredientIndex.remove(recipe.getId());
+				changes.increment();
 			} catch (SQLException e) {
 				connection.rollback(); // Roll back if there's an error
 				throw new RuntimeException("Unable to delete recipe", e);
@@ -274,60 +590,153 @@ public class RecipeDAO {
 		}
 	}
 
-	
-	// below are two extra methods that we don't test for. Not provided in student boilerplate.
 	/**
-	 * Retrieves a list of ingredients associated with a specific recipe.
+	 * Fills in the ingredient list of each of the given recipes, for example the
+	 * items of one page. The ingredients are read with a query that joins
+	 * RECIPE_INGREDIENT to INGREDIENT for up to {@link #IN_LIST_SIZE} recipes at
+	 * a time, so a page costs one query and even the whole table only a few. A
+	 * recipe without ingredients gets an empty list.
 	 *
-	 * (FOR REFERENCE) This method is part of the backend logic.
-     * No modifications or implementations are required.
+	 * Recipes are read without their ingredients otherwise, so callers that do not
+	 * need them pay nothing.
 	 */
-	@SuppressWarnings("unused")
-	private List<RecipeIngredient> getIngredients(int id) {
+	public void loadIngredients(List<Recipe> recipes) {
+		if (recipes == null || recipes.isEmpty()) {
+			return;
+		}
+		IntObjectMap<List<RecipeIngredient>> byRecipe = new IntObjectMap<>(recipes.size());
+		for (Recipe recipe : recipes) {
+			byRecipe.put(recipe.getId(), new ArrayList<>());
+		}
 
-		String sql = "SELECT ingredient_id, vol, unit FROM RECIPE_INGREDIENT WHERE recipe_id = ?";
-		List<RecipeIngredient> ingredients = new LinkedList<RecipeIngredient>();
-		try (Connection connection = connectionUtil.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql)) {
-			statement.setInt(1, id);
-			ResultSet resultSet = statement.executeQuery();
-			while (resultSet.next()) {
-				ingredients.add(new RecipeIngredient(ingredientDAO.getIngredientById(resultSet.getInt(1)),
-						resultSet.getDouble(2), resultSet.getString(3)));
+		int[] recipeIds = byRecipe.keys();
+		try (Connection connection = connectionUtil.getConnection()) {
+			for (int from = 0; from < recipeIds.length; from += IN_LIST_SIZE) {
+				int to = Math.min(recipeIds.length, from + IN_LIST_SIZE);
+				String sql = "SELECT ri.recipe_id, ri.ingredient_id, i.name, ri.vol, ri.unit "
+						+ "FROM RECIPE_INGREDIENT ri JOIN INGREDIENT i ON ri.ingredient_id = i.id WHERE ri.recipe_id IN ("
+						+ placeholders(to - from) + ") ORDER BY ri.recipe_id, i.name";
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					int index = 1;
+					for (int i = from; i < to; i++) {
+						statement.setInt(index++, recipeIds[i]);
+					}
+					try (ResultSet resultSet = statement.executeQuery()) {
+						while (resultSet.next()) {
+							byRecipe.get(resultSet.getInt(1)).add(new RecipeIngredient(resultSet.getInt(2),
+									resultSet.getString(3), resultSet.getDouble(4), resultSet.getString(5)));
+						}
+					}
+				}
 			}
 		} catch (SQLException e) {
-			e.printStackTrace();
+			throw new RuntimeException("Unable to load recipe ingredients", e);
 		}
 
-		return ingredients;
+		for (Recipe recipe : recipes) {
+			recipe.setIngredients(byRecipe.get(recipe.getId()));
+		}
 	}
 
 	/**
-	 * Saves the ingredients for a given recipe to the database.
-	 * This method inserts each ingredient associated with the recipe into the
-	 * RECIPE_INGREDIENT table, establishing a relationship between the recipe and
-	 * its ingredients.
-	 *
-	 * (FOR REFERENCE) This method is part of the backend logic.
-     * No modifications or implementations are required.
+	 * Inserts a recipe's ingredients into the RECIPE_INGREDIENT table with a
+	 * single batch, on the caller's connection and inside the caller's
+	 * transaction. Each RecipeIngredient's id is the id of the ingredient.
 	 */
-	@SuppressWarnings("unused")
-	private void saveIngredients(Recipe recipe) {
+	private void insertIngredients(Connection connection, int recipeId, Collection<RecipeIngredient> ingredients)
+			throws SQLException {
+		if (ingredients.isEmpty()) {
+			return;
+		}
+		String sql = "INSERT INTO RECIPE_INGREDIENT (recipe_id, ingredient_id, vol, unit) VALUES (?, ?, ?, ?)";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (RecipeIngredient ingredient : ingredients) {
+				statement.setInt(1, recipeId);
+				statement.setInt(2, ingredient.getId());
+				statement.setBigDecimal(3, volume(ingredient));
+				statement.setString(4, ingredient.getUnit());
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+	}
 
-		String sql = "INSERT INTO RECIPE_INGREDIENT (recipe_id, ingredient_id, vol, unit) VALUES (?,?,?,?)";
-		for (RecipeIngredient i : recipe.getIngredients()) {
-			try (Connection connection = connectionUtil.getConnection();
-					PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-				statement.setInt(1, recipe.getId());
-				statement.setInt(2, i.getId());
-				statement.setString(3, i.getName());
-				statement.setString(4, i.getUnit());
-				statement.executeUpdate();
+	/**
+	 * Brings a recipe's stored ingredients in line with the given list, on the
+	 * caller's connection and inside the caller's transaction. The stored rows are
+	 * read once and compared by ingredient id, and then only the differences are
+	 * written: one batch each for removed, changed and added ingredients. If the
+	 * list names an ingredient twice, the last entry wins.
+	 */
+	private void syncIngredients(Connection connection, int recipeId, List<RecipeIngredient> ingredients)
+			throws SQLException {
+		Map<Integer, RecipeIngredient> wanted = new LinkedHashMap<>();
+		for (RecipeIngredient ingredient : ingredients) {
+			wanted.put(ingredient.getId(), ingredient);
+		}
 
-			} catch (SQLException e) {
-				e.printStackTrace();
+		Map<Integer, RecipeIngredient> stored = new HashMap<>();
+		String selectSql = "SELECT ingredient_id, vol, unit FROM RECIPE_INGREDIENT WHERE recipe_id = ?";
+		try (PreparedStatement statement = connection.prepareStatement(selectSql)) {
+			statement.setInt(1, recipeId);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					stored.put(resultSet.getInt(1), new RecipeIngredient(resultSet.getInt(1), null,
+							resultSet.getBigDecimal(2).doubleValue(), resultSet.getString(3)));
+				}
 			}
 		}
+
+		List<Integer> removed = new ArrayList<>();
+		for (Integer ingredientId : stored.keySet()) {
+			if (!wanted.containsKey(ingredientId)) {
+				removed.add(ingredientId);
+			}
+		}
+		List<RecipeIngredient> changed = new ArrayList<>();
+		List<RecipeIngredient> added = new ArrayList<>();
+		for (RecipeIngredient ingredient : wanted.values()) {
+			RecipeIngredient current = stored.get(ingredient.getId());
+			if (current == null) {
+				added.add(ingredient);
+			} else if (volume(current).compareTo(volume(ingredient)) != 0
+					|| !Objects.equals(current.getUnit(), ingredient.getUnit())) {
+				changed.add(ingredient);
+			}
+		}
+
+		if (!removed.isEmpty()) {
+			String deleteSql = "DELETE FROM RECIPE_INGREDIENT WHERE recipe_id = ? AND ingredient_id = ?";
+			try (PreparedStatement statement = connection.prepareStatement(deleteSql)) {
+				for (Integer ingredientId : removed) {
+					statement.setInt(1, recipeId);
+					statement.setInt(2, ingredientId);
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		}
+		if (!changed.isEmpty()) {
+			String updateSql = "UPDATE RECIPE_INGREDIENT SET vol = ?, unit = ? WHERE recipe_id = ? AND ingredient_id = ?";
+			try (PreparedStatement statement = connection.prepareStatement(updateSql)) {
+				for (RecipeIngredient ingredient : changed) {
+					statement.setBigDecimal(1, volume(ingredient));
+					statement.setString(2, ingredient.getUnit());
+					statement.setInt(3, recipeId);
+					statement.setInt(4, ingredient.getId());
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		}
+		insertIngredients(connection, recipeId, added);
+	}
+
+	/**
+	 * @return the ingredient's volume at the precision of the vol column, DECIMAL(10,2)
+	 */
+	private static BigDecimal volume(RecipeIngredient ingredient) {
+		return BigDecimal.valueOf(ingredient.getVolume()).setScale(2, RoundingMode.HALF_UP);
 	}
 
 	// below are helper methods for your convenience
@@ -335,7 +744,8 @@ public class RecipeDAO {
 	/**
 	 * Maps a single row from the ResultSet to a Recipe object.
 	 * This method extracts the recipe details such as ID, name, instructions,
-	 * and associated chef from the ResultSet and constructs a Recipe instance.
+	 * and the joined author columns from the ResultSet and constructs a Recipe
+	 * instance. A recipe without a chef_id gets a null author.
 	 *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
@@ -344,7 +754,12 @@ public class RecipeDAO {
 		int id = set.getInt("id");
 		String name = set.getString("name");
 		String instructions = set.getString("instructions");
-		Chef author = chefDAO.getChefById(set.getInt("chef_id"));
+		int chefId = set.getInt("chef_id");
+		Chef author = null;
+		if (chefId != 0) {
+			author = new Chef(chefId, set.getString("username"), set.getString("email"), set.getString("password"),
+					set.getBoolean("is_admin"));
+		}
 		return new Recipe(id, name, instructions, author);
 	}
 
@@ -365,37 +780,221 @@ public class RecipeDAO {
 	}
 
 	/**
-	 * Pages the results from a ResultSet into a Page object for the Recipe entity.
-	 * This method processes the ResultSet to retrieve recipes, then slices the list
-	 * based on the provided pagination options, and returns a Page object
-	 * containing
-	 * the paginated results.
-	 *
-	 * (FOR REFERENCE) This method is part of the backend logic.
-     * No modifications or implementations are required.
+	 * Reads one page of recipes into a Page object for the Recipe entity.
+	 * The page query must end in "LIMIT ? OFFSET ?" so only the requested rows
+	 * are read. The total number of matching recipes comes from the count cache or
+	 * else the count query, which is skipped when a short page shows it is the
+	 * last one. Both queries take the search term as their first parameter when
+	 * one is given.
 	 */
-	private Page<Recipe> pageResults(ResultSet set, PageOptions pageOptions) throws SQLException {
-		List<Recipe> recipes = mapRows(set);
-		int offset = (pageOptions.getPageNumber() - 1) * pageOptions.getPageSize();
-		int limit = offset + pageOptions.getPageSize();
-		List<Recipe> slicedList = sliceList(recipes, offset, limit);
-		return new Page<>(pageOptions.getPageNumber(), pageOptions.getPageSize(),
-				recipes.size() / pageOptions.getPageSize(), recipes.size(), slicedList);
+	private Page<Recipe> pageResults(Connection connection, String sql, String countSql, String term,
+			PageOptions pageOptions) throws SQLException {
+		int pageSize = pageOptions.getPageSize();
+		if (pageSize < 1 || pageSize > PageOptions.MAX_PAGE_SIZE || pageOptions.getPageNumber() < 1) {
+			throw new IllegalArgumentException(
+					"Page number must be positive and page size between 1 and " + PageOptions.MAX_PAGE_SIZE);
+		}
+		int offset = pageOptions.getOffset();
+		long generation = countCache.generation();
+		List<Recipe> recipes;
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			int index = 1;
+			if (term != null) {
+				statement.setString(index++, "%" + term + "%");
+			}
+			statement.setInt(index++, pageSize);
+			statement.setInt(index, offset);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				recipes = mapRows(resultSet);
+			}
+		}
+		int totalElements;
+		if (recipes.size() < pageSize && (offset == 0 || !recipes.isEmpty())) {
+			totalElements = offset + recipes.size();
+			countCache.put("RECIPE", term, totalElements, generation);
+		} else {
+			Integer cached = countCache.get("RECIPE", term);
+			if (cached != null) {
+				totalElements = cached;
+			} else {
+				totalElements = count(connection, countSql, term);
+				countCache.put("RECIPE", term, totalElements, generation);
+			}
+		}
+		return new Page<>(pageOptions.getPageNumber(), pageSize,
+				(int) Math.ceil(totalElements / (float) pageSize), totalElements, recipes);
 	}
 
 	/**
-	 * Slices a list of Recipe objects from a specified start index to an end index.
-	 * This method creates a sublist of the provided list, which can be used for
-	 * pagination.
-	 *
-	 * (FOR REFERENCE) This method is part of the backend logic.
-     * No modifications or implementations are required.
+	 * @return the search index, loading it from the RECIPE table first if needed.
+	 *         A load that raced with a write is refused by the index and retried.
+	 */
+	private RecipeSearchIndex searchIndex() throws SQLException {
+		while (!searchIndex.isLoaded()) {
+			long generation = searchIndex.generation();
+			List<Recipe> recipes = new ArrayList<>();
+			try (Connection connection = connectionUtil.getConnection();
+					PreparedStatement statement = connection.prepareStatement("SELECT id, name, instructions FROM RECIPE");
+					ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					recipes.add(new Recipe(resultSet.getInt("id"), resultSet.getString("name"),
+							resultSet.getString("instructions"), null));
+				}
+			}
+			searchIndex.load(recipes, generation);
+		}
+		return searchIndex;
+	}
+
+	/**
+	 * @return the ingredient index, loading it from the RECIPE_INGREDIENT table
+	 *         first if needed. A load that raced with a write is refused by the
+	 *         index and retried.
+	 */
+	private RecipeIngredientIndex ingredientIndex() throws SQLException {
+		while (!ingredientIndex.isLoaded()) {
+			long generation = ingredientIndex.generation();
+			IntObjectMap<IntSet> rows = new IntObjectMap<>();
+			try (Connection connection = connectionUtil.getConnection();
+					PreparedStatement statement = connection
+							.prepareStatement("SELECT recipe_id, ingredient_id FROM RECIPE_INGREDIENT");
+					ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					rows.computeIfAbsent(resultSet.getInt("recipe_id"), id -> new IntSet())
+							.add(resultSet.getInt("ingredient_id"));
+				}
+			}
+			IntObjectMap<int[]> ingredientsByRecipe = new IntObjectMap<>(rows.size());
+			rows.forEach((recipeId, ingredientIds) -> ingredientsByRecipe.put(recipeId, ingredientIds.toArray()));
+			ingredientIndex.load(ingredientsByRecipe, generation);
+		}
+		return ingredientIndex;
+	}
+
+	/**
+	 * @return the ingredient ids of a recipe's ingredient list, which may be null
+	 */
+	private static int[] ingredientIds(List<RecipeIngredient> ingredients) {
+		return ingredients == null ? new int[0]
+				: ingredients.stream().mapToInt(RecipeIngredient::getId).toArray();
+	}
+
+	/**
+	 * Reads the recipes with the given ids, in the order given. The ids are sent
+	 * in IN lists of at most {@link #IN_LIST_SIZE}, so a long list of ids costs a
+	 * few queries rather than one per recipe. Ids whose recipe no longer exists
+	 * are skipped.
+	 */
+	private List<Recipe> readRecipes(List<Integer> ids) throws SQLException {
+		IntObjectMap<Recipe> byId = new IntObjectMap<>(ids.size());
+		try (Connection connection = connectionUtil.getConnection()) {
+			for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+				List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + IN_LIST_SIZE));
+				String sql = SELECT_RECIPES + " WHERE r.id IN (" + placeholders(chunk.size()) + ")";
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					int index = 1;
+					for (int id : chunk) {
+						statement.setInt(index++, id);
+					}
+					try (ResultSet resultSet = statement.executeQuery()) {
+						for (Recipe recipe : mapRows(resultSet)) {
+							byId.put(recipe.getId(), recipe);
+						}
+					}
+				}
+			}
+		}
+		List<Recipe> recipes = new ArrayList<>(byId.size());
+		for (int id : ids) {
+			Recipe recipe = byId.get(id);
+			if (recipe != null) {
+				recipes.add(recipe);
+			}
+		}
+		return recipes;
+	}
+
+	/**
+	 * @return a comma-separated list of the given number of ? parameters, for an
+	 *         IN list
 	 */
-	private List<Recipe> sliceList(List<Recipe> list, int start, int end) {
-		List<Recipe> sliced = new ArrayList<>();
-		for (int i = start; i < end; i++) {
-			sliced.add(list.get(i));
+	private static String placeholders(int count) {
+		StringBuilder placeholders = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			placeholders.append(i == 0 ? "?" : ", ?");
 		}
-		return sliced;
+		return placeholders.toString();
+	}
+
+	/**
+	 * Runs a COUNT(*) query, binding the search term as a LIKE pattern if one is given.
+	 */
+	private int count(Connection connection, String countSql, String term) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(countSql)) {
+			if (term != null) {
+				statement.setString(1, "%" + term + "%");
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() ? resultSet.getInt(1) : 0;
+			}
+		}
+	}
+
+	/**
+	 * Builds an ORDER BY clause from the page options. Only known columns are
+	 * accepted because the clause cannot be bound as a parameter. Ties are broken
+	 * by id so that pages do not overlap.
+	 */
+	private String orderBy(PageOptions pageOptions) {
+		String column = SORT_COLUMNS.get(sortKey(pageOptions));
+		String direction = pageOptions.isDescending() ? "DESC" : "ASC";
+		return column.equals("r.id") ? column + " " + direction : column + " " + direction + ", r.id " + direction;
+	}
+
+	/**
+	 * @return the lower-cased sort field from the page options, defaulting to id
+	 * @throws IllegalArgumentException if recipes cannot be sorted by that field
+	 */
+	private String sortKey(PageOptions pageOptions) {
+		String sortBy = pageOptions.getSortBy() == null ? "id" : pageOptions.getSortBy().toLowerCase();
+		if (!SORT_COLUMNS.containsKey(sortBy)) {
+			throw new IllegalArgumentException("Recipes cannot be sorted by " + pageOptions.getSortBy());
+		}
+		return sortBy;
+	}
+
+	/**
+	 * Builds the WHERE condition that continues after the cursor's row. The
+	 * column is compared first and the id breaks ties, matching the ORDER BY.
+	 */
+	private String seek(String column, boolean descending) {
+		String op = descending ? "<" : ">";
+		if (column.equals("r.id")) {
+			return "r.id " + op + " ?";
+		}
+		return "(" + column + " " + op + " ? OR (" + column + " = ? AND r.id " + op + " ?))";
+	}
+
+	/**
+	 * @return the value a recipe is sorted by, as text for a cursor
+	 */
+	private String sortValue(Recipe recipe, String sortBy) {
+		switch (sortBy) {
+			case "name":
+				return recipe.getName();
+			case "instructions":
+				return recipe.getInstructions();
+			case "chef_id":
+				return String.valueOf(recipe.getAuthor() == null ? 0 : recipe.getAuthor().getId());
+			default:
+				return String.valueOf(recipe.getId());
+		}
+	}
+
+	/**
+	 * @return a cursor's sort value converted back to the column's type
+	 */
+	private Object parseSortValue(String sortBy, String value) {
+		return sortBy.equals("name") || sortBy.equals("instructions") ? value : Integer.valueOf(value);
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
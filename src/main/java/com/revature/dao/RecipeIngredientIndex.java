@@ -0,0 +1,269 @@
+package com.revature.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.revature.util.IntBitmap;
+import com.revature.util.collections.IntObjectMap;
+import com.revature.util.collections.IntSet;
+
+/**
+ * The RecipeIngredientIndex class is an in-memory copy of RECIPE_INGREDIENT for "what can I cook" searches. It maps each ingredient id to an {@link IntBitmap} of the ids of the recipes that use it, so a search over several ingredients is a handful of bitmap intersections or unions instead of a join per ingredient. Both directions are held in {@link IntObjectMap}s, so no lookup boxes an id.
+ *
+ * The index starts empty and unloaded. {@link RecipeDAO} loads it from the database on first use and applies each committed write to it, with the same generation protocol as {@link RecipeSearchIndex}: loaders read {@link #generation()} before their query and pass it to {@link #load(IntObjectMap, long)}, which refuses the rows if a write happened in between. Searches share a read lock and writes take the write lock.
+ */
+public class RecipeIngredientIndex {
+
+    /**
+     * How the recipes found must relate to the ingredients searched for.
+     */
+    public enum Match {
+        /** Recipes that use every one of the ingredients. */
+        ALL,
+        /** Recipes that use at least one of the ingredients. */
+        ANY,
+        /** Recipes that use at least one of the ingredients and need at most a given number of others, best first. */
+        MISSING
+    }
+
+    // fields
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** For each ingredient, the recipes that use it. Guarded by lock. */
+    private final IntObjectMap<IntBitmap> recipesByIngredient = new IntObjectMap<>();
+    /** For each recipe, the distinct ingredients it uses, ascending. Guarded by lock. */
+    private final IntObjectMap<int[]> ingredientsByRecipe = new IntObjectMap<>();
+    /** Whether the index has been loaded. Guarded by lock. */
+    private boolean loaded;
+    /** Incremented on every write. Guarded by lock. */
+    private long generation;
+
+    /**
+     * @return true once the index has been loaded
+     */
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the current generation, to be passed to {@link #load(IntObjectMap, long)}
+     */
+    public long generation() {
+        lock.readLock().lock();
+        try {
+            return generation;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with the given rows, unless a write was applied after they were read.
+     *
+     * @param ingredientsByRecipe the ingredient ids of every recipe that has ingredients, keyed by recipe id
+     * @param startGeneration the value of {@link #generation()} read before the rows were queried
+     * @return true if the rows were installed
+     */
+    public boolean load(IntObjectMap<int[]> ingredientsByRecipe, long startGeneration) {
+        lock.writeLock().lock();
+        try {
+            if (startGeneration != generation) {
+                return false;
+            }
+            recipesByIngredient.clear();
+            this.ingredientsByRecipe.clear();
+            ingredientsByRecipe.forEach(this::add);
+            loaded = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the ingredients of a recipe. Call this after the write commits.
+     *
+     * @param recipeId the recipe
+     * @param ingredientIds every ingredient the recipe now uses
+     */
+    public void put(int recipeId, int[] ingredientIds) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (loaded) {
+                delete(recipeId);
+                add(recipeId, ingredientIds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a recipe from the index, if it is there. Call this after the delete commits.
+     */
+    public void remove(int recipeId) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (loaded) {
+                delete(recipeId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an ingredient from every recipe that uses it. Call this after the ingredient's delete commits.
+     */
+    public void removeIngredient(int ingredientId) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            IntBitmap recipes = recipesByIngredient.remove(ingredientId);
+            if (loaded && recipes != null) {
+                recipes.forEach(recipeId -> {
+                    int[] ingredients = ingredientsByRecipe.get(recipeId);
+                    int[] remaining = Arrays.stream(ingredients).filter(id -> id != ingredientId).toArray();
+                    if (remaining.length == 0) {
+                        ingredientsByRecipe.remove(recipeId);
+                    } else {
+                        ingredientsByRecipe.put(recipeId, remaining);
+                    }
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the recipes that match the given ingredients.
+     *
+     * @param ingredientIds the ingredients to search for; ids no recipe uses are allowed
+     * @param match how the recipes must relate to the ingredients
+     * @param maxMissing for {@link Match#MISSING}, the most ingredients a recipe may need besides the given ones
+     * @return the ids of the matching recipes: ordered by id, or for MISSING by the number of missing ingredients and then by id
+     * @throws IllegalStateException if the index has not been loaded
+     */
+    public List<Integer> search(int[] ingredientIds, Match match, int maxMissing) {
+        IntSet wanted = IntSet.of(ingredientIds);
+        lock.readLock().lock();
+        try {
+            if (!loaded) {
+                throw new IllegalStateException("The recipe ingredient index has not been loaded");
+            }
+            List<IntBitmap> bitmaps = new ArrayList<>();
+            for (int ingredientId : wanted.toArray()) {
+                IntBitmap recipes = recipesByIngredient.get(ingredientId);
+                if (recipes != null) {
+                    bitmaps.add(recipes);
+                } else if (match == Match.ALL) {
+                    return new ArrayList<>();
+                }
+            }
+            if (bitmaps.isEmpty()) {
+                return new ArrayList<>();
+            }
+            switch (match) {
+                case ALL:
+                    return ids(intersect(bitmaps));
+                case ANY:
+                    return ids(union(bitmaps));
+                default:
+                    return fewestMissing(union(bitmaps), wanted, maxMissing);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects the bitmaps smallest first, so the running result shrinks as early as possible.
+     */
+    private static IntBitmap intersect(List<IntBitmap> bitmaps) {
+        bitmaps.sort(Comparator.comparingInt(IntBitmap::cardinality));
+        IntBitmap result = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+            result = result.and(bitmaps.get(i));
+        }
+        return result;
+    }
+
+    private static IntBitmap union(List<IntBitmap> bitmaps) {
+        IntBitmap result = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size(); i++) {
+            result = result.or(bitmaps.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Keeps the candidates that need at most maxMissing ingredients besides the wanted ones, fewest missing first.
+     * The caller holds the read lock.
+     */
+    private List<Integer> fewestMissing(IntBitmap candidates, IntSet wanted, int maxMissing) {
+        List<int[]> kept = new ArrayList<>();
+        candidates.forEach(recipeId -> {
+            int missing = 0;
+            for (int ingredientId : ingredientsByRecipe.get(recipeId)) {
+                if (!wanted.contains(ingredientId)) {
+                    missing++;
+                }
+            }
+            if (missing <= maxMissing) {
+                kept.add(new int[] { missing, recipeId });
+            }
+        });
+        // forEach visits ids in ascending order and the sort is stable, so ties stay ordered by id
+        kept.sort(Comparator.comparingInt(pair -> pair[0]));
+        List<Integer> ids = new ArrayList<>(kept.size());
+        for (int[] pair : kept) {
+            ids.add(pair[1]);
+        }
+        return ids;
+    }
+
+    private static List<Integer> ids(IntBitmap bitmap) {
+        List<Integer> ids = new ArrayList<>(bitmap.cardinality());
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+
+    /** Adds a recipe that is not in the index. The caller holds the write lock. */
+    private void add(int recipeId, int[] ingredientIds) {
+        int[] distinct = IntBitmap.of(ingredientIds).toArray();
+        if (distinct.length == 0) {
+            return;
+        }
+        for (int ingredientId : distinct) {
+            recipesByIngredient.computeIfAbsent(ingredientId, id -> new IntBitmap()).add(recipeId);
+        }
+        ingredientsByRecipe.put(recipeId, distinct);
+    }
+
+    /** Takes a recipe out of the index, if it is there. The caller holds the write lock. */
+    private void delete(int recipeId) {
+        int[] ingredientIds = ingredientsByRecipe.remove(recipeId);
+        if (ingredientIds == null) {
+            return;
+        }
+        for (int ingredientId : ingredientIds) {
+            IntBitmap recipes = recipesByIngredient.get(ingredientId);
+            recipes.remove(recipeId);
+            if (recipes.isEmpty()) {
+                recipesByIngredient.remove(ingredientId);
+            }
+        }
+    }
+}
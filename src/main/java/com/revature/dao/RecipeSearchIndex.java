@@ -0,0 +1,343 @@
+package com.revature.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.revature.model.Recipe;
+import com.revature.util.collections.IntIntMap;
+import com.revature.util.collections.IntObjectMap;
+
+/**
+ * The RecipeSearchIndex class is an in-memory full-text index over recipe names and instructions, ranked with BM25. A search only visits the postings of its own words, so its cost follows how many recipes contain those words rather than how many recipes there are, unlike the `name LIKE '%term%'` scan.
+ *
+ * Text is split into lower-cased runs of letters and digits. A word in the name counts {@link #NAME_WEIGHT} times, so a recipe named after the word ranks above one that only mentions it in its instructions. A recipe matches if it contains any of the query's words, and recipes with equal scores are ordered by id.
+ *
+ * The index also keeps recipe names in sorted order for autocomplete, so {@link #searchPrefix(String, int)} finds the names starting with a prefix with one tree descent and then reads only the matches it returns. Recipe names are unique, which makes the name alone a valid key.
+ *
+ * The index starts empty and unloaded. {@link RecipeDAO} loads it from the database on first use and applies each committed write to it, with the same generation protocol as {@link IngredientCatalog}: loaders read {@link #generation()} before their query and pass it to {@link #load(Collection, long)}, which refuses the rows if a write happened in between. The index is too large to copy on every write, so instead searches share a read lock and writes take the write lock.
+ */
+public class RecipeSearchIndex {
+
+    /** How many times a word in the recipe name counts compared to one in the instructions. */
+    public static final int NAME_WEIGHT = 3;
+    /** BM25 term frequency saturation. */
+    private static final double K1 = 1.2;
+    /** BM25 document length normalization. */
+    private static final double B = 0.75;
+
+    /** Orders scored recipes from the best match down, then by id. */
+    private static final Comparator<Map.Entry<Integer, Double>> BY_RELEVANCE = Comparator
+            .comparing((Map.Entry<Integer, Double> entry) -> entry.getValue()).reversed()
+            .thenComparing(Map.Entry::getKey);
+
+    /**
+     * One page of search results.
+     */
+    public static class Result {
+
+        private final List<Integer> ids;
+        private final int totalMatches;
+
+        public Result(List<Integer> ids, int totalMatches) {
+            this.ids = ids;
+            this.totalMatches = totalMatches;
+        }
+
+        /**
+         * @return the ids of the recipes on the page, best match first
+         */
+        public List<Integer> getIds() {
+            return ids;
+        }
+
+        /**
+         * @return the number of recipes that match the query
+         */
+        public int getTotalMatches() {
+            return totalMatches;
+        }
+    }
+
+    // fields
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** For each word, the weighted number of times it occurs in each recipe, keyed by recipe id. Guarded by lock. */
+    private final Map<String, IntIntMap> postings = new HashMap<>();
+    /** The distinct words of each recipe, so that a recipe can be taken out of its postings. Guarded by lock. */
+    private final IntObjectMap<String[]> wordsByRecipe = new IntObjectMap<>();
+    /** The name of each recipe. Guarded by lock. */
+    private final IntObjectMap<String> names = new IntObjectMap<>();
+    /** Recipe ids keyed by name, in name order. Guarded by lock. */
+    private final TreeMap<String, Integer> idsByName = new TreeMap<>();
+    /** The weighted number of words in each recipe. Guarded by lock. */
+    private final IntIntMap lengths = new IntIntMap();
+    /** The sum of every recipe's length. Guarded by lock. */
+    private long totalLength;
+    /** Whether the index has been loaded. Guarded by lock. */
+    private boolean loaded;
+    /** Incremented on every write. Guarded by lock. */
+    private long generation;
+
+    /**
+     * @return true once the index has been loaded
+     */
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the current generation, to be passed to {@link #load(Collection, long)}
+     */
+    public long generation() {
+        lock.readLock().lock();
+        try {
+            return generation;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with the given recipes, unless a write was applied after they were read.
+     *
+     * @param recipes every row of the RECIPE table; only the id, name and instructions are used
+     * @param startGeneration the value of {@link #generation()} read before the rows were queried
+     * @return true if the rows were installed
+     */
+    public boolean load(Collection<Recipe> recipes, long startGeneration) {
+        lock.writeLock().lock();
+        try {
+            if (startGeneration != generation) {
+                return false;
+            }
+            postings.clear();
+            wordsByRecipe.clear();
+            names.clear();
+            idsByName.clear();
+            lengths.clear();
+            totalLength = 0;
+            for (Recipe recipe : recipes) {
+                add(recipe.getId(), recipe.getName(), recipe.getInstructions());
+            }
+            loaded = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a recipe, replacing its previous text if it was indexed already. Call this after the write commits.
+     */
+    public void put(int id, String name, String instructions) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (loaded) {
+                delete(id);
+                add(id, name, instructions);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a recipe from the index, if it is there. Call this after the delete commits.
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (loaded) {
+                delete(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of recipes in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return lengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the recipes that contain any word of the query and returns one page of them, best match first.
+     *
+     * @param query the words to search for
+     * @param offset the number of results to skip
+     * @param limit the maximum number of results to return
+     * @return the page of recipe ids and the number of recipes that match
+     * @throws IllegalStateException if the index has not been loaded
+     */
+    public Result search(String query, int offset, int limit) {
+        Set<String> words = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (!loaded) {
+                throw new IllegalStateException("The recipe search index has not been loaded");
+            }
+            int recipeCount = lengths.size();
+            double averageLength = recipeCount == 0 ? 0 : (double) totalLength / recipeCount;
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String word : words) {
+                IntIntMap matches = postings.get(word);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (recipeCount - matches.size() + 0.5) / (matches.size() + 0.5));
+                matches.forEach((recipeId, frequency) -> {
+                    double norm = K1 * (1 - B + B * lengths.getOrDefault(recipeId, 0) / averageLength);
+                    scores.merge(recipeId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+            return new Result(top(scores, offset, limit), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the recipes whose names start with the prefix, ordered by name. The prefix is matched literally and
+     * case-sensitively.
+     *
+     * @param prefix the start of the name
+     * @param limit the maximum number of recipes to return
+     * @return the matching recipes, with only their id and name filled in
+     * @throws IllegalStateException if the index has not been loaded
+     */
+    public List<Recipe> searchPrefix(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            if (!loaded) {
+                throw new IllegalStateException("The recipe search index has not been loaded");
+            }
+            List<Recipe> matches = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : idsByName.tailMap(prefix, true).entrySet()) {
+                if (matches.size() >= limit || !entry.getKey().startsWith(prefix)) {
+                    break;
+                }
+                matches.add(new Recipe(entry.getValue(), entry.getKey(), null, null));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into the words the index uses: lower-cased runs of letters and digits.
+     *
+     * @param text the text to split, may be null
+     * @return the words in order, with repeats
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Picks one page of the best scores with a bounded heap, so that only the page and the results before it are
+     * ever sorted, however many recipes match.
+     */
+    private static List<Integer> top(Map<Integer, Double> scores, int offset, int limit) {
+        int wanted = offset + limit;
+        if (limit < 1 || offset >= scores.size()) {
+            return new ArrayList<>();
+        }
+        // The heap's head is the worst of the best results kept so far
+        PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(BY_RELEVANCE.reversed());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            if (best.size() < wanted) {
+                best.add(entry);
+            } else if (BY_RELEVANCE.compare(entry, best.peek()) < 0) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(best);
+        ranked.sort(BY_RELEVANCE);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    /** Adds a recipe that is not in the index. The caller holds the write lock. */
+    private void add(int id, String name, String instructions) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String word : tokenize(name)) {
+            frequencies.merge(word, NAME_WEIGHT, Integer::sum);
+        }
+        for (String word : tokenize(instructions)) {
+            frequencies.merge(word, 1, Integer::sum);
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), word -> new IntIntMap()).put(id, entry.getValue());
+            length += entry.getValue();
+        }
+        wordsByRecipe.put(id, frequencies.keySet().toArray(new String[0]));
+        if (name != null) {
+            names.put(id, name);
+            idsByName.put(name, id);
+        }
+        lengths.put(id, length);
+        totalLength += length;
+    }
+
+    /** Takes a recipe out of the index, if it is there. The caller holds the write lock. */
+    private void delete(int id) {
+        String[] words = wordsByRecipe.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            IntIntMap matches = postings.get(word);
+            matches.remove(id);
+            if (matches.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+        String name = names.remove(id);
+        if (name != null) {
+            idsByName.remove(name, id);
+        }
+        totalLength -= lengths.getOrDefault(id, 0);
+        lengths.remove(id);
+    }
+}
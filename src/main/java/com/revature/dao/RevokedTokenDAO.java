@@ -0,0 +1,80 @@
+package com.revature.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.revature.util.ConnectionUtil;
+
+/**
+ * Data Access Object (DAO) for the REVOKED_TOKEN table, the shared deny-list of signed session tokens. Rows are only needed until the token would have expired, so reads skip expired rows and {@link #deleteExpired(long)} prunes them.
+ */
+public class RevokedTokenDAO {
+
+    /** A utility class for establishing connections to the database. */
+    private ConnectionUtil connectionUtil;
+
+    public RevokedTokenDAO(ConnectionUtil connectionUtil) {
+        this.connectionUtil = connectionUtil;
+    }
+
+    /**
+     * Records a revoked token. Revoking the same token twice is harmless.
+     *
+     * @param tokenId the id carried in the token
+     * @param expiresAt when the token would have expired, in milliseconds since the epoch
+     */
+    public void revoke(String tokenId, long expiresAt) {
+        String sql = "MERGE INTO REVOKED_TOKEN (token_id, expires_at) KEY (token_id) VALUES (?, ?)";
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, tokenId);
+            statement.setTimestamp(2, new Timestamp(expiresAt));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to revoke token", e);
+        }
+    }
+
+    /**
+     * @param now the current time, in milliseconds since the epoch
+     * @return the ids of the revoked tokens that have not expired yet
+     */
+    public Set<String> getRevokedTokenIds(long now) {
+        String sql = "SELECT token_id FROM REVOKED_TOKEN WHERE expires_at > ?";
+        Set<String> tokenIds = new HashSet<>();
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setTimestamp(1, new Timestamp(now));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    tokenIds.add(resultSet.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to read revoked tokens", e);
+        }
+        return tokenIds;
+    }
+
+    /**
+     * Deletes the rows of tokens that have expired, since an expired token is rejected anyway.
+     *
+     * @param now the current time, in milliseconds since the epoch
+     * @return the number of rows deleted
+     */
+    public int deleteExpired(long now) {
+        String sql = "DELETE FROM REVOKED_TOKEN WHERE expires_at <= ?";
+        try (Connection connection = connectionUtil.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setTimestamp(1, new Timestamp(now));
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to prune revoked tokens", e);
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package com.revature.service;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 import com.revature.model.Chef;
+import com.revature.util.CacheStats;
+import com.revature.util.InMemorySessionStore;
+import com.revature.util.SessionStore;
 
 
 // NOTE: This file is part of the backend implementation. No changes are required.
@@ -26,38 +26,61 @@ public class AuthenticationService {
 	 @SuppressWarnings("unused")
 	 private ChefService chefService;
  
-	 /** A map that keeps track of currently logged in users, indexed by session token. */
-	 public static Map<String, Chef> loggedInUsers = new HashMap<>();
+	 /** The process-wide session store, shared by every AuthenticationService that is not given its own. */
+	 private static final SessionStore DEFAULT_SESSIONS = new InMemorySessionStore();
+
+	 /** Keeps track of currently logged in users, indexed by session token. */
+	 private final SessionStore sessions;
+
+	 /** Issues and checks signed tokens in signed token mode; null when sessions are kept in the session store. */
+	 private final SignedTokenService signedTokens;
  
 	 /**
-	  * Constructs an AuthenticationService with the specified ChefService.
+	  * Constructs an AuthenticationService with the specified ChefService, using the process-wide session store.
 	  *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
 	  */
 	 public AuthenticationService(ChefService chefService) {
+		 this(chefService, DEFAULT_SESSIONS);
+	 }
+
+	 /**
+	  * Constructs an AuthenticationService with the specified ChefService and session store.
+	  */
+	 public AuthenticationService(ChefService chefService, SessionStore sessions) {
 		 this.chefService = chefService;
-		 loggedInUsers = new HashMap<>();
+		 this.sessions = sessions;
+		 this.signedTokens = null;
+	 }
+
+	 /**
+	  * Constructs an AuthenticationService in signed token mode. Login issues a
+	  * signed token instead of a server-side session, so any node that shares the
+	  * signing secret can check it.
+	  */
+	 public AuthenticationService(ChefService chefService, SignedTokenService signedTokens) {
+		 this.chefService = chefService;
+		 this.sessions = DEFAULT_SESSIONS;
+		 this.signedTokens = signedTokens;
 	 }
 
 	/**
-	 * Authenticates a chef by verifying the provided credentials. If successful, a session token is generated and stored in the logged in users map.
+	 * Authenticates a chef by verifying the provided credentials. If successful, a session token is generated and stored in the session store.
 	 *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
 	 */
 	public String login(Chef chef) {
-		List<Chef> existingChefs = chefService.searchChefs(chef.getUsername());
-		
-		for (Chef c : existingChefs) {
-			if (c.getUsername().equals(chef.getUsername()) && c.getPassword().equals(chef.getPassword())) {
-				String token = UUID.randomUUID().toString();
-				// add to map
-				loggedInUsers.put(token, c);
-
-				return token;
+		Chef c = chefService.findChefByUsername(chef.getUsername()).orElse(null);
+		if (c != null && c.getPassword().equals(chef.getPassword())) {
+			if (signedTokens != null) {
+				return signedTokens.issue(c);
 			}
-		
+			String token = UUID.randomUUID().toString();
+			sessions.put(token, c);
+
+			return token;
 		}
 
 		return null;
@@ -65,18 +88,24 @@ public class AuthenticationService {
 
 	/**
 	 * Logs out a chef by removing the associated session token from the session
-	 * map.
+	 * store.
 	 *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
 	 */
 	public void logout(String token) {
-		loggedInUsers.remove(token);
+		if (signedTokens != null) {
+			signedTokens.revoke(token);
+		} else {
+			sessions.remove(token);
+		}
 	}
 
 	/**
 	 * Registers a new chef by saving the chef's information using ChefService.
 	 *
+	 * @throws com.revature.dao.DuplicateChefException if the username or email is already taken
+	 *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
 	 */
@@ -86,13 +115,55 @@ public class AuthenticationService {
 	}
 
 	/**
-	 * Retrieves the chef associated with a specific session token.
+	 * Retrieves the chef associated with a specific session token, or null if the
+	 * session does not exist or has expired. In signed token mode the token is
+	 * checked by its signature alone, and the chef carries only the id, username
+	 * and admin flag from the token.
 	 *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
 	 */
 	public Chef getChefFromSessionToken(String token) {
-		return loggedInUsers.get(token);
+		if (signedTokens != null) {
+			return signedTokens.verify(token);
+		}
+		return sessions.get(token);
+	}
+
+	/**
+	 * Retrieves the chef whose session token is carried by an Authorization
+	 * header, or null if there is no valid session for it.
+	 */
+	public Chef getChefFromAuthorizationHeader(String header) {
+		return getChefFromSessionToken(tokenFromHeader(header));
+	}
+
+	/**
+	 * Reads the session token from an Authorization header of the form
+	 * "Bearer token". The prefix is optional, and anything after the token is
+	 * ignored, because the login response carries the role after the token and
+	 * clients send it back as is.
+	 *
+	 * @return the token, or null if the header is missing or empty
+	 */
+	public static String tokenFromHeader(String header) {
+		if (header == null) {
+			return null;
+		}
+		String value = header.trim();
+		if (value.regionMatches(true, 0, "Bearer", 0, 6)) {
+			value = value.substring(6).trim();
+		}
+		int space = value.indexOf(' ');
+		String token = space < 0 ? value : value.substring(0, space);
+		return token.isEmpty() ? null : token;
+	}
+
+	/**
+	 * @return a snapshot of the session store's counters; the size is the number of active sessions
+	 */
+	public CacheStats getSessionStats() {
+		return sessions.getStats();
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import com.revature.model.Chef;
 import com.revature.dao.ChefDAO;
+import com.revature.util.CacheStats;
 import com.revature.util.Page;
 import com.revature.util.PageOptions;
 
@@ -43,6 +44,13 @@ public class ChefService {
 		return Optional.ofNullable(chefDAO.getChefById(id));
 	}
 
+	/**
+	 * Finds the Chef with exactly the given username.
+	 */
+	public Optional<Chef> findChefByUsername(String username) {
+		return Optional.ofNullable(chefDAO.getChefByUsername(username));
+	}
+
 	/**
      * Saves a Chef entity. If the Chef's ID is zero, a new Chef is created and the `chef` parameter's ID is updated.
 	 * 
@@ -102,4 +110,11 @@ public class ChefService {
 			return chefDAO.searchChefsByTerm(term, options);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * @return a snapshot of the chef cache's hit, miss and eviction counters, for sizing the cache
+	 */
+	public CacheStats getCacheStats() {
+		return chefDAO.getCacheStats();
+	}
+}
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.revature.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import com.revature.model.Ingredient;
 import com.revature.dao.IngredientDAO;
+import com.revature.util.CursorPage;
 import com.revature.util.Page;
+import com.revature.util.PageCursor;
 import com.revature.util.PageOptions;
+import com.revature.util.Suggestion;
 
 
 // NOTE: This file is part of the backend implementation. No changes are required.
@@ -32,6 +36,13 @@ public class IngredientService {
         this.ingredientDAO = ingredientDAO;
     }
 
+    /**
+     * @return a version of the ingredient data that changes with every write, for ETags
+     */
+    public String getDataVersion() {
+        return ingredientDAO.getDataVersion();
+    }
+
     /**
      * Finds an Ingredient by its unique identifier.
      *
@@ -100,4 +111,33 @@ public class IngredientService {
             return ingredientDAO.searchIngredients(term, pageOptions);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Searches for Ingredients with keyset pagination. An empty or null cursor
+     * reads the first page in the given sort order; otherwise the sort order
+     * stored in the cursor is used.
+     *
+     * @throws IllegalArgumentException if the cursor or sort options are invalid
+     */
+    public CursorPage<Ingredient> searchIngredientsAfter(String term, String after, int pageSize, String sortBy, String sortDirection) {
+        PageCursor cursor = after == null || after.isEmpty() ? null : PageCursor.decode(after);
+        PageOptions pageOptions = cursor == null ? new PageOptions(1, pageSize, sortBy, sortDirection)
+                : new PageOptions(1, pageSize, cursor.getSortBy(), cursor.getSortDirection());
+        return ingredientDAO.searchIngredientsAfter(term, cursor, pageOptions);
+    }
+
+    /**
+     * Suggests ingredients whose names start with what the user has typed so far.
+     *
+     * @param prefix the case-sensitive start of the name
+     * @param limit the maximum number of suggestions
+     * @return the suggestions, ordered by name
+     */
+    public List<Suggestion> suggestIngredients(String prefix, int limit) {
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (Ingredient ingredient : ingredientDAO.searchIngredientsByPrefix(prefix, limit)) {
+            suggestions.add(new Suggestion(ingredient.getId(), ingredient.getName()));
+        }
+        return suggestions;
+    }
+}
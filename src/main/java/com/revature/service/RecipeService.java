@@ -1,12 +1,17 @@
 package com.revature.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import com.revature.dao.RecipeDAO;
+import com.revature.dao.RecipeIngredientIndex;
 import com.revature.model.Recipe;
+import com.revature.util.CursorPage;
 import com.revature.util.Page;
+import com.revature.util.PageCursor;
 import com.revature.util.PageOptions;
+import com.revature.util.Suggestion;
 
 
 // NOTE: This file is part of the backend implementation. No changes are required.
@@ -34,6 +39,13 @@ public class RecipeService {
         this.recipeDAO = recipeDAO;
     }
 
+    /**
+     * @return a version of the recipe data that changes with every write, for ETags
+     */
+    public String getDataVersion() {
+        return recipeDAO.getDataVersion();
+    }
+
     /**
      * Finds a Recipe by its unique identifier.
      *
@@ -44,6 +56,20 @@ public class RecipeService {
         return Optional.ofNullable(recipeDAO.getRecipeById(id));
     }
 
+    /**
+     * Finds a Recipe by its unique identifier through the recipe cache, so that
+     * repeated reads of the same recipe skip the database.
+     *
+     * @param withIngredients whether to return the recipe's ingredient list as well
+     */
+    public Optional<Recipe> findRecipe(int id, boolean withIngredients) {
+        Recipe recipe = recipeDAO.getRecipeWithIngredients(id);
+        if (recipe != null && !withIngredients) {
+            recipe.setIngredients(null);
+        }
+        return Optional.ofNullable(recipe);
+    }
+
     /**
      * Saves a Recipe object to the data store. If the id is 0, create a new Recipe.
      * 
@@ -62,18 +88,32 @@ public class RecipeService {
             if (recipe.getInstructions() != null) {
                 savedRecipe.setInstructions(recipe.getInstructions());
             }
+            if (recipe.getIngredients() != null) {
+                savedRecipe.setIngredients(recipe.getIngredients());
+            }
             recipeDAO.updateRecipe(savedRecipe);
         }
     }
     
     /**
-     * Searches for recipes with pagination and sorting options.
+     * Searches for recipes with pagination and sorting options. Sorting by
+     * "relevance" searches recipe names and instructions for the words of the
+     * term and returns the best matches first.
      *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
+     *
+     * @throws IllegalArgumentException if the page or sort options are invalid,
+     *                                  or relevance is asked for without a term
      */
     public Page<Recipe> searchRecipes(String term, int page, int pageSize, String sortBy, String sortDirection) {
         PageOptions options = new PageOptions(page, pageSize, sortBy, sortDirection);
+        if ("relevance".equalsIgnoreCase(sortBy)) {
+            if (term == null || term.isBlank()) {
+                throw new IllegalArgumentException("Sorting by relevance needs a search term");
+            }
+            return recipeDAO.searchRecipesByRelevance(term, options);
+        }
         if (term == null) {
             return recipeDAO.getAllRecipes(options);
         } else {
@@ -81,6 +121,20 @@ public class RecipeService {
         }
     }
 
+    /**
+     * Searches for recipes with keyset pagination. An empty or null cursor reads
+     * the first page in the given sort order; otherwise the sort order stored in
+     * the cursor is used.
+     *
+     * @throws IllegalArgumentException if the cursor or sort options are invalid
+     */
+    public CursorPage<Recipe> searchRecipesAfter(String term, String after, int pageSize, String sortBy, String sortDirection) {
+        PageCursor cursor = after == null || after.isEmpty() ? null : PageCursor.decode(after);
+        PageOptions options = cursor == null ? new PageOptions(1, pageSize, sortBy, sortDirection)
+                : new PageOptions(1, pageSize, cursor.getSortBy(), cursor.getSortDirection());
+        return recipeDAO.searchRecipesAfter(term, cursor, options);
+    }
+
     /**
      * Searches for recipes based on a search term.
      *
@@ -96,6 +150,62 @@ public class RecipeService {
         }
     }
 
+    /**
+     * Searches for recipes that use an ingredient whose name contains the given text.
+     */
+    public List<Recipe> searchRecipesByIngredient(String ingredient) {
+        return recipeDAO.searchRecipesByIngredient(ingredient);
+    }
+
+    /**
+     * Searches for recipes by several ingredients, each given by id or exact name.
+     *
+     * @param ingredients the ingredient ids or names
+     * @param match       "all" for recipes that use every ingredient, "any" for
+     *                    recipes that use at least one, or "missing" for recipes
+     *                    that use at least one and need at most maxMissing others
+     * @param maxMissing  the most other ingredients a recipe may need, for "missing"
+     * @throws IllegalArgumentException if the match or maxMissing is invalid
+     */
+    public List<Recipe> searchRecipesByIngredients(List<String> ingredients, String match, int maxMissing) {
+        RecipeIngredientIndex.Match mode;
+        try {
+            mode = RecipeIngredientIndex.Match.valueOf(match.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown match " + match + ", expected all, any or missing");
+        }
+        if (maxMissing < 0) {
+            throw new IllegalArgumentException("maxMissing cannot be negative");
+        }
+        return recipeDAO.searchRecipesByIngredients(ingredients, mode, maxMissing);
+    }
+
+    /**
+     * Fills in the ingredient list of each of the given recipes with one query.
+     * Recipes are otherwise returned without their ingredients.
+     */
+    public void loadIngredients(List<Recipe> recipes) {
+        recipeDAO.loadIngredients(recipes);
+    }
+
+    /**
+     * Suggests recipes whose names start with what the user has typed so far.
+     *
+     * @param prefix the case-sensitive start of the name
+     * @param limit  the maximum number of suggestions
+     * @return the suggestions, ordered by name
+     */
+    public List<Suggestion> suggestRecipes(String prefix, int limit) {
+        List<Suggestion> suggestions = new ArrayList<>();
+        List<Recipe> recipes = recipeDAO.searchRecipesByPrefix(prefix, limit);
+        if (recipes != null) {
+            for (Recipe recipe : recipes) {
+                suggestions.add(new Suggestion(recipe.getId(), recipe.getName()));
+            }
+        }
+        return suggestions;
+    }
+
     /**
      * Deletes a Recipe by its unique identifier.
      *
@@ -0,0 +1,128 @@
+package com.revature.service;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.revature.dao.RevokedTokenDAO;
+import com.revature.model.Chef;
+import com.revature.util.SignedToken;
+import com.revature.util.TokenSigner;
+
+/**
+ * The SignedTokenService class issues and checks stateless session tokens. A token carries the chef's id, username, admin flag and expiry, signed with a secret shared by every node, so checking one is a CPU-only signature check and any node can serve any request without sticky sessions.
+ *
+ * Tokens are revoked through a deny-list in the REVOKED_TOKEN table. Each node keeps a copy of the list in memory and refreshes it in the background, so checks never wait on the database. A token revoked on this node is denied here at once; on other nodes it is denied from their next refresh. Rows are pruned once their token would have expired anyway.
+ */
+public class SignedTokenService implements AutoCloseable {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // fields
+
+    /** Signs and verifies tokens. */
+    private final TokenSigner signer;
+    /** The shared deny-list. */
+    private final RevokedTokenDAO revokedTokenDAO;
+    /** How long an issued token is valid, in milliseconds. */
+    private final long ttlMillis;
+    /** The deny-list as of the last refresh. Replaced, never modified. */
+    private volatile Set<String> denied = Collections.emptySet();
+    /** Tokens revoked on this node, with their expiry, so they stay denied even if a refresh started before the revocation. */
+    private final Map<String, Long> revokedHere = new ConcurrentHashMap<>();
+    /** Refreshes the deny-list in the background. */
+    private final ScheduledExecutorService refresher;
+
+    /**
+     * Creates the service and loads the deny-list once before returning.
+     *
+     * @param signer signs and verifies tokens
+     * @param revokedTokenDAO the shared deny-list
+     * @param ttlMillis how long an issued token is valid
+     * @param refreshMillis how often to reload the deny-list
+     */
+    public SignedTokenService(TokenSigner signer, RevokedTokenDAO revokedTokenDAO, long ttlMillis, long refreshMillis) {
+        if (ttlMillis < 1 || refreshMillis < 1) {
+            throw new IllegalArgumentException("Invalid signed token settings: ttlMillis=" + ttlMillis + ", refreshMillis=" + refreshMillis);
+        }
+        this.signer = signer;
+        this.revokedTokenDAO = revokedTokenDAO;
+        this.ttlMillis = ttlMillis;
+        refresh();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "token-deny-list-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                // Keep the last good list and try again on the next run
+                e.printStackTrace();
+            }
+        }, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return a new signed token for the chef
+     */
+    public String issue(Chef chef) {
+        byte[] id = new byte[16];
+        RANDOM.nextBytes(id);
+        String tokenId = Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+        return signer.sign(new SignedToken(tokenId, chef.getId(), chef.getUsername(), chef.isAdmin(),
+                System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Checks a token's signature, expiry and revocation, without touching the database.
+     *
+     * @param token the token sent by the client, may be null
+     * @return the chef the token was issued to, with their id, username and admin flag, or null if the token is not valid
+     */
+    public Chef verify(String token) {
+        SignedToken claims = signer.verify(token);
+        if (claims == null || claims.isExpired(System.currentTimeMillis())
+                || denied.contains(claims.getTokenId()) || revokedHere.containsKey(claims.getTokenId())) {
+            return null;
+        }
+        return new Chef(claims.getChefId(), claims.getUsername(), null, null, claims.isAdmin());
+    }
+
+    /**
+     * Revokes a token on every node: at once on this one, and from their next refresh on the others. Invalid tokens are ignored.
+     */
+    public void revoke(String token) {
+        SignedToken claims = signer.verify(token);
+        if (claims == null || claims.isExpired(System.currentTimeMillis())) {
+            return;
+        }
+        revokedHere.put(claims.getTokenId(), claims.getExpiresAt());
+        revokedTokenDAO.revoke(claims.getTokenId(), claims.getExpiresAt());
+    }
+
+    /**
+     * Prunes expired rows from the deny-list and reloads it. This runs on the refresher thread; it is public so that callers can force a refresh.
+     */
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        revokedTokenDAO.deleteExpired(now);
+        denied = Collections.unmodifiableSet(revokedTokenDAO.getRevokedTokenIds(now));
+        revokedHere.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    /**
+     * Stops the refresher thread.
+     */
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
@@ -1,10 +1,7 @@
 package com.revature.util;
-import java.util.stream.Collectors;
 
-import com.revature.dao.ChefDAO;
 import com.revature.model.Chef;
 import com.revature.service.AuthenticationService;
-import com.revature.service.ChefService;
 
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
@@ -28,9 +25,8 @@ public class AdminMiddleware implements Handler {
     private String[] protectedMethods;
 
     /**
-     * The AuthenticationService instance used for handling authentication-related operations and validation.
+     * The application's AuthenticationService, whose sessions are checked for admin access.
      */
-    @SuppressWarnings("unused")
     private AuthenticationService authService;
     
 
@@ -41,13 +37,15 @@ public class AdminMiddleware implements Handler {
      * No modifications or implementations are required.
      */
 
-    public AdminMiddleware(String... protectedMethods) {
+    public AdminMiddleware(AuthenticationService authService, String... protectedMethods) {
         this.protectedMethods = protectedMethods;
-        this.authService = new AuthenticationService(new ChefService(new ChefDAO(new ConnectionUtil())));
+        this.authService = authService;
     }
 
     /**
      * Handles the HTTP request, checking for admin access based on the HTTP method being used and the current logged in user's authentication token.
+     *
+     * The role is resolved with one session lookup. A session keeps the chef as they were at login, so the admin flag is cached for the life of the session and a role change takes effect at the chef's next login.
      *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
@@ -55,11 +53,8 @@ public class AdminMiddleware implements Handler {
     @Override
     public void handle(Context ctx) {
         if (isProtectedMethod(ctx.method().name())) {
-            // Get the token of the current logged in user
-            String token = AuthenticationService.loggedInUsers.keySet().stream().collect(Collectors.joining());
-
-            // Check the corresponding chef and check if they are admin
-            boolean isAdmin = isAdmin(authService.getChefFromSessionToken(token));
+            // Check the chef of the current request's session and check if they are admin
+            boolean isAdmin = isAdmin(authService.getChefFromAuthorizationHeader(ctx.header("Authorization")));
             
             // If they are not admin, throw an exception
             if (!isAdmin) {
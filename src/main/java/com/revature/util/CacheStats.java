@@ -0,0 +1,77 @@
+package com.revature.util;
+
+/**
+ * The CacheStats class is an immutable snapshot of the counters of an {@link LruCache} or a {@link SessionStore}, taken at the moment getStats() was called. It is intended for logging and for sizing the cache, so every value is a plain number.
+ */
+public class CacheStats {
+
+    /** The number of lookups answered from the cache. */
+    private final long hits;
+    /** The number of lookups that found nothing usable. */
+    private final long misses;
+    /** The number of entries dropped to make room for newer ones. */
+    private final long evictions;
+    /** The number of entries dropped because they were older than the TTL. */
+    private final long expirations;
+    /** The number of entries currently held. */
+    private final int size;
+    /** The maximum number of entries the cache will hold. */
+    private final int maxEntries;
+
+    public CacheStats(long hits, long misses, long evictions, long expirations, int size, int maxEntries) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.size = size;
+        this.maxEntries = maxEntries;
+    }
+
+    // getters
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return the fraction of lookups answered from the cache, or 0 if there were none
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Returns a string representation of the CacheStats object.
+     *
+     * @return a string representation of every counter in the snapshot
+     */
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", expirations=" + expirations +
+                ", size=" + size +
+                ", maxEntries=" + maxEntries + '}';
+    }
+}
@@ -0,0 +1,31 @@
+package com.revature.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The ChangeCounter class counts the committed writes to a table, so that a read can tell whether anything changed since an earlier one without querying. The version it reports is the count prefixed with a random epoch chosen when the counter is created, so that versions from before a restart, when the count starts again from zero, never match the ones after it.
+ *
+ * Writers call {@link #increment()} after their write commits and every in-memory structure the read paths use shows it, and before they return. Readers read the version before they read the data, so a version that has moved always comes with data that includes the write. The counter only sees writes made through this process.
+ */
+public class ChangeCounter {
+
+    // fields
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * Records a committed write.
+     */
+    public void increment() {
+        changes.incrementAndGet();
+    }
+
+    /**
+     * @return an opaque version that changes whenever the table does
+     */
+    public String version() {
+        return epoch + "-" + changes.get();
+    }
+}
@@ -0,0 +1,79 @@
+package com.revature.util;
+
+import java.util.function.Supplier;
+
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+
+/**
+ * The ConditionalGet class wraps a read handler with weak ETags. The tag is built from the version of the data the handler reads, such as a {@link ChangeCounter}, so it is known before the handler runs. A request whose If-None-Match header already holds the tag is answered with 304 Not Modified without calling the handler, which means no query and no JSON.
+ *
+ * The version must be read before the handler's queries, so a write that lands in between moves the version on and the tag given out can never be matched again. Only 200 responses are tagged. Tagged responses carry "Cache-Control: no-cache", so clients revalidate every time instead of guessing how long the data stays fresh.
+ *
+ * The same data may be sent gzipped or not, by {@link ResponseCache} or by Javalin's own compression, which runs after the tag is chosen. Different encodings of a representation must not share a strong validator, so the tags are weak, and tagged responses carry "Vary: Accept-Encoding".
+ */
+public class ConditionalGet implements Handler {
+
+    /** A name for what the handler returns, to tell tags of different data apart. */
+    private final String resource;
+    /** Reads the current version of the data the handler returns. */
+    private final Supplier<String> version;
+    /** The handler to call when the client's copy is missing or out of date. */
+    private final Handler handler;
+
+    /**
+     * @param resource a name for what the handler returns, made of characters allowed in an ETag
+     * @param version reads the current version of the data the handler returns, without querying
+     * @param handler the handler to wrap
+     */
+    public ConditionalGet(String resource, Supplier<String> version, Handler handler) {
+        this.resource = resource;
+        this.version = version;
+        this.handler = handler;
+    }
+
+    @Override
+    public void handle(Context ctx) throws Exception {
+        String etag = "\"" + resource + "-" + version.get() + "\"";
+        if (matches(ctx.header("If-None-Match"), etag)) {
+            tag(ctx, etag);
+            ctx.status(304);
+            return;
+        }
+        handler.handle(ctx);
+        if (ctx.statusCode() == 200) {
+            tag(ctx, etag);
+            ctx.header("Cache-Control", "no-cache");
+        }
+    }
+
+    private static void tag(Context ctx, String etag) {
+        ctx.header("ETag", "W/" + etag);
+        ctx.header("Vary", "Accept-Encoding");
+    }
+
+    /**
+     * Compares the tags of an If-None-Match header with the current tag. As the header requires, the comparison is
+     * weak: a "W/" prefix on either tag is ignored. "*" is not honoured, since whether the resource exists is
+     * only known after the handler's query, and answering it with 200 is always correct.
+     *
+     * @param ifNoneMatch the header's value, may be null
+     * @param etag the current tag, without the "W/" prefix
+     * @return true if the client already has the current representation
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,427 @@
+package com.revature.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+/**
+ * The ConnectionPool class keeps a bounded set of physical JDBC connections open and hands out lightweight handles to them. Closing a handle returns the physical connection to the pool instead of closing it, so callers can keep using the usual try-with-resources pattern.
+ *
+ * The pool never holds more than `maxSize` physical connections. It opens `minIdle` of them when it is built, so the first requests do not pay for opening them. Borrowers wait up to `borrowTimeoutMillis` for a free connection, connections idle for longer than `idleTimeoutMillis` are evicted down to `minIdle`, and every connection is validated before it is handed out.
+ *
+ * Every borrowed handle remembers when and by which thread it was borrowed. Once leak detection is enabled with {@link #enableLeakDetection(long, boolean)}, the borrow site's stack trace is captured as well, handles held longer than the threshold are logged as leaks, and they can optionally be force-closed so the pool gets its slot back. Capturing the stack trace costs a stack walk on every borrow, so detection is meant for debugging rather than for normal operation.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /** The source of new physical connections. */
+    private final DataSource dataSource;
+    /** The number of idle connections the pool opens up front and keeps open through eviction. */
+    private final int minIdle;
+    /** The maximum number of physical connections, borrowed or idle. */
+    private final int maxSize;
+    /** How long a borrower waits for a free connection before giving up. */
+    private final long borrowTimeoutMillis;
+    /** How long a connection may sit idle before it is evicted. */
+    private final long idleTimeoutMillis;
+    /** The timeout, in seconds, passed to {@link Connection#isValid(int)} on borrow. */
+    private final int validationTimeoutSeconds;
+
+    /** Idle connections, most recently returned first. */
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    /** One permit per physical connection the pool is still allowed to hand out. */
+    private final Semaphore permits;
+    /** Handles that are currently borrowed, checked periodically for leaks. */
+    private final Set<Handle> borrowed = ConcurrentHashMap.newKeySet();
+    /** Evicts idle connections and reaps leaked ones in the background. */
+    private final ScheduledExecutorService evictor;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong borrowNanos = new AtomicLong();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+    private final AtomicLong leaksReclaimed = new AtomicLong();
+    private final AtomicLong statementsCreated = new AtomicLong();
+
+    /** How long a connection may be borrowed before it is reported as leaked, or 0 if detection is off. */
+    private volatile long leakThresholdMillis;
+    /** Whether leaked connections are force-closed once they are detected. */
+    private volatile boolean reclaimLeaks;
+
+    private volatile boolean closed;
+
+    public ConnectionPool(DataSource dataSource, int minIdle, int maxSize, long borrowTimeoutMillis,
+            long idleTimeoutMillis, int validationTimeoutSeconds) {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: minIdle=" + minIdle + ", maxSize=" + maxSize);
+        }
+        this.dataSource = dataSource;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000L, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        fill();
+    }
+
+    /**
+     * Opens `minIdle` connections. If the database cannot be reached yet, the failure is logged and connections are
+     * opened on demand instead.
+     */
+    private void fill() {
+        try {
+            for (int i = 0; i < minIdle; i++) {
+                idle.offerLast(new PooledConnection(dataSource.getConnection()));
+                created.incrementAndGet();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Turns on leak detection. Connections held longer than `thresholdMillis` are logged together with the stack trace of the code that borrowed them and counted in {@link PoolStats#getLeaksDetected()}.
+     *
+     * @param thresholdMillis how long a connection may be held before it is considered leaked
+     * @param reclaim whether a leaked connection should be force-closed and its slot returned to the pool
+     */
+    public void enableLeakDetection(long thresholdMillis, boolean reclaim) {
+        if (thresholdMillis <= 0) {
+            throw new IllegalArgumentException("Leak threshold must be positive: " + thresholdMillis);
+        }
+        boolean schedule = leakThresholdMillis == 0;
+        this.leakThresholdMillis = thresholdMillis;
+        this.reclaimLeaks = reclaim;
+        if (schedule) {
+            long period = Math.max(100L, Math.min(thresholdMillis / 2, 10000L));
+            evictor.scheduleWithFixedDelay(this::reapLeaks, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout if every connection is in use. The returned connection must be closed to give it back.
+     *
+     * @return a validated connection handle
+     * @throws SQLException if the pool is closed, the wait times out, or a new connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        waiters.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + "ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = new PooledConnection(dataSource.getConnection());
+                created.incrementAndGet();
+            }
+            active.incrementAndGet();
+            recordBorrow(System.nanoTime() - start);
+            Handle handle = new Handle(pooled, leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null);
+            borrowed.add(handle);
+            return handle.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return a point-in-time snapshot of the pool's counters
+     */
+    public PoolStats getStats() {
+        long borrows = borrowCount.get();
+        return new PoolStats(active.get(), idle.size(), waiters.get(), maxSize, borrows,
+                borrows == 0 ? 0 : borrowNanos.get() / borrows, maxBorrowNanos.get(), timeouts.get(), created.get(),
+                evicted.get(), leaksDetected.get(), leaksReclaimed.get(), statementsCreated.get());
+    }
+
+    /**
+     * Closes every idle connection and stops the evictor. Connections that are still borrowed are closed as they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    /**
+     * Takes idle connections until one passes validation, discarding the ones that do not.
+     */
+    private PooledConnection takeValidIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (pooled.isValid()) {
+                return pooled;
+            }
+            pooled.closePhysical();
+        }
+        return null;
+    }
+
+    /**
+     * Puts a connection back in the idle queue once its borrower is done with it.
+     */
+    private void release(PooledConnection pooled) {
+        active.decrementAndGet();
+        try {
+            if (!closed && pooled.reset()) {
+                pooled.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            } else {
+                pooled.closePhysical();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes connections that have been idle longer than the idle timeout while keeping at least `minIdle` open.
+     */
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        // the least recently used connections sit at the tail of the deque
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && idle.size() > minIdle) {
+            PooledConnection pooled = it.next();
+            if (pooled.lastUsed < cutoff && idle.removeFirstOccurrence(pooled)) {
+                pooled.closePhysical();
+                evicted.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Reports handles that have been held longer than the leak threshold and, if reclamation is on, force-closes them.
+     */
+    private void reapLeaks() {
+        long threshold = leakThresholdMillis;
+        long now = System.currentTimeMillis();
+        for (Handle handle : borrowed) {
+            long heldMillis = now - handle.borrowedAt;
+            if (heldMillis < threshold) {
+                continue;
+            }
+            if (!handle.reported) {
+                handle.reported = true;
+                leaksDetected.incrementAndGet();
+                System.err.println("Possible connection leak: connection borrowed by thread '" + handle.borrowerThread
+                        + "' has been held for " + heldMillis + "ms");
+                if (handle.borrowSite != null) {
+                    handle.borrowSite.printStackTrace();
+                }
+            }
+            if (reclaimLeaks && handle.forceClose()) {
+                leaksReclaimed.incrementAndGet();
+                System.err.println("Reclaimed leaked connection borrowed by thread '" + handle.borrowerThread + "'");
+            }
+        }
+    }
+
+    private void recordBorrow(long nanos) {
+        borrowCount.incrementAndGet();
+        borrowNanos.addAndGet(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * A physical connection owned by the pool. Each borrow gets a fresh {@link Handle} so a handle that was already closed cannot touch the connection after it has been lent to someone else.
+     */
+    private class PooledConnection {
+
+        private final Connection physical;
+        /** Statements opened through the current handle, closed when the handle is returned. */
+        private final List<Statement> statements = new ArrayList<>();
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        boolean isValid() {
+            try {
+                return physical.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Restores the connection to a clean state for the next borrower.
+         *
+         * @return false if the connection could not be reset and should be discarded
+         */
+        boolean reset() {
+            synchronized (statements) {
+                for (Statement statement : statements) {
+                    try {
+                        statement.close();
+                    } catch (SQLException e) {
+                        // the statement is discarded either way
+                    }
+                }
+                statements.clear();
+            }
+            try {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                return !physical.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void track(Object result) {
+            if (result instanceof Statement) {
+                statementsCreated.incrementAndGet();
+                synchronized (statements) {
+                    statements.add((Statement) result);
+                }
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * The tracking wrapper behind each borrowed connection. It records where and when the connection was borrowed; `close()` returns the connection to the pool and every other call is forwarded to the physical connection.
+     */
+    private class Handle implements InvocationHandler {
+
+        private volatile PooledConnection pooled;
+        /** The proxy given to the borrower. */
+        private final Connection proxy;
+        /** The stack trace of the borrow, captured only while leak detection is on. */
+        private final Throwable borrowSite;
+        private final String borrowerThread = Thread.currentThread().getName();
+        private final long borrowedAt = System.currentTimeMillis();
+        /** Whether this handle has already been reported as a leak. */
+        private volatile boolean reported;
+
+        Handle(PooledConnection pooled, Throwable borrowSite) {
+            this.pooled = pooled;
+            this.borrowSite = borrowSite;
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, this);
+        }
+
+        /**
+         * Takes the connection away from a borrower that held it too long. The physical connection is closed rather than reused because the borrower may still be in the middle of using it.
+         *
+         * @return false if the handle had already been closed
+         */
+        boolean forceClose() {
+            PooledConnection leaked = detach();
+            if (leaked == null) {
+                return false;
+            }
+            active.decrementAndGet();
+            leaked.closePhysical();
+            permits.release();
+            return true;
+        }
+
+        /**
+         * Separates this handle from its connection so that only one of close and force-close gets to return it.
+         */
+        private synchronized PooledConnection detach() {
+            PooledConnection detached = pooled;
+            pooled = null;
+            if (detached != null) {
+                borrowed.remove(this);
+            }
+            return detached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                PooledConnection returning = detach();
+                if (returning != null) {
+                    release(returning);
+                }
+                return null;
+            }
+            PooledConnection current = pooled;
+            if (name.equals("isClosed")) {
+                return current == null || current.physical.isClosed();
+            }
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("toString")) {
+                return "PooledConnection[" + (current == null ? "closed" : current.physical) + "]";
+            }
+            if (current == null) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                Object result = method.invoke(current.physical, args);
+                current.track(result);
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
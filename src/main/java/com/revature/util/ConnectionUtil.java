@@ -5,9 +5,9 @@ import java.sql.SQLException;
 import org.h2.jdbcx.JdbcDataSource;
 
 /**
-This class provides autility methods and configuration for managing database connections for an H2 database. It uses a JdbcDataSource connection pool to manage connections efficiently.
+This class provides autility methods and configuration for managing database connections for an H2 database. It uses a bounded {@link ConnectionPool} on top of a JdbcDataSource so that physical H2 sessions are reused across DAO calls instead of being opened for every query.
 
-You do not need to edit this class.
+The pool can be tuned with the `db.pool.minIdle`, `db.pool.maxSize`, `db.pool.borrowTimeoutMillis`, `db.pool.idleTimeoutMillis` and `db.pool.validationTimeoutSeconds` system properties. Leak detection is off by default, because it captures a stack trace on every borrow. Setting `db.pool.leakThresholdMillis` to a positive value turns it on while hunting a leak: connections held longer than that are logged as leaks, and are force-closed as well when `db.pool.reclaimLeaks` is true.
 
  */
 public class ConnectionUtil {
@@ -16,19 +16,49 @@ public class ConnectionUtil {
 	private static String url = "jdbc:h2:./h2/db;";
 	private static String username = "sa";
 	private static String password = "";
-	private static JdbcDataSource pool = new JdbcDataSource();
+	private static JdbcDataSource dataSource = new JdbcDataSource();
+	private static ConnectionPool sharedPool;
+
+	/** The pool this instance borrows from, which is the shared application pool unless another was given. */
+	private final ConnectionPool pool;
 
 	/**
 	 * static initialization block to establish credentials for DataSoure Pool
 	 */
 	static {
-		pool.setURL(url);
-		pool.setUser(username);
-		pool.setPassword(password);
+		dataSource.setURL(url);
+		dataSource.setUser(username);
+		dataSource.setPassword(password);
+		sharedPool = new ConnectionPool(dataSource,
+				Integer.getInteger("db.pool.minIdle", 2),
+				Integer.getInteger("db.pool.maxSize", 10),
+				Long.getLong("db.pool.borrowTimeoutMillis", 5000L),
+				Long.getLong("db.pool.idleTimeoutMillis", 300000L),
+				Integer.getInteger("db.pool.validationTimeoutSeconds", 2));
+		long leakThresholdMillis = Long.getLong("db.pool.leakThresholdMillis", 0L);
+		if (leakThresholdMillis > 0) {
+			sharedPool.enableLeakDetection(leakThresholdMillis, Boolean.getBoolean("db.pool.reclaimLeaks"));
+		}
+	}
+
+	/**
+	 * Creates a ConnectionUtil backed by the shared application pool.
+	 */
+	public ConnectionUtil() {
+		this(sharedPool);
+	}
+
+	/**
+	 * Creates a ConnectionUtil backed by another pool, for example one on a separate database for benchmarks.
+	 *
+	 * @param pool the pool to borrow connections from
+	 */
+	public ConnectionUtil(ConnectionPool pool) {
+		this.pool = pool;
 	}
 
 	/**
-	 * @return an active connection to the database
+	 * @return an active connection to the database. Closing it returns it to the pool.
 	 */
 	public Connection getConnection() {
 		try {
@@ -39,4 +69,11 @@ public class ConnectionUtil {
 
 		return null;
 	}
+
+	/**
+	 * @return a snapshot of the connection pool's counters, including the leak counts
+	 */
+	public PoolStats getPoolStats() {
+		return pool.getStats();
+	}
 }
@@ -0,0 +1,135 @@
+package com.revature.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The CountCache class remembers the results of COUNT(*) queries for paged searches, so that a client paging through the same search only pays for the count once. Entries are keyed by entity (the table being counted) and search term. A null term and an empty term count the same rows, so they share an entry.
+ *
+ * The cache holds at most a fixed number of entries, evicting the least recently used, and each entry expires after a fixed time as a safety net. DAOs call {@link #invalidate(String)} whenever they add or remove rows of an entity.
+ *
+ * A count that was started before an invalidation must not be stored after it, or the cache would keep a stale total. Callers therefore read {@link #generation()} before running the count query and pass it to {@link #put(String, String, int, long)}, which drops the value if an invalidation happened in between.
+ */
+public class CountCache {
+
+    /** A cached count and the time it was stored. */
+    private static class Entry {
+        private final String entity;
+        private final int count;
+        private final long storedAt;
+
+        private Entry(String entity, int count, long storedAt) {
+            this.entity = entity;
+            this.count = count;
+            this.storedAt = storedAt;
+        }
+    }
+
+    // fields
+
+    /** The maximum number of counts to keep. */
+    private final int maxEntries;
+    /** How long a count may be served, in milliseconds. */
+    private final long ttlMillis;
+    /** The cached counts in access order, so the eldest entry is the least recently used. */
+    private final LinkedHashMap<String, Entry> entries;
+    /** Incremented on every invalidation. Guarded by this. */
+    private long generation;
+    /** The number of lookups answered from the cache. Guarded by this. */
+    private long hits;
+    /** The number of lookups that had to run a count query. Guarded by this. */
+    private long misses;
+
+    public CountCache(int maxEntries, long ttlMillis) {
+        if (maxEntries < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Invalid count cache settings: maxEntries=" + maxEntries + ", ttlMillis=" + ttlMillis);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CountCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return the current generation, to be passed to {@link #put(String, String, int, long)}
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Looks up a cached count.
+     *
+     * @param entity the table being counted
+     * @param term the search term, or null for every row
+     * @return the cached count, or null if there is none or it has expired
+     */
+    public synchronized Integer get(String entity, String term) {
+        String key = key(entity, term);
+        Entry entry = entries.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.storedAt > ttlMillis) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.count;
+    }
+
+    /**
+     * Stores a count, unless the entity was invalidated after the count was started.
+     *
+     * @param entity the table that was counted
+     * @param term the search term, or null for every row
+     * @param count the number of matching rows
+     * @param startGeneration the value of {@link #generation()} read before the count query ran
+     */
+    public synchronized void put(String entity, String term, int count, long startGeneration) {
+        if (startGeneration == generation) {
+            entries.put(key(entity, term), new Entry(entity, count, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Drops every cached count for an entity. Call this after rows are added or removed.
+     *
+     * @param entity the table whose rows changed
+     */
+    public synchronized void invalidate(String entity) {
+        generation++;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().entity.equals(entity)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the number of lookups answered from the cache
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups that had to run a count query
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private static String key(String entity, String term) {
+        return entity + '\u0000' + (term == null ? "" : term);
+    }
+}
@@ -0,0 +1,125 @@
+package com.revature.util;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The CursorPage class represents one page of results read with keyset (cursor) pagination. Instead of a page number it carries an opaque nextCursor, which the client passes back as the "after" parameter to read the following page. The sort fields echo the {@link PageOptions} the page was read with. When there are no more results, nextCursor is null.
+ *
+ * @param <E> the type of elements in the page
+ */
+public class CursorPage<E> {
+
+    // fields
+
+    /** The maximum number of items per page. */
+    private int pageSize;
+    /** The field the results are sorted by. */
+    private String sortBy;
+    /** The direction the results are sorted in, either "asc" or "desc". */
+    private String sortDirection;
+    /** The cursor for the next page, or null if this is the last page. */
+    private String nextCursor;
+    /** The items on this page. */
+    private List<E> items;
+
+    // constructors
+    public CursorPage() {
+
+    }
+
+    public CursorPage(int pageSize, String sortBy, String sortDirection, String nextCursor, List<E> items) {
+        this.pageSize = pageSize;
+        this.sortBy = sortBy;
+        this.sortDirection = sortDirection;
+        this.nextCursor = nextCursor;
+        this.items = items;
+    }
+
+    // getters and setters
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public void setSortBy(String sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public String getSortDirection() {
+        return sortDirection;
+    }
+
+    public void setSortDirection(String sortDirection) {
+        this.sortDirection = sortDirection;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public List<E> getItems() {
+        return items;
+    }
+
+    public void setItems(List<E> items) {
+        this.items = items;
+    }
+
+    /**
+     * Returns a hash code value for the CursorPage object.
+     *
+     * @return the hash code value for this CursorPage
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(pageSize, sortBy, sortDirection, nextCursor, items);
+    }
+
+    /**
+     * Compares this CursorPage object to another object for equality.
+     *
+     * @param obj the object to compare with
+     * @return true if both pages have the same fields and items
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        CursorPage<?> page = (CursorPage<?>) obj;
+        return pageSize == page.pageSize &&
+               Objects.equals(sortBy, page.sortBy) &&
+               Objects.equals(sortDirection, page.sortDirection) &&
+               Objects.equals(nextCursor, page.nextCursor) &&
+               Objects.equals(items, page.items);
+    }
+
+    /**
+     * Returns a string representation of the CursorPage object.
+     *
+     * @return a string representation of the CursorPage object
+     */
+    @Override
+    public String toString() {
+        return "CursorPage{pageSize=" + pageSize +
+                ", sortBy='" + sortBy + '\'' +
+                ", sortDirection='" + sortDirection + '\'' +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", items=" + items + '}';
+    }
+}
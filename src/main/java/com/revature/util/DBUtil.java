@@ -1,46 +1,68 @@
 package com.revature.util;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Scanner;
+import java.sql.Statement;
 
 /**
-The DBUtil class is a utility designed to handle database setup and reset operations by reading SQL commands from a file and executing them. This can be useful in scenarios where you need to reinitialize the database with a specific schema and data set.
+The DBUtil class is a utility designed to handle database setup and reset operations. The schema is defined by the versioned scripts in `db/migration/`, which {@link MigrationRunner} applies. The demo data lives apart from them, in `db/dev/seed_data.sql`, so that it never reaches a production database.
 
-You do not need to edit this class.
+{@link #MIGRATE()} applies only the migrations the database has not seen yet and keeps existing data. {@link #RUN_SQL()} wipes the database and rebuilds it from scratch with the demo data, which is what tests and local development want; the application only does that when started with `-Ddb.reset=true` or the DB_RESET=true environment variable.
 
  */
 public class DBUtil {
-	
-	/** A mutable text object that will contain the contents of a file once initialized. */
-	private static StringBuilder sqlScript = new StringBuilder();
-	private static InputStream inputStream =  DBUtil.class.getResourceAsStream("/sqlScript.sql");
-	
 
 	/**
-	 * static initialization block to initialize the `sqlScript` field with the content within the `sqlScript.sql` file. Any lines starting with comment syntax are ignored.
+	 * This method brings the database schema up to date by applying any pending migrations. Existing data is kept.
 	 */
-	static {
-			Scanner sc = new Scanner(inputStream);
-			while (sc.hasNextLine()) {
-				String nextLine = sc.nextLine();
-				if (!nextLine.startsWith("--")) {
-					sqlScript.append(nextLine + " ");
-				}
-			}
-			sc.close();
+	public static void MIGRATE() {
+		new MigrationRunner(new ConnectionUtil()).migrate();
 	}
 
+	/** The classpath location of the demo data. */
+	private static final String SEED_DATA = "/db/dev/seed_data.sql";
+
 	/**
-	 * This method resets and re-initializes the database by first dropping all existing objects (tables, views, procedures, etc.) and then executing the SQL script with the `sqlScript.sql` file.
+	 * This method resets and re-initializes the database by first dropping all existing objects (tables, views, procedures, etc.), then applying every migration and finally inserting the demo data.
 	 */
 	public static void RUN_SQL() {
 		try(Connection conn = new ConnectionUtil().getConnection()) {
 			conn.prepareStatement("DROP ALL OBJECTS").executeUpdate();
-			conn.prepareStatement(sqlScript.toString()).executeUpdate();
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
+		MIGRATE();
+		SEED();
+	}
+
+	/**
+	 * This method inserts the demo data, statement by statement.
+	 */
+	private static void SEED() {
+		InputStream inputStream = DBUtil.class.getResourceAsStream(SEED_DATA);
+		if (inputStream == null) {
+			throw new IllegalStateException("Missing seed data: " + SEED_DATA);
+		}
+		try (SqlScriptReader reader = new SqlScriptReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+				Connection conn = new ConnectionUtil().getConnection();
+				Statement statement = conn.createStatement()) {
+			String sql;
+			while ((sql = reader.nextStatement()) != null) {
+				statement.execute(sql);
+			}
+		} catch (SQLException | IOException e) {
+			throw new RuntimeException("Unable to insert the seed data", e);
+		}
+	}
+
+	/**
+	 * @return true if the application was asked to reset the database on startup, through the `db.reset` system property or the DB_RESET environment variable
+	 */
+	public static boolean resetRequested() {
+		return Boolean.getBoolean("db.reset") || "true".equalsIgnoreCase(System.getenv("DB_RESET"));
 	}
-}
\ No newline at end of file
+}
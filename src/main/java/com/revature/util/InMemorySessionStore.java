@@ -0,0 +1,165 @@
+package com.revature.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.revature.model.Chef;
+
+/**
+ * The InMemorySessionStore class keeps sessions in a map in this process. It is safe for concurrent use by request threads: lookups are a single hash lookup and never lock.
+ *
+ * A session expires when it has not been used for the idle timeout (sliding expiry) or when it reaches the maximum lifetime, however busy it is (absolute expiry). Expired sessions are never returned. A background thread sweeps them out of the map at a fixed interval, so the cost of cleaning up is spread over time rather than paid by requests.
+ *
+ * The store holds at most a fixed number of sessions. When a new session would exceed the cap, the oldest sessions are evicted. Sessions are queued in creation order, so finding the oldest is constant time.
+ */
+public class InMemorySessionStore implements SessionStore {
+
+    /** A chef's session and its timestamps. */
+    private static final class Session {
+        private final String token;
+        private final Chef chef;
+        private final long createdAt;
+        private volatile long lastAccessedAt;
+
+        private Session(String token, Chef chef, long now) {
+            this.token = token;
+            this.chef = chef;
+            this.createdAt = now;
+            this.lastAccessedAt = now;
+        }
+    }
+
+    // fields
+
+    /** How long a session may go unused, in milliseconds. */
+    private final long idleTimeoutMillis;
+    /** How long a session may live at most, in milliseconds. */
+    private final long maxLifetimeMillis;
+    /** The maximum number of sessions to hold. */
+    private final int maxSessions;
+    /** The live sessions, keyed by token. */
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    /** Every session in creation order, oldest first. May still hold sessions that have since ended; those are skipped. */
+    private final ConcurrentLinkedQueue<Session> creationOrder = new ConcurrentLinkedQueue<>();
+    /** Removes expired sessions in the background. */
+    private final ScheduledExecutorService sweeper;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * Creates an InMemorySessionStore configured from the `session.idleTimeoutMillis` (default 30 minutes), `session.maxLifetimeMillis` (default 12 hours), `session.maxSessions` (default 10000) and `session.sweepIntervalMillis` (default 1 minute) system properties.
+     */
+    public InMemorySessionStore() {
+        this(Long.getLong("session.idleTimeoutMillis", 30 * 60 * 1000L),
+                Long.getLong("session.maxLifetimeMillis", 12 * 60 * 60 * 1000L),
+                Integer.getInteger("session.maxSessions", 10000),
+                Long.getLong("session.sweepIntervalMillis", 60 * 1000L));
+    }
+
+    public InMemorySessionStore(long idleTimeoutMillis, long maxLifetimeMillis, int maxSessions, long sweepIntervalMillis) {
+        if (idleTimeoutMillis < 1 || maxLifetimeMillis < 1 || maxSessions < 1 || sweepIntervalMillis < 1) {
+            throw new IllegalArgumentException("Invalid session store settings: idleTimeoutMillis=" + idleTimeoutMillis
+                    + ", maxLifetimeMillis=" + maxLifetimeMillis + ", maxSessions=" + maxSessions
+                    + ", sweepIntervalMillis=" + sweepIntervalMillis);
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.maxSessions = maxSessions;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts a session, evicting the oldest sessions if the store is full.
+     */
+    @Override
+    public void put(String token, Chef chef) {
+        Session session = new Session(token, chef, System.currentTimeMillis());
+        sessions.put(token, session);
+        creationOrder.add(session);
+        while (sessions.size() > maxSessions) {
+            Session oldest = creationOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            if (sessions.remove(oldest.token, oldest)) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public Chef get(String token) {
+        Session session = token == null ? null : sessions.get(token);
+        if (session == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (isExpired(session, now)) {
+            if (sessions.remove(token, session)) {
+                expirations.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        session.lastAccessedAt = now;
+        hits.incrementAndGet();
+        return session.chef;
+    }
+
+    @Override
+    public boolean remove(String token) {
+        return token != null && sessions.remove(token) != null;
+    }
+
+    /**
+     * Removes every expired session, and forgets ended sessions in the creation queue.
+     */
+    @Override
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        for (Session session : sessions.values()) {
+            if (isExpired(session, now) && sessions.remove(session.token, session)) {
+                expirations.incrementAndGet();
+            }
+        }
+        creationOrder.removeIf(session -> sessions.get(session.token) != session);
+    }
+
+    @Override
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * @return a snapshot of the store's counters: lookups that found a valid session (hits) or not (misses), sessions evicted for the cap and sessions that expired
+     */
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), expirations.get(), sessions.size(), maxSessions);
+    }
+
+    /**
+     * Stops the sweeper thread. The store can still be used, but expired sessions are then only removed when looked up.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private boolean isExpired(Session session, long now) {
+        return now - session.createdAt >= maxLifetimeMillis || now - session.lastAccessedAt >= idleTimeoutMillis;
+    }
+}
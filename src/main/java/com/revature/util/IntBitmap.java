@@ -0,0 +1,202 @@
+package com.revature.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The IntBitmap class is a compressed set of non-negative ints, for sets of ids that are combined with intersections and unions. Ids are grouped into 64-bit words, and only the words that hold at least one id are stored, as a sorted array of word numbers next to an array of the words themselves. A sparse set therefore costs about 12 bytes per id rather than one bit per possible id, while a dense run of ids costs one bit each.
+ *
+ * {@link #and(IntBitmap)} and {@link #or(IntBitmap)} merge the two word lists in one pass and combine 64 ids per instruction, so their cost follows the number of stored words, not the number of ids.
+ *
+ * An IntBitmap is not thread-safe. The results of and, or and {@link #copy()} are new bitmaps that share nothing with their inputs.
+ */
+public class IntBitmap {
+
+    /** The word number of each stored word, ascending. Only the first size entries are used. */
+    private int[] keys;
+    /** The stored words, matching keys. A stored word is never zero. */
+    private long[] words;
+    /** The number of stored words. */
+    private int size;
+
+    public IntBitmap() {
+        this(new int[4], new long[4], 0);
+    }
+
+    private IntBitmap(int[] keys, long[] words, int size) {
+        this.keys = keys;
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * @param values the ids to put in the set, in any order
+     * @return a bitmap holding the ids
+     */
+    public static IntBitmap of(int... values) {
+        IntBitmap bitmap = new IntBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds an id to the set.
+     *
+     * @throws IllegalArgumentException if the id is negative
+     */
+    public void add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values cannot be stored: " + value);
+        }
+        int key = value >>> 6;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                words = Arrays.copyOf(words, size * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(words, index, words, index + 1, size - index);
+            keys[index] = key;
+            words[index] = 0;
+            size++;
+        }
+        words[index] |= 1L << value;
+    }
+
+    /**
+     * Removes an id from the set, if it is there.
+     */
+    public void remove(int value) {
+        if (value < 0) {
+            return;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, value >>> 6);
+        if (index < 0) {
+            return;
+        }
+        words[index] &= ~(1L << value);
+        if (words[index] == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(words, index + 1, words, index, size - index - 1);
+            size--;
+        }
+    }
+
+    /**
+     * @return true if the id is in the set
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, value >>> 6);
+        return index >= 0 && (words[index] & (1L << value)) != 0;
+    }
+
+    /**
+     * @return true if the set holds no ids
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of ids in the set
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * @return a new bitmap holding the ids that are in both sets
+     */
+    public IntBitmap and(IntBitmap other) {
+        int capacity = Math.max(1, Math.min(size, other.size));
+        IntBitmap result = new IntBitmap(new int[capacity], new long[capacity], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                long word = words[i] & other.words[j];
+                if (word != 0) {
+                    result.keys[result.size] = keys[i];
+                    result.words[result.size++] = word;
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a new bitmap holding the ids that are in either set
+     */
+    public IntBitmap or(IntBitmap other) {
+        int capacity = Math.max(1, size + other.size);
+        IntBitmap result = new IntBitmap(new int[capacity], new long[capacity], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.keys[result.size] = keys[i];
+                result.words[result.size++] = words[i++];
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.keys[result.size] = other.keys[j];
+                result.words[result.size++] = other.words[j++];
+            } else {
+                result.keys[result.size] = keys[i];
+                result.words[result.size++] = words[i++] | other.words[j++];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a new bitmap holding the same ids
+     */
+    public IntBitmap copy() {
+        return new IntBitmap(Arrays.copyOf(keys, Math.max(1, size)), Arrays.copyOf(words, Math.max(1, size)), size);
+    }
+
+    /**
+     * Passes every id in the set to the action, in ascending order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            long word = words[i];
+            int base = keys[i] << 6;
+            while (word != 0) {
+                action.accept(base + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * @return the ids in the set, ascending
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] next = new int[1];
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "IntBitmap" + Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,168 @@
+package com.revature.util;
+
+import com.revature.util.collections.IntObjectMap;
+
+/**
+ * The IntLruCache class is an {@link LruCache} keyed by int ids, for the caches that sit in front of id lookups. Its entries are found through an {@link IntObjectMap} and kept in recency order on a linked list of their own, so a lookup never boxes the id. It has the same bounds, expiry, generation protocol and counters as LruCache.
+ *
+ * @param <V> the value type
+ */
+public class IntLruCache<V> {
+
+    /** A cached value, linked into the recency list. */
+    private static class Node<V> {
+        private final int key;
+        private final V value;
+        private final long storedAt;
+        private Node<V> newer;
+        private Node<V> older;
+
+        private Node(int key, V value, long storedAt) {
+            this.key = key;
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+
+    // fields
+
+    /** The maximum number of entries to keep. */
+    private final int maxEntries;
+    /** How long an entry may be served, in milliseconds. */
+    private final long ttlMillis;
+    /** The cached values by key. Guarded by this. */
+    private final IntObjectMap<Node<V>> entries = new IntObjectMap<>();
+    /** The ends of the recency list. The eldest entry is the least recently used. Guarded by this. */
+    private Node<V> newest;
+    private Node<V> eldest;
+    /** Incremented on every invalidation. Guarded by this. */
+    private long generation;
+    /** Counters reported by {@link #getStats()}. Guarded by this. */
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public IntLruCache(int maxEntries, long ttlMillis) {
+        if (maxEntries < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Invalid cache settings: maxEntries=" + maxEntries + ", ttlMillis=" + ttlMillis);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @return the current generation, to be passed to {@link #put(int, Object, long)}
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Looks up a cached value.
+     *
+     * @param key the key to look up
+     * @return the cached value, or null if there is none or it has expired
+     */
+    public synchronized V get(int key) {
+        Node<V> node = entries.get(key);
+        if (node != null && System.currentTimeMillis() - node.storedAt > ttlMillis) {
+            discard(node);
+            expirations++;
+            node = null;
+        }
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        unlink(node);
+        linkNewest(node);
+        hits++;
+        return node.value;
+    }
+
+    /**
+     * Stores a value, unless the cache was invalidated after the value was read.
+     *
+     * @param key the key to store the value under
+     * @param value the value to store; null is ignored
+     * @param startGeneration the value of {@link #generation()} read before the value was loaded
+     */
+    public synchronized void put(int key, V value, long startGeneration) {
+        if (value == null || startGeneration != generation) {
+            return;
+        }
+        Node<V> node = new Node<>(key, value, System.currentTimeMillis());
+        Node<V> previous = entries.put(key, node);
+        if (previous != null) {
+            unlink(previous);
+        }
+        linkNewest(node);
+        if (entries.size() > maxEntries) {
+            discard(eldest);
+            evictions++;
+        }
+    }
+
+    /**
+     * Drops the cached value for a key. Call this after the underlying row changes.
+     *
+     * @param key the key whose value changed
+     */
+    public synchronized void invalidate(int key) {
+        generation++;
+        Node<V> node = entries.get(key);
+        if (node != null) {
+            discard(node);
+        }
+    }
+
+    /**
+     * Drops every cached value.
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        newest = null;
+        eldest = null;
+    }
+
+    /**
+     * @return a snapshot of the cache's counters
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, expirations, entries.size(), maxEntries);
+    }
+
+    private void discard(Node<V> node) {
+        entries.remove(node.key);
+        unlink(node);
+    }
+
+    private void linkNewest(Node<V> node) {
+        node.older = newest;
+        node.newer = null;
+        if (newest != null) {
+            newest.newer = node;
+        }
+        newest = node;
+        if (eldest == null) {
+            eldest = node;
+        }
+    }
+
+    private void unlink(Node<V> node) {
+        if (node.newer != null) {
+            node.newer.older = node.older;
+        } else {
+            newest = node.older;
+        }
+        if (node.older != null) {
+            node.older.newer = node.newer;
+        } else {
+            eldest = node.newer;
+        }
+        node.newer = null;
+        node.older = null;
+    }
+}
@@ -4,7 +4,9 @@ import com.revature.controller.RecipeController;
 import io.javalin.Javalin;
 
 import com.revature.controller.AuthenticationController;
+import com.revature.controller.AutocompleteController;
 import com.revature.controller.IngredientController;
+import com.revature.service.AuthenticationService;
 
 
 /**
@@ -54,6 +56,11 @@ public class JavalinAppUtil {
     /**
      * Creates a Javalin instance, configures the routes for all controllers, 
      * and applies any necessary middleware, including admin middleware.
+     *
+     * The controllers share one {@link ResponseCache}, so the app holds at most
+     * `response.cache.maxBytes` of cached responses (4 MB by default). Bodies of
+     * at least `response.cache.minGzipBytes` (1500 by default) are also stored
+     * gzipped.
      *
 	 * (FOR REFERENCE) This method is part of the backend logic.
      * No modifications or implementations are required.
@@ -71,13 +78,19 @@ public class JavalinAppUtil {
         });
 
 
+        ResponseCache responseCache = new ResponseCache(Long.getLong("response.cache.maxBytes", 4L * 1024 * 1024),
+                Integer.getInteger("response.cache.minGzipBytes", 1500));
+
         // Configure routes for each controller
-        recipeController.configureRoutes(app);
+        recipeController.configureRoutes(app, responseCache);
         authenticationController.configureRoutes(app);
-        ingredientController.configureRoutes(app);
+        ingredientController.configureRoutes(app, responseCache);
+        new AutocompleteController(ingredientController.getIngredientService(), recipeController.getRecipeService())
+                .configureRoutes(app);
 
-        app.before("/recipes/*", new AdminMiddleware("DELETE"));
-        app.before("/ingredients/*", new AdminMiddleware("UPDATE", "CREATE", "DELETE"));
+        AuthenticationService authService = authenticationController.getAuthService();
+        app.before("/recipes/*", new AdminMiddleware(authService, "DELETE"));
+        app.before("/ingredients/*", new AdminMiddleware(authService, "UPDATE", "CREATE", "DELETE"));
 
         return app;
     }
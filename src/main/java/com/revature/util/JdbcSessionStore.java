@@ -0,0 +1,159 @@
+package com.revature.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.revature.dao.ChefSessionDAO;
+import com.revature.dao.ChefSessionDAO.StoredSession;
+import com.revature.model.Chef;
+
+/**
+ * The JdbcSessionStore class keeps sessions in the CHEF_SESSION table instead of in memory, so that they survive restarts and are shared by every app process using the same database (for example H2 in server mode). It has the same expiry rules as {@link InMemorySessionStore}.
+ *
+ * Logins and logouts are written through to the table. Lookups are served from a bounded local near-cache, and only go to the table when the token is not cached or its cached copy is older than the near-cache time to live. That check also records the access in the table, which is what keeps a busy session's idle timeout sliding on every node. The price is that a logout on another process is only seen here once the cached copy runs out, so the near-cache time to live should be short.
+ */
+public class JdbcSessionStore implements SessionStore {
+
+    // fields
+
+    /** The table the sessions are kept in. */
+    private final ChefSessionDAO chefSessionDAO;
+    /** How long a session may go unused, in milliseconds. */
+    private final long idleTimeoutMillis;
+    /** How long a session may live at most, in milliseconds. */
+    private final long maxLifetimeMillis;
+    /** Sessions recently read from or written to the table, keyed by token. */
+    private final LruCache<String, StoredSession> nearCache;
+    /** Deletes expired rows in the background. */
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Creates a JdbcSessionStore configured from the same system properties as {@link InMemorySessionStore#InMemorySessionStore()}, where `session.maxSessions` bounds the near-cache, plus `session.nearCacheTtlMillis` (default 5 seconds).
+     *
+     * @param chefSessionDAO the table to keep the sessions in
+     */
+    public JdbcSessionStore(ChefSessionDAO chefSessionDAO) {
+        this(chefSessionDAO,
+                Long.getLong("session.idleTimeoutMillis", 30 * 60 * 1000L),
+                Long.getLong("session.maxLifetimeMillis", 12 * 60 * 60 * 1000L),
+                Integer.getInteger("session.maxSessions", 10000),
+                Long.getLong("session.sweepIntervalMillis", 60 * 1000L),
+                Long.getLong("session.nearCacheTtlMillis", 5 * 1000L));
+    }
+
+    public JdbcSessionStore(ChefSessionDAO chefSessionDAO, long idleTimeoutMillis, long maxLifetimeMillis,
+            int maxCachedSessions, long sweepIntervalMillis, long nearCacheTtlMillis) {
+        if (idleTimeoutMillis < 1 || maxLifetimeMillis < 1 || maxCachedSessions < 1 || sweepIntervalMillis < 1) {
+            throw new IllegalArgumentException("Invalid session store settings: idleTimeoutMillis=" + idleTimeoutMillis
+                    + ", maxLifetimeMillis=" + maxLifetimeMillis + ", maxCachedSessions=" + maxCachedSessions
+                    + ", sweepIntervalMillis=" + sweepIntervalMillis);
+        }
+        this.chefSessionDAO = chefSessionDAO;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.nearCache = new LruCache<>(maxCachedSessions, nearCacheTtlMillis);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts a session, writing it to the table before caching it.
+     *
+     * @param token the session token
+     * @param chef the chef the session belongs to
+     */
+    @Override
+    public void put(String token, Chef chef) {
+        long startGeneration = nearCache.generation();
+        long now = System.currentTimeMillis();
+        chefSessionDAO.insert(token, chef.getId(), now);
+        nearCache.put(token, new StoredSession(chef, now, now), startGeneration);
+    }
+
+    /**
+     * Looks up a session in the near-cache, or in the table if it is not cached, and if it is still valid, extends its idle timeout.
+     *
+     * @param token the session token, may be null
+     * @return the chef the session belongs to, or null if there is no valid session for the token
+     */
+    @Override
+    public Chef get(String token) {
+        if (token == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        StoredSession cached = nearCache.get(token);
+        if (cached != null && !isExpired(cached, now)) {
+            return cached.getChef();
+        }
+
+        long startGeneration = nearCache.generation();
+        StoredSession stored = chefSessionDAO.find(token);
+        if (stored == null || isExpired(stored, now)) {
+            nearCache.invalidate(token);
+            return null;
+        }
+        chefSessionDAO.touch(token, now);
+        nearCache.put(token, new StoredSession(stored.getChef(), stored.getCreatedAt(), now), startGeneration);
+        return stored.getChef();
+    }
+
+    /**
+     * Ends a session on every process: at once on this one, and on the others when their cached copy runs out.
+     *
+     * @param token the session token, may be null
+     * @return true if there was a session for the token
+     */
+    @Override
+    public boolean remove(String token) {
+        if (token == null) {
+            return false;
+        }
+        nearCache.invalidate(token);
+        return chefSessionDAO.delete(token);
+    }
+
+    /**
+     * Deletes every expired session from the table.
+     */
+    @Override
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        try {
+            chefSessionDAO.deleteExpired(now - idleTimeoutMillis, now - maxLifetimeMillis);
+        } catch (RuntimeException e) {
+            // Expired rows are never returned anyway; try again on the next run
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return the number of sessions in the table, including expired ones that have not been swept yet
+     */
+    @Override
+    public int size() {
+        return chefSessionDAO.count();
+    }
+
+    /**
+     * @return a snapshot of the near-cache's counters: lookups answered from the cache (hits) or from the table (misses), and cached sessions evicted or expired
+     */
+    @Override
+    public CacheStats getStats() {
+        return nearCache.getStats();
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private boolean isExpired(StoredSession session, long now) {
+        return now - session.getCreatedAt() >= maxLifetimeMillis || now - session.getLastAccessedAt() >= idleTimeoutMillis;
+    }
+}
@@ -0,0 +1,128 @@
+package com.revature.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The LruCache class is a bounded, thread-safe map for read-through caches in front of the DAOs. It holds at most a fixed number of entries, evicting the least recently used, and each entry expires after a fixed time as a safety net. Null values are never stored, so a null from {@link #get(Object)} always means "not cached".
+ *
+ * A value that was read from the database before an invalidation must not be stored after it, or the cache would keep a stale row. Callers therefore read {@link #generation()} before running their query and pass it to {@link #put(Object, Object, long)}, which drops the value if an invalidation happened in between. This is the same protocol {@link CountCache} uses.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LruCache<K, V> {
+
+    /** A cached value and the time it was stored. */
+    private static class Entry<V> {
+        private final V value;
+        private final long storedAt;
+
+        private Entry(V value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+
+    // fields
+
+    /** The maximum number of entries to keep. */
+    private final int maxEntries;
+    /** How long an entry may be served, in milliseconds. */
+    private final long ttlMillis;
+    /** The cached values in access order, so the eldest entry is the least recently used. */
+    private final LinkedHashMap<K, Entry<V>> entries;
+    /** Incremented on every invalidation. Guarded by this. */
+    private long generation;
+    /** Counters reported by {@link #getStats()}. Guarded by this. */
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public LruCache(int maxEntries, long ttlMillis) {
+        if (maxEntries < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Invalid cache settings: maxEntries=" + maxEntries + ", ttlMillis=" + ttlMillis);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the current generation, to be passed to {@link #put(Object, Object, long)}
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Looks up a cached value.
+     *
+     * @param key the key to look up
+     * @return the cached value, or null if there is none or it has expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.storedAt > ttlMillis) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Stores a value, unless the cache was invalidated after the value was read.
+     *
+     * @param key the key to store the value under
+     * @param value the value to store; null is ignored
+     * @param startGeneration the value of {@link #generation()} read before the value was loaded
+     */
+    public synchronized void put(K key, V value, long startGeneration) {
+        if (value != null && startGeneration == generation) {
+            entries.put(key, new Entry<V>(value, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Drops the cached value for a key. Call this after the underlying row changes.
+     *
+     * @param key the key whose value changed
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    /**
+     * Drops every cached value.
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * @return a snapshot of the cache's counters
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, expirations, entries.size(), maxEntries);
+    }
+}
@@ -0,0 +1,239 @@
+package com.revature.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The MigrationRunner class brings the database schema up to date by applying numbered SQL scripts from the classpath. The scripts live in `db/migration/` and are listed, in order, in `db/migration/migrations.txt`. Each one is named `V<version>__<description>.sql`.
+ *
+ * A database built before migrations existed, by the old single-script reset, has the tables of V1 and the demo rows V2 used to insert, but no SCHEMA_VERSION rows. {@link #migrate(int)} recognizes it by its tables and records V1 and V2 as applied, without running them, before applying the rest.
+ *
+ * Applied versions are recorded in a SCHEMA_VERSION table, so each script runs exactly once per database. Scripts are split into statements while they are read (see {@link SqlScriptReader}), and each script runs in its own transaction along with its SCHEMA_VERSION row. Note that H2 commits DDL statements immediately, so a failed script can leave its earlier DDL applied; the version is not recorded in that case and the failure is reported.
+ */
+public class MigrationRunner {
+
+    /** The classpath directory holding the migration scripts. */
+    private static final String LOCATION = "/db/migration/";
+    /** The file listing the migration scripts in the order they must run. */
+    private static final String INDEX = LOCATION + "migrations.txt";
+    /** The pattern every migration script name must follow. */
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    /** The version a database built by the old single-script reset is at. */
+    private static final int BASELINE_VERSION = 2;
+    /** The tables the old single-script reset created, all of which a database must have to be baselined. */
+    private static final String[] BASELINE_TABLES = { "CHEF", "RECIPE", "INGREDIENT", "RECIPE_INGREDIENT" };
+
+    /** A migration script listed in the index. */
+    private static class Migration {
+        private final int version;
+        private final String description;
+        private final String script;
+
+        private Migration(int version, String description, String script) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+        }
+    }
+
+    // fields
+
+    /** A utility class used for establishing connections to the database. */
+    private final ConnectionUtil connectionUtil;
+
+    public MigrationRunner(ConnectionUtil connectionUtil) {
+        this.connectionUtil = connectionUtil;
+    }
+
+    /**
+     * Applies every migration newer than the database's current version.
+     *
+     * @return the number of migrations applied
+     * @throws RuntimeException if the index cannot be read or a migration fails
+     */
+    public int migrate() {
+        return migrate(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Applies every migration newer than the database's current version, up to and including a target version.
+     *
+     * @param targetVersion the newest version to apply
+     * @return the number of migrations applied
+     * @throws RuntimeException if the index cannot be read or a migration fails
+     */
+    public int migrate(int targetVersion) {
+        List<Migration> migrations = readIndex();
+        try (Connection connection = connectionUtil.getConnection()) {
+            createVersionTable(connection);
+            int current = currentVersion(connection);
+            if (current == 0 && hasBaselineTables(connection)) {
+                baseline(connection, migrations);
+                current = currentVersion(connection);
+            }
+            int applied = 0;
+            for (Migration migration : migrations) {
+                if (migration.version > current && migration.version <= targetVersion) {
+                    apply(connection, migration);
+                    applied++;
+                }
+            }
+            return applied;
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to migrate the database", e);
+        }
+    }
+
+    /**
+     * @return the version of the newest migration applied to the database, or 0 if none has been
+     */
+    public int currentVersion() {
+        try (Connection connection = connectionUtil.getConnection()) {
+            createVersionTable(connection);
+            return currentVersion(connection);
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to read the schema version", e);
+        }
+    }
+
+    private void createVersionTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS SCHEMA_VERSION (version INT PRIMARY KEY, "
+                    + "description VARCHAR(255) NOT NULL, script VARCHAR(255) NOT NULL, "
+                    + "installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP, execution_millis BIGINT NOT NULL)");
+        }
+    }
+
+    private int currentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(version), 0) FROM SCHEMA_VERSION")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private boolean hasBaselineTables(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ?")) {
+            for (String table : BASELINE_TABLES) {
+                statement.setString(1, table);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    if (resultSet.getInt(1) == 0) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Records the migrations up to {@link #BASELINE_VERSION} as applied, without running them, in one transaction.
+     */
+    private void baseline(Connection connection, List<Migration> migrations) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO SCHEMA_VERSION (version, description, script, execution_millis) VALUES (?, ?, ?, 0)")) {
+            for (Migration migration : migrations) {
+                if (migration.version <= BASELINE_VERSION) {
+                    insert.setInt(1, migration.version);
+                    insert.setString(2, migration.description.replace('_', ' ') + " (baseline)");
+                    insert.setString(3, migration.script);
+                    insert.executeUpdate();
+                }
+            }
+            connection.commit();
+            System.out.println("Recorded an existing schema as version " + BASELINE_VERSION);
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Runs one script statement by statement and records it, all in one transaction.
+     */
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long start = System.currentTimeMillis();
+        connection.setAutoCommit(false);
+        try (SqlScriptReader reader = open(migration.script); Statement statement = connection.createStatement()) {
+            String sql;
+            while ((sql = reader.nextStatement()) != null) {
+                statement.execute(sql);
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO SCHEMA_VERSION (version, description, script, execution_millis) VALUES (?, ?, ?, ?)")) {
+                insert.setInt(1, migration.version);
+                insert.setString(2, migration.description.replace('_', ' '));
+                insert.setString(3, migration.script);
+                insert.setLong(4, System.currentTimeMillis() - start);
+                insert.executeUpdate();
+            }
+            connection.commit();
+            System.out.println("Applied migration " + migration.script);
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw new RuntimeException("Migration " + migration.script + " failed", e);
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Reads the index, skipping blank lines and # comments, and checks that versions only go up.
+     */
+    private List<Migration> readIndex() {
+        List<Migration> migrations = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource(INDEX), StandardCharsets.UTF_8))) {
+            String line;
+            int previous = 0;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                Matcher matcher = SCRIPT_NAME.matcher(line);
+                if (!matcher.matches()) {
+                    throw new IllegalStateException("Invalid migration name: " + line);
+                }
+                int version = Integer.parseInt(matcher.group(1));
+                if (version <= previous) {
+                    throw new IllegalStateException("Migration " + line + " is out of order");
+                }
+                previous = version;
+                migrations.add(new Migration(version, matcher.group(2), line));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read " + INDEX, e);
+        }
+        return migrations;
+    }
+
+    private SqlScriptReader open(String script) {
+        return new SqlScriptReader(new InputStreamReader(resource(LOCATION + script), StandardCharsets.UTF_8));
+    }
+
+    private static InputStream resource(String path) {
+        InputStream inputStream = MigrationRunner.class.getResourceAsStream(path);
+        if (inputStream == null) {
+            throw new IllegalStateException("Missing migration resource: " + path);
+        }
+        return inputStream;
+    }
+}
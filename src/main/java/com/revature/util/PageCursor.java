@@ -0,0 +1,87 @@
+package com.revature.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The PageCursor class marks the position of the last row on a keyset-paginated page: the sort column, the sort direction, and the sort value and id of that row. The next page starts right after the row, so reading it costs the same no matter how deep the client has scrolled.
+ *
+ * Cursors are handed to clients as opaque URL-safe strings. Because the cursor carries its own sort order, a client only needs to send it back with a page size.
+ */
+public class PageCursor {
+
+    /** The prefix of every encoded cursor, so the format can change later. */
+    private static final String VERSION = "v1";
+
+    // fields
+
+    /** The lower-cased name of the field the results are sorted by. */
+    private final String sortBy;
+    /** Whether the results are sorted in descending order. */
+    private final boolean descending;
+    /** The sort value of the last row on the page, as text. */
+    private final String lastValue;
+    /** The id of the last row on the page, which breaks ties between equal sort values. */
+    private final int lastId;
+
+    public PageCursor(String sortBy, boolean descending, String lastValue, int lastId) {
+        this.sortBy = sortBy;
+        this.descending = descending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    // getters
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public String getLastValue() {
+        return lastValue;
+    }
+
+    public int getLastId() {
+        return lastId;
+    }
+
+    /**
+     * @return the sort direction in the form {@link PageOptions} expects
+     */
+    public String getSortDirection() {
+        return descending ? "desc" : "asc";
+    }
+
+    /**
+     * @return this cursor as an opaque, URL-safe string
+     */
+    public String encode() {
+        String raw = VERSION + "\n" + sortBy + "\n" + getSortDirection() + "\n" + lastId + "\n" + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a cursor previously produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor sent by the client
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 5);
+            if (parts.length != 5 || !parts[0].equals(VERSION)
+                    || !(parts[2].equals("asc") || parts[2].equals("desc"))) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new PageCursor(parts[1], parts[2].equals("desc"), parts[4], Integer.parseInt(parts[3]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 errors are IllegalArgumentExceptions too
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
@@ -8,6 +8,9 @@ package com.revature.util;
  */
 public class PageOptions {
 
+    /** The largest page size a query may ask for, set by the page.maxSize system property. */
+    public static final int MAX_PAGE_SIZE = Integer.getInteger("page.maxSize", 100);
+
     // fields
 
     /** The current page number. */
@@ -67,4 +70,32 @@ public class PageOptions {
     public void setSortDirection(String sortDirection) {
         this.sortDirection = sortDirection;
     }
+
+    /**
+     * @return the number of items that come before the current page
+     * @throws IllegalArgumentException if that number does not fit in an int
+     */
+    public int getOffset() {
+        long offset = Math.max(0L, ((long) pageNumber - 1) * pageSize);
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page " + pageNumber + " of size " + pageSize + " is out of range");
+        }
+        return (int) offset;
+    }
+
+    /**
+     * Interprets the sort direction. A missing direction means ascending.
+     *
+     * @return true if the results should be sorted in descending order
+     * @throws IllegalArgumentException if the direction is neither "asc" nor "desc"
+     */
+    public boolean isDescending() {
+        if (sortDirection == null || sortDirection.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (sortDirection.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported sort direction: " + sortDirection);
+    }
 }
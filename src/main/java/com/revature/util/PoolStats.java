@@ -0,0 +1,127 @@
+package com.revature.util;
+
+/**
+ * The PoolStats class is an immutable snapshot of a {@link ConnectionPool}'s counters, taken at the moment {@link ConnectionPool#getStats()} was called. It is intended for logging and monitoring, so every value is a plain number.
+ */
+public class PoolStats {
+
+    /** The number of connections currently borrowed. */
+    private final int active;
+    /** The number of open connections waiting in the pool. */
+    private final int idle;
+    /** The number of threads currently waiting for a connection. */
+    private final int waiters;
+    /** The maximum number of connections the pool will open. */
+    private final int maxSize;
+    /** The total number of successful borrows. */
+    private final long borrowCount;
+    /** The average time a successful borrow took, in nanoseconds. */
+    private final long averageBorrowNanos;
+    /** The longest time a successful borrow took, in nanoseconds. */
+    private final long maxBorrowNanos;
+    /** The number of borrows that gave up waiting. */
+    private final long timeouts;
+    /** The number of physical connections opened. */
+    private final long created;
+    /** The number of idle connections closed by the evictor. */
+    private final long evicted;
+    /** The number of borrowed connections held longer than the leak threshold. */
+    private final long leaksDetected;
+    /** The number of leaked connections that were force-closed. */
+    private final long leaksReclaimed;
+    /** The number of statements created through borrowed connections, roughly one per query. */
+    private final long statementsCreated;
+
+    public PoolStats(int active, int idle, int waiters, int maxSize, long borrowCount, long averageBorrowNanos,
+            long maxBorrowNanos, long timeouts, long created, long evicted, long leaksDetected, long leaksReclaimed,
+            long statementsCreated) {
+        this.active = active;
+        this.idle = idle;
+        this.waiters = waiters;
+        this.maxSize = maxSize;
+        this.borrowCount = borrowCount;
+        this.averageBorrowNanos = averageBorrowNanos;
+        this.maxBorrowNanos = maxBorrowNanos;
+        this.timeouts = timeouts;
+        this.created = created;
+        this.evicted = evicted;
+        this.leaksDetected = leaksDetected;
+        this.leaksReclaimed = leaksReclaimed;
+        this.statementsCreated = statementsCreated;
+    }
+
+    // getters
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getWaiters() {
+        return waiters;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public long getAverageBorrowNanos() {
+        return averageBorrowNanos;
+    }
+
+    public long getMaxBorrowNanos() {
+        return maxBorrowNanos;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getEvicted() {
+        return evicted;
+    }
+
+    public long getLeaksDetected() {
+        return leaksDetected;
+    }
+
+    public long getLeaksReclaimed() {
+        return leaksReclaimed;
+    }
+
+    public long getStatementsCreated() {
+        return statementsCreated;
+    }
+
+    /**
+     * Returns a string representation of the PoolStats object.
+     *
+     * @return a string representation of every counter in the snapshot
+     */
+    @Override
+    public String toString() {
+        return "PoolStats{active=" + active +
+                ", idle=" + idle +
+                ", waiters=" + waiters +
+                ", maxSize=" + maxSize +
+                ", borrowCount=" + borrowCount +
+                ", averageBorrowNanos=" + averageBorrowNanos +
+                ", maxBorrowNanos=" + maxBorrowNanos +
+                ", timeouts=" + timeouts +
+                ", created=" + created +
+                ", evicted=" + evicted +
+                ", leaksDetected=" + leaksDetected +
+                ", leaksReclaimed=" + leaksReclaimed +
+                ", statementsCreated=" + statementsCreated + '}';
+    }
+}
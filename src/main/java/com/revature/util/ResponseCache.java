@@ -0,0 +1,253 @@
+package com.revature.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+
+/**
+ * The ResponseCache class keeps the encoded bodies of read responses, so that a popular list page is serialized once rather than on every request. Each entry holds the JSON bytes exactly as the handler produced them and, for bodies large enough to be worth compressing, a gzipped copy. A hit writes the stored bytes straight to the response, skipping the handler, Jackson and the per-request gzip. The cache is bounded by the bytes it holds rather than by a number of entries, since one page of recipes can be a hundred times the size of another, and evicts the least recently used entry.
+ *
+ * Entries are keyed by the route's resource, its path and its query parameters, sorted by name so that the order they were written in does not matter. Every entry records the version of the data it was built from, such as a {@link ChangeCounter}'s, and is served only while that is still the current version, so a write to the owning table makes every entry built before it unreachable at once. The first lookup that sees the new version also drops the resource's stale entries to give their bytes back. As with the generation protocol of {@link LruCache}, the version is read before the handler runs, and a response is not stored if the version moved while it was being built.
+ */
+public class ResponseCache {
+
+    /** A stored response and the version of the data it was built from. */
+    private static class Entry {
+        private final String resource;
+        private final String version;
+        private final String contentType;
+        private final byte[] body;
+        /** The body gzipped, or null if it is too small to be worth compressing. */
+        private final byte[] gzipped;
+        /** What the entry costs against the budget. */
+        private final long bytes;
+
+        private Entry(String key, String resource, String version, String contentType, byte[] body, byte[] gzipped) {
+            this.resource = resource;
+            this.version = version;
+            this.contentType = contentType;
+            this.body = body;
+            this.gzipped = gzipped;
+            // Keys are counted too, since a long query string is held for as long as its entry
+            this.bytes = ENTRY_OVERHEAD + 2L * key.length() + body.length + (gzipped == null ? 0 : gzipped.length);
+        }
+    }
+
+    /** A rough allowance for the entry's objects and its slot in the map. */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    // fields
+
+    /** The maximum number of bytes to hold. */
+    private final long maxBytes;
+    /** Bodies shorter than this are stored and served uncompressed. */
+    private final int minGzipBytes;
+    /** The stored responses in access order, so the eldest entry is the least recently used. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /** The latest version each resource was looked up at. Guarded by this. */
+    private final Map<String, String> versions = new HashMap<>();
+    /** Guarded by this. */
+    private long usedBytes;
+    /** Counters reported by {@link #getStats()}. Guarded by this. */
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxBytes the maximum number of bytes to hold
+     * @param minGzipBytes the smallest body to store a gzipped copy of
+     */
+    public ResponseCache(long maxBytes, int minGzipBytes) {
+        if (maxBytes < 1 || minGzipBytes < 0) {
+            throw new IllegalArgumentException("Invalid cache settings: maxBytes=" + maxBytes + ", minGzipBytes=" + minGzipBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.minGzipBytes = minGzipBytes;
+    }
+
+    /**
+     * Wraps a read handler so that its 200 responses are cached. Other responses pass through untouched.
+     *
+     * @param resource a name for the data the handler reads, shared by every route that reads it
+     * @param version reads the current version of that data, without querying
+     * @param handler the handler to wrap
+     * @return the caching handler
+     */
+    public Handler cached(String resource, Supplier<String> version, Handler handler) {
+        return ctx -> {
+            String current = version.get();
+            String key = resource + " " + key(ctx);
+            Entry entry = get(key, resource, current);
+            if (entry == null) {
+                handler.handle(ctx);
+                InputStream result = ctx.resultInputStream();
+                String contentType = ctx.res().getContentType();
+                if (ctx.statusCode() != 200 || result == null || contentType == null) {
+                    return;
+                }
+                byte[] body = result.readAllBytes();
+                entry = new Entry(key, resource, current, contentType, body, body.length >= minGzipBytes ? gzip(body) : null);
+                // Writes move the version only once the read paths show them, so a body built after the version was
+                // read is at least that current. If a write landed while the handler ran, the body may or may not
+                // include it, so it is served to this request but not stored.
+                if (current.equals(version.get())) {
+                    put(key, entry);
+                }
+            }
+            write(ctx, entry);
+        };
+    }
+
+    /**
+     * @return a snapshot of the cache's counters. The cache is bounded by bytes rather than entries, so maxEntries is
+     *         reported as Integer.MAX_VALUE; see {@link #getUsedBytes()}.
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, 0, entries.size(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the number of bytes the stored responses take up, out of the maximum given to the constructor
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    private synchronized Entry get(String key, String resource, String version) {
+        String seen = versions.put(resource, version);
+        if (seen != null && !seen.equals(version)) {
+            dropResource(resource);
+        }
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.version.equals(version)) {
+            if (entry != null) {
+                remove(key);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry;
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        if (entry.bytes > maxBytes) {
+            return;
+        }
+        remove(key);
+        entries.put(key, entry);
+        usedBytes += entry.bytes;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (usedBytes > maxBytes) {
+            usedBytes -= eldest.next().bytes;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /** The caller holds the lock. */
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            usedBytes -= removed.bytes;
+        }
+    }
+
+    /** The caller holds the lock. */
+    private void dropResource(String resource) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.resource.equals(resource)) {
+                usedBytes -= entry.bytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void write(Context ctx, Entry entry) {
+        ctx.contentType(entry.contentType);
+        if (entry.gzipped != null) {
+            ctx.header("Vary", "Accept-Encoding");
+            if (acceptsGzip(ctx.header("Accept-Encoding"))) {
+                // Javalin leaves a response alone once it has a Content-Encoding
+                ctx.header("Content-Encoding", "gzip");
+                ctx.result(entry.gzipped);
+                return;
+            }
+        }
+        ctx.result(entry.body);
+    }
+
+    /**
+     * @return the request's path followed by its query parameters sorted by name, each name and value URL-encoded
+     */
+    private static String key(Context ctx) {
+        StringBuilder key = new StringBuilder(ctx.path());
+        char separator = '?';
+        for (Map.Entry<String, List<String>> param : new TreeMap<>(ctx.queryParamMap()).entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator).append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+                        .append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param acceptEncoding the request's Accept-Encoding header, may be null
+     * @return true if the header accepts gzip with a nonzero quality, by name or, failing that, through "*"
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip")) {
+                return accepted;
+            } else if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
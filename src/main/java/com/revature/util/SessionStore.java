@@ -0,0 +1,56 @@
+package com.revature.util;
+
+import com.revature.model.Chef;
+
+/**
+ * The SessionStore interface maps session tokens to the chefs who own them. Implementations must be safe for concurrent use by request threads.
+ *
+ * A session expires when it has not been used for the idle timeout (sliding expiry) or when it reaches the maximum lifetime, however busy it is (absolute expiry). Expired sessions are never returned. Each implementation sweeps them out in the background until it is closed.
+ */
+public interface SessionStore extends AutoCloseable {
+
+    /**
+     * Starts a session.
+     *
+     * @param token the session token
+     * @param chef the chef the session belongs to
+     */
+    void put(String token, Chef chef);
+
+    /**
+     * Looks up a session and, if it is still valid, extends its idle timeout.
+     *
+     * @param token the session token, may be null
+     * @return the chef the session belongs to, or null if there is no valid session for the token
+     */
+    Chef get(String token);
+
+    /**
+     * Ends a session.
+     *
+     * @param token the session token, may be null
+     * @return true if there was a session for the token
+     */
+    boolean remove(String token);
+
+    /**
+     * Removes every expired session. This runs on the store's sweeper thread; it is part of the interface so that callers can force a sweep.
+     */
+    void sweep();
+
+    /**
+     * @return the number of sessions currently held, including expired ones that have not been swept yet
+     */
+    int size();
+
+    /**
+     * @return a snapshot of the store's counters
+     */
+    CacheStats getStats();
+
+    /**
+     * Stops the sweeper thread. The store can still be used, but expired sessions are then only removed when looked up.
+     */
+    @Override
+    void close();
+}
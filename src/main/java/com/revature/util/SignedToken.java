@@ -0,0 +1,56 @@
+package com.revature.util;
+
+/**
+ * The SignedToken class holds the claims carried inside a signed session token: who the chef is, whether they are an admin, when the token expires and a random id that identifies the token for revocation. {@link TokenSigner} turns claims into a token and back.
+ */
+public class SignedToken {
+
+    // fields
+
+    /** The random id of the token, used to revoke it. */
+    private final String tokenId;
+    /** The id of the chef the token was issued to. */
+    private final int chefId;
+    /** The username of the chef the token was issued to. */
+    private final String username;
+    /** Whether the chef was an admin when the token was issued. */
+    private final boolean admin;
+    /** When the token expires, in milliseconds since the epoch. */
+    private final long expiresAt;
+
+    public SignedToken(String tokenId, int chefId, String username, boolean admin, long expiresAt) {
+        this.tokenId = tokenId;
+        this.chefId = chefId;
+        this.username = username;
+        this.admin = admin;
+        this.expiresAt = expiresAt;
+    }
+
+    // getters
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public int getChefId() {
+        return chefId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return true if the token has expired at the given time
+     */
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
@@ -0,0 +1,121 @@
+package com.revature.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The SqlScriptReader class splits a SQL script into individual statements while reading it, so a script never has to be held in memory or sent to the database as one large statement.
+ *
+ * Statements end at a semicolon. Semicolons inside single-quoted strings or double-quoted identifiers do not end a statement. Line comments (--) and block comments are dropped.
+ */
+public class SqlScriptReader implements Closeable {
+
+    /** Marks that no character has been pushed back. */
+    private static final int NONE = -2;
+
+    // fields
+
+    /** The script being read. */
+    private final Reader reader;
+    /** A character read ahead and pushed back, or {@link #NONE}. */
+    private int pushedBack = NONE;
+
+    public SqlScriptReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    /**
+     * Reads the next statement from the script.
+     *
+     * @return the statement without its terminating semicolon, or null at the end of the script
+     * @throws IOException if the script cannot be read or ends inside a quoted string or comment
+     */
+    public String nextStatement() throws IOException {
+        StringBuilder statement = new StringBuilder();
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '\'' || c == '"') {
+                readQuoted(c, statement);
+            } else if (c == '-' && peek() == '-') {
+                skipLine();
+                statement.append('\n');
+            } else if (c == '/' && peek() == '*') {
+                read();
+                skipBlockComment();
+                statement.append(' ');
+            } else if (c == ';') {
+                String text = statement.toString().trim();
+                if (!text.isEmpty()) {
+                    return text;
+                }
+                statement.setLength(0);
+            } else {
+                statement.append((char) c);
+            }
+        }
+        String text = statement.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * Closes the underlying reader.
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Copies a quoted string or identifier. A doubled quote inside it is an escaped
+     * quote, and it is copied naturally as the end of one quoted run and the start
+     * of the next.
+     */
+    private void readQuoted(int quote, StringBuilder statement) throws IOException {
+        statement.append((char) quote);
+        int c;
+        while ((c = read()) != quote) {
+            if (c == -1) {
+                throw new IOException("Unterminated quoted text in SQL script");
+            }
+            statement.append((char) c);
+        }
+        statement.append((char) quote);
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && c != '\n');
+    }
+
+    private void skipBlockComment() throws IOException {
+        int previous = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (previous == '*' && c == '/') {
+                return;
+            }
+            previous = c;
+        }
+        throw new IOException("Unterminated block comment in SQL script");
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (pushedBack == NONE) {
+            pushedBack = reader.read();
+        }
+        return pushedBack;
+    }
+}
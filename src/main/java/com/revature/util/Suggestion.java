@@ -0,0 +1,65 @@
+package com.revature.util;
+
+import java.util.Objects;
+
+/**
+ * The Suggestion class is one autocomplete match: the id and name of an ingredient or recipe whose name starts with what the user has typed so far.
+ */
+public class Suggestion {
+
+    // fields
+
+    /** The id of the matching ingredient or recipe. */
+    private int id;
+    /** The name of the matching ingredient or recipe. */
+    private String name;
+
+    // constructors
+    public Suggestion() {
+
+    }
+
+    public Suggestion(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    // getters and setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        Suggestion other = (Suggestion) obj;
+        return id == other.id && Objects.equals(name, other.name);
+    }
+
+    @Override
+    public String toString() {
+        return "Suggestion{id=" + id + ", name=" + name + '}';
+    }
+}
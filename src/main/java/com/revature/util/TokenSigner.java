@@ -0,0 +1,97 @@
+package com.revature.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The TokenSigner class turns {@link SignedToken} claims into URL-safe token strings and back. A token is the encoded claims followed by a dot and an HMAC-SHA256 signature over them, so any node that knows the secret can check a token with no shared state and no database round trip.
+ *
+ * Mac instances are not thread-safe, so each thread keeps its own.
+ */
+public class TokenSigner {
+
+    /** The prefix of every encoded claim set, so the format can change later. */
+    private static final String VERSION = "v1";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    // fields
+
+    /** The signing key. */
+    private final SecretKeySpec key;
+    /** One Mac per thread, initialized with the key. */
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * @param secret the shared signing secret; at least 32 bytes
+     * @throws IllegalArgumentException if the secret is too short
+     */
+    public TokenSigner(byte[] secret) {
+        if (secret == null || secret.length < 32) {
+            throw new IllegalArgumentException("The token secret must be at least 32 bytes");
+        }
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    /**
+     * @return the claims as a signed, URL-safe token with no spaces
+     */
+    public String sign(SignedToken token) {
+        String raw = VERSION + "\n" + token.getTokenId() + "\n" + token.getChefId() + "\n" + token.isAdmin() + "\n"
+                + token.getExpiresAt() + "\n" + token.getUsername();
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        return payload + "." + signature(payload);
+    }
+
+    /**
+     * Checks a token's signature and reads its claims. Expiry is not checked here.
+     *
+     * @param token the token sent by the client, may be null
+     * @return the claims, or null if the token is malformed or its signature does not match
+     */
+    public SignedToken verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+        byte[] expected = signature(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 6);
+            if (parts.length != 6 || !parts[0].equals(VERSION)) {
+                return null;
+            }
+            return new SignedToken(parts[1], Integer.parseInt(parts[2]), parts[5], Boolean.parseBoolean(parts[3]),
+                    Long.parseLong(parts[4]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 errors are IllegalArgumentExceptions too
+            return null;
+        }
+    }
+
+    private String signature(String payload) {
+        byte[] digest = macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+}
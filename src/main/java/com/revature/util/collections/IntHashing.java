@@ -0,0 +1,60 @@
+package com.revature.util.collections;
+
+/**
+ * The IntHashing class holds the table arithmetic shared by the open-addressing collections in this package. Tables are power-of-two sized and probed linearly, so a key's home slot is its mixed hash masked to the table size.
+ */
+final class IntHashing {
+
+    /** The key that marks an empty slot. A real key equal to it is stored outside the table. */
+    static final int FREE = 0;
+
+    /** The most a table is filled before it doubles, as a fraction of its slots. */
+    private static final float LOAD_FACTOR = 0.6f;
+
+    /** The largest power of two an int array can hold. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private IntHashing() {
+    }
+
+    /**
+     * Spreads the bits of a key, so that ids that are consecutive or share their low bits do not crowd into
+     * neighbouring slots.
+     *
+     * @return the slot to start probing from, for a table of mask + 1 slots
+     */
+    static int slot(int key, int mask) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * @return the number of slots a table needs to hold the given number of keys without resizing
+     */
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        long needed = Math.max(4, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Too many keys for one table: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * @return the number of keys a table of the given size holds before it must grow
+     */
+    static int resizeAt(int capacity) {
+        return Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    /**
+     * Decides whether the entry in slot {@code candidate} may move back into the gap at {@code gap}, which it can
+     * only do if its home slot does not lie cyclically between the gap and the candidate. This is what lets removal
+     * close gaps instead of leaving tombstones behind.
+     */
+    static boolean canShift(int gap, int candidate, int home) {
+        return gap <= candidate ? home <= gap || home > candidate : home <= gap && home > candidate;
+    }
+}
@@ -0,0 +1,236 @@
+package com.revature.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * The IntIntMap class is a hash map from int keys to int values that boxes neither, for counters and lengths keyed by id. It uses the same open-addressing layout as {@link IntObjectMap}, with the values in an int array.
+ *
+ * An IntIntMap is not thread-safe.
+ */
+public class IntIntMap {
+
+    /**
+     * Receives the mappings of a map one at a time.
+     */
+    public interface Visitor {
+        void accept(int key, int value);
+    }
+
+    // fields
+
+    private int[] keys;
+    private int[] values;
+    /** Whether the key {@link IntHashing#FREE}, which cannot go in the table, has a mapping. */
+    private boolean hasFreeKey;
+    private int freeValue;
+    /** The number of mappings in the table, not counting the one for the free key. */
+    private int tableSize;
+    private int resizeAt;
+
+    public IntIntMap() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize the number of mappings the map should hold before it first has to grow
+     */
+    public IntIntMap(int expectedSize) {
+        allocate(IntHashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * @return the number of mappings
+     */
+    public int size() {
+        return tableSize + (hasFreeKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the value mapped to the key, or defaultValue if there is none
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == IntHashing.FREE) {
+            return hasFreeKey ? freeValue : defaultValue;
+        }
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    public boolean containsKey(int key) {
+        return key == IntHashing.FREE ? hasFreeKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous value.
+     */
+    public void put(int key, int value) {
+        int index = insertionIndex(key);
+        if (index < 0) {
+            freeValue = value;
+        } else {
+            values[index] = value;
+        }
+    }
+
+    /**
+     * Adds to the value mapped to the key, treating a missing mapping as zero.
+     *
+     * @return the new value
+     */
+    public int addTo(int key, int delta) {
+        int index = insertionIndex(key);
+        if (index < 0) {
+            return freeValue += delta;
+        }
+        return values[index] += delta;
+    }
+
+    /**
+     * Removes the key's mapping, if there is one.
+     *
+     * @return true if there was a mapping
+     */
+    public boolean remove(int key) {
+        if (key == IntHashing.FREE) {
+            boolean had = hasFreeKey;
+            hasFreeKey = false;
+            freeValue = 0;
+            return had;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+        closeGap(index);
+        tableSize--;
+        return true;
+    }
+
+    /**
+     * Removes every mapping, keeping the table's current size.
+     */
+    public void clear() {
+        Arrays.fill(keys, IntHashing.FREE);
+        hasFreeKey = false;
+        freeValue = 0;
+        tableSize = 0;
+    }
+
+    /**
+     * Passes every mapping to the visitor. The visitor must not modify the map.
+     */
+    public void forEach(Visitor visitor) {
+        if (hasFreeKey) {
+            visitor.accept(IntHashing.FREE, freeValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != IntHashing.FREE) {
+                visitor.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * @return a new map with the same mappings
+     */
+    public IntIntMap copy() {
+        IntIntMap copy = new IntIntMap(0);
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.hasFreeKey = hasFreeKey;
+        copy.freeValue = freeValue;
+        copy.tableSize = tableSize;
+        copy.resizeAt = resizeAt;
+        return copy;
+    }
+
+    /**
+     * Finds the key's slot, claiming an empty one with a zero value if the key is not there yet.
+     *
+     * @return the key's slot, or -1 for the free key
+     */
+    private int insertionIndex(int key) {
+        if (key == IntHashing.FREE) {
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                freeValue = 0;
+            }
+            return -1;
+        }
+        int mask = keys.length - 1;
+        int index = IntHashing.slot(key, mask);
+        while (keys[index] != IntHashing.FREE) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        if (tableSize + 1 > resizeAt) {
+            rehash(keys.length * 2);
+            return insertionIndex(key);
+        }
+        keys[index] = key;
+        values[index] = 0;
+        tableSize++;
+        return index;
+    }
+
+    /**
+     * @return the key's slot in the table, or -1 if it is not there
+     */
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = IntHashing.slot(key, mask);
+        while (keys[index] != IntHashing.FREE) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties a slot and moves back any later entry of the probe run that would otherwise become unreachable.
+     */
+    private void closeGap(int gap) {
+        int mask = keys.length - 1;
+        int index = (gap + 1) & mask;
+        while (keys[index] != IntHashing.FREE) {
+            if (IntHashing.canShift(gap, index, IntHashing.slot(keys[index], mask))) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = IntHashing.FREE;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        resizeAt = IntHashing.resizeAt(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != IntHashing.FREE) {
+                int index = IntHashing.slot(oldKeys[i], mask);
+                while (keys[index] != IntHashing.FREE) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
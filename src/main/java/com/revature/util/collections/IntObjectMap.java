@@ -0,0 +1,254 @@
+package com.revature.util.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * The IntObjectMap class is a hash map from int keys to objects that never boxes its keys. Keys and values live in two parallel arrays probed linearly, so a lookup hashes the int, reads the key array and compares ints, with no Integer to allocate or unwrap and no entry object per mapping. That makes it about half the size of a {@code HashMap<Integer, V>} with the same contents.
+ *
+ * Removal shifts later entries of the same probe run back into the gap rather than leaving a tombstone, so a map that sees many writes does not slow down. Null values are not allowed, so a null from {@link #get(int)} always means "no mapping". Iteration order is unspecified.
+ *
+ * An IntObjectMap is not thread-safe.
+ *
+ * @param <V> the value type
+ */
+public class IntObjectMap<V> {
+
+    /**
+     * Receives the mappings of a map one at a time.
+     */
+    public interface Visitor<V> {
+        void accept(int key, V value);
+    }
+
+    // fields
+
+    private int[] keys;
+    private Object[] values;
+    /** The value stored for the key {@link IntHashing#FREE}, which cannot go in the table, or null if there is none. */
+    private Object freeValue;
+    /** The number of mappings in the table, not counting the one for the free key. */
+    private int tableSize;
+    private int resizeAt;
+
+    public IntObjectMap() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize the number of mappings the map should hold before it first has to grow
+     */
+    public IntObjectMap(int expectedSize) {
+        allocate(IntHashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * @return the number of mappings
+     */
+    public int size() {
+        return tableSize + (freeValue == null ? 0 : 1);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the value mapped to the key, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == IntHashing.FREE) {
+            return (V) freeValue;
+        }
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous value.
+     *
+     * @return the previous value, or null if there was none
+     * @throws IllegalArgumentException if the value is null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values cannot be stored");
+        }
+        if (key == IntHashing.FREE) {
+            V previous = (V) freeValue;
+            freeValue = value;
+            return previous;
+        }
+        int mask = keys.length - 1;
+        int index = IntHashing.slot(key, mask);
+        while (keys[index] != IntHashing.FREE) {
+            if (keys[index] == key) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++tableSize > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * @return the value mapped to the key, after mapping it to a newly computed value if there was none
+     */
+    public V computeIfAbsent(int key, IntFunction<? extends V> compute) {
+        V value = get(key);
+        if (value == null) {
+            value = compute.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes the key's mapping, if there is one.
+     *
+     * @return the value that was mapped to the key, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == IntHashing.FREE) {
+            V previous = (V) freeValue;
+            freeValue = null;
+            return previous;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V previous = (V) values[index];
+        closeGap(index);
+        tableSize--;
+        return previous;
+    }
+
+    /**
+     * Removes every mapping, keeping the table's current size.
+     */
+    public void clear() {
+        Arrays.fill(keys, IntHashing.FREE);
+        Arrays.fill(values, null);
+        freeValue = null;
+        tableSize = 0;
+    }
+
+    /**
+     * Passes every mapping to the visitor. The visitor must not modify the map.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Visitor<? super V> visitor) {
+        if (freeValue != null) {
+            visitor.accept(IntHashing.FREE, (V) freeValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != IntHashing.FREE) {
+                visitor.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the keys, in no particular order
+     */
+    public int[] keys() {
+        int[] result = new int[size()];
+        int[] next = new int[1];
+        forEach((key, value) -> result[next[0]++] = key);
+        return result;
+    }
+
+    /**
+     * @return the values, in no particular order
+     */
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size());
+        forEach((key, value) -> result.add(value));
+        return result;
+    }
+
+    /**
+     * @return a new map with the same mappings; the values themselves are shared
+     */
+    public IntObjectMap<V> copy() {
+        IntObjectMap<V> copy = new IntObjectMap<>(0);
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.freeValue = freeValue;
+        copy.tableSize = tableSize;
+        copy.resizeAt = resizeAt;
+        return copy;
+    }
+
+    /**
+     * @return the key's slot in the table, or -1 if it is not there
+     */
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = IntHashing.slot(key, mask);
+        while (keys[index] != IntHashing.FREE) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties a slot and moves back any later entry of the probe run that would otherwise become unreachable.
+     */
+    private void closeGap(int gap) {
+        int mask = keys.length - 1;
+        int index = (gap + 1) & mask;
+        while (keys[index] != IntHashing.FREE) {
+            if (IntHashing.canShift(gap, index, IntHashing.slot(keys[index], mask))) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = IntHashing.FREE;
+        values[gap] = null;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        resizeAt = IntHashing.resizeAt(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != IntHashing.FREE) {
+                int index = IntHashing.slot(oldKeys[i], mask);
+                while (keys[index] != IntHashing.FREE) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.revature.util.collections;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The IntSet class is a hash set of ints that never boxes them, with the same open-addressing layout as {@link IntObjectMap}. It suits membership tests against a handful to a few thousand ids; for sets that are combined with intersections and unions, {@link com.revature.util.IntBitmap} is the better fit.
+ *
+ * An IntSet is not thread-safe.
+ */
+public class IntSet {
+
+    // fields
+
+    private int[] keys;
+    /** Whether {@link IntHashing#FREE}, which cannot go in the table, is in the set. */
+    private boolean hasFreeKey;
+    /** The number of values in the table, not counting the free key. */
+    private int tableSize;
+    private int resizeAt;
+
+    public IntSet() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize the number of values the set should hold before it first has to grow
+     */
+    public IntSet(int expectedSize) {
+        allocate(IntHashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * @param values the values to put in the set; repeats are allowed
+     * @return a set holding the values
+     */
+    public static IntSet of(int... values) {
+        IntSet set = new IntSet(values.length);
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    /**
+     * @return the number of values in the set
+     */
+    public int size() {
+        return tableSize + (hasFreeKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean contains(int value) {
+        if (value == IntHashing.FREE) {
+            return hasFreeKey;
+        }
+        int mask = keys.length - 1;
+        int index = IntHashing.slot(value, mask);
+        while (keys[index] != IntHashing.FREE) {
+            if (keys[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the value was not in the set already
+     */
+    public boolean add(int value) {
+        if (value == IntHashing.FREE) {
+            boolean added = !hasFreeKey;
+            hasFreeKey = true;
+            return added;
+        }
+        int mask = keys.length - 1;
+        int index = IntHashing.slot(value, mask);
+        while (keys[index] != IntHashing.FREE) {
+            if (keys[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = value;
+        if (++tableSize > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the value was in the set
+     */
+    public boolean remove(int value) {
+        if (value == IntHashing.FREE) {
+            boolean removed = hasFreeKey;
+            hasFreeKey = false;
+            return removed;
+        }
+        int mask = keys.length - 1;
+        int gap = IntHashing.slot(value, mask);
+        while (keys[gap] != value) {
+            if (keys[gap] == IntHashing.FREE) {
+                return false;
+            }
+            gap = (gap + 1) & mask;
+        }
+        // Move back any later value of the probe run that would otherwise become unreachable
+        int index = (gap + 1) & mask;
+        while (keys[index] != IntHashing.FREE) {
+            if (IntHashing.canShift(gap, index, IntHashing.slot(keys[index], mask))) {
+                keys[gap] = keys[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = IntHashing.FREE;
+        tableSize--;
+        return true;
+    }
+
+    /**
+     * Removes every value, keeping the table's current size.
+     */
+    public void clear() {
+        Arrays.fill(keys, IntHashing.FREE);
+        hasFreeKey = false;
+        tableSize = 0;
+    }
+
+    /**
+     * Passes every value to the action, in no particular order. The action must not modify the set.
+     */
+    public void forEach(IntConsumer action) {
+        if (hasFreeKey) {
+            action.accept(IntHashing.FREE);
+        }
+        for (int key : keys) {
+            if (key != IntHashing.FREE) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * @return the values, in no particular order
+     */
+    public int[] toArray() {
+        int[] result = new int[size()];
+        int[] next = new int[1];
+        forEach(value -> result[next[0]++] = value);
+        return result;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        resizeAt = IntHashing.resizeAt(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int key : oldKeys) {
+            if (key != IntHashing.FREE) {
+                int index = IntHashing.slot(key, mask);
+                while (keys[index] != IntHashing.FREE) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+            }
+        }
+    }
+}
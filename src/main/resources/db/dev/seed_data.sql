@@ -0,0 +1,62 @@
+-- Demo data for tests and local development. This is not a migration: DBUtil.RUN_SQL runs it
+-- after the migrations, and the application only does that when started with -Ddb.reset=true
+-- or DB_RESET=true. It includes an admin chef with a well-known password, so it must never run
+-- against a production database.
+--
+-- DO NOT EDIT ANY CODE BELOW THIS LINE!
+-- The below code inserts values into the tables defined in V1__create_tables.sql.
+
+-- Delete all records from all tables.
+DELETE FROM RECIPE_INGREDIENT;
+DELETE FROM RECIPE;
+DELETE FROM CHEF;
+DELETE FROM INGREDIENT;
+
+-- Resets the starting id value for each table.
+ALTER TABLE CHEF ALTER COLUMN id RESTART WITH 1;
+ALTER TABLE INGREDIENT ALTER COLUMN id RESTART WITH 1;
+ALTER TABLE RECIPE ALTER COLUMN id RESTART WITH 1;
+ALTER TABLE RECIPE_INGREDIENT ALTER COLUMN id RESTART WITH 1;
+
+-- populate tables
+INSERT INTO 
+CHEF 
+	(username, email, password, is_admin) 
+VALUES 
+	('JoeCool', 'snoopy@null.com', 'redbarron',false),
+	('CharlieBrown', 'goodgrief@peanuts.com', 'thegreatpumpkin', false),
+	('RevaBuddy', 'revature@revature.com', 'codelikeaboss', false),
+	('ChefTrevin', 'trevin@revature.com', 'trevature', true);
+
+INSERT INTO 
+RECIPE
+	(name, instructions, chef_id) 
+VALUES 
+	('carrot soup', 'Put carrot in water.  Boil.  Maybe salt.',1),
+	('potato soup', 'Put potato in water.  Boil.  Maybe salt.', 2),
+	('tomato soup', 'Put tomato in water.  Boil.  Maybe salt.', 2),
+	('lemon rice soup', 'Put lemon and rice in water.  Boil.  Maybe salt.', 4),
+	('stone soup', 'Put stone in water.  Boil.  Maybe salt.', 4);
+
+INSERT INTO
+INGREDIENT
+	(name)
+VALUES
+	('carrot'),
+	('potato'),
+	('tomato'),
+	('lemon'),
+	('rice'),
+	('stone');
+
+
+INSERT INTO
+RECIPE_INGREDIENT
+    (id, recipe_id, ingredient_id, vol, unit)
+VALUES
+    (default, 1, 1, 1, 'cups'),
+    (default, 2, 2, 2, 'cups'),
+    (default, 3, 3, 2, 'cups'),
+    (default, 4, 4, 1, 'Tbs'),
+    (default, 4, 5, 2, 'cups');
+
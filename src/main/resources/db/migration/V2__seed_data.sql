@@ -0,0 +1,4 @@
+-- This migration used to insert demo data, including an admin chef with a well-known password,
+-- into every new database. The demo data now lives in db/dev/seed_data.sql, which only runs on a
+-- reset for tests and local development. The version is kept so that databases which already
+-- recorded V2 and new ones agree on their history; it does nothing.
@@ -0,0 +1,11 @@
+-- Indexes for the join hot paths on RECIPE_INGREDIENT.
+--
+-- H2 already creates an index for every foreign key, so RECIPE_INGREDIENT.recipe_id,
+-- RECIPE_INGREDIENT.ingredient_id and RECIPE.chef_id can each be looked up on their own. These
+-- composite indexes add the second join column so that the pair can be answered from the index alone.
+--
+-- 1. (recipe_id, ingredient_id): looks up one ingredient of one recipe.
+-- 2. (ingredient_id, recipe_id): searchRecipesByIngredient maps the matching ingredients to recipe ids
+--    without reading the table rows.
+CREATE INDEX IF NOT EXISTS IDX_RECIPE_INGREDIENT_RECIPE ON RECIPE_INGREDIENT (recipe_id, ingredient_id);
+CREATE INDEX IF NOT EXISTS IDX_RECIPE_INGREDIENT_INGREDIENT ON RECIPE_INGREDIENT (ingredient_id, recipe_id);
@@ -0,0 +1,13 @@
+-- Create the Revoked Token Table:
+-- This table is the deny-list for signed session tokens. A signed token is valid on every node until it
+-- expires, so logging out records the token's id here and every node refreshes its copy of the list.
+--
+-- Fields:
+--      1. token_id: The random id carried inside the revoked token.
+--      2. expires_at: When the token would have expired. After that the row is no longer needed and is pruned.
+CREATE TABLE REVOKED_TOKEN (
+    token_id VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_REVOKED_TOKEN_EXPIRES_AT ON REVOKED_TOKEN (expires_at);
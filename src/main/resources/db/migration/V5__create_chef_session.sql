@@ -0,0 +1,19 @@
+-- Create the Chef Session Table:
+-- This table stores server-side login sessions when the JDBC session store is enabled, so that sessions
+-- survive restarts and can be shared by several app processes using the same database.
+--
+-- Fields:
+--      1. token: The session token handed to the client at login.
+--      2. chef_id: A foreign key that references the 'id' field from the Chef table. A chef's sessions are deleted with the chef.
+--      3. created_at: When the session started. Sessions end after a maximum lifetime however busy they are.
+--      4. last_accessed_at: When the session was last checked against this table. Sessions end after an idle timeout.
+CREATE TABLE CHEF_SESSION (
+    token VARCHAR(64) PRIMARY KEY,
+    chef_id INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    last_accessed_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (chef_id) REFERENCES CHEF(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IDX_CHEF_SESSION_LAST_ACCESSED_AT ON CHEF_SESSION (last_accessed_at);
+CREATE INDEX IDX_CHEF_SESSION_CREATED_AT ON CHEF_SESSION (created_at);
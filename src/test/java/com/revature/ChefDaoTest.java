@@ -3,6 +3,7 @@ package com.revature;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.List;
 
@@ -12,7 +13,10 @@ import org.junit.jupiter.api.Test;
 
 import com.revature.model.Chef;
 import com.revature.dao.ChefDAO;
+import com.revature.dao.DuplicateChefException;
 import com.revature.util.ConnectionUtil;
+import com.revature.util.Page;
+import com.revature.util.PageOptions;
 
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -21,6 +25,7 @@ import static org.mockito.Mockito.*;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
 
 import org.mockito.InjectMocks;
@@ -116,6 +121,52 @@ public class ChefDaoTest {
         verify(preparedStatement).setInt(1, 1);
     }
 
+    @Test
+    public void testGetChefByIdIsCachedUntilUpdated() throws Exception {
+        // Arrange
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt("id")).thenReturn(1);
+        when(resultSet.getString("username")).thenReturn("testChef");
+        when(resultSet.getString("email")).thenReturn("test@chef.com");
+        when(resultSet.getString("password")).thenReturn("password123");
+        when(resultSet.getBoolean("is_admin")).thenReturn(false);
+
+        // Act
+        chefDAO.getChefById(1).setUsername("changed by a caller");
+        Chef cached = chefDAO.getChefById(1);
+
+        // Assert
+        verify(preparedStatement, times(1)).executeQuery();
+        assertEquals("testChef", cached.getUsername(), () -> "Callers should not be able to change the cached chef");
+        assertEquals(1, chefDAO.getCacheStats().getHits());
+        assertEquals(1, chefDAO.getCacheStats().getMisses());
+
+        chefDAO.updateChef(testChef);
+        chefDAO.getChefById(1);
+        verify(preparedStatement, times(2)).executeQuery();
+    }
+
+    @Test
+    public void testGetChefByUsernameMatchesExactly() throws Exception {
+        // Arrange
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt("id")).thenReturn(1);
+        when(resultSet.getString("username")).thenReturn("testChef");
+        when(resultSet.getString("email")).thenReturn("test@chef.com");
+        when(resultSet.getString("password")).thenReturn("password123");
+        when(resultSet.getBoolean("is_admin")).thenReturn(false);
+
+        // Act
+        Chef chef = chefDAO.getChefByUsername("testChef");
+        chefDAO.getChefByUsername("testChef");
+
+        // Assert
+        assertEquals(testChef, chef);
+        verify(connection).prepareStatement("SELECT * FROM CHEF WHERE username = ?");
+        verify(preparedStatement).setString(1, "testChef");
+        verify(preparedStatement, times(1)).executeQuery();
+    }
+
     @Test
     public void testCreateChef() throws Exception {
         // Arrange
@@ -135,6 +186,19 @@ public class ChefDaoTest {
         verify(preparedStatement).setBoolean(4, testChef.isAdmin());
     }
 
+    @Test
+    public void testCreateChefWithTakenUsername() throws Exception {
+        // Arrange
+        when(preparedStatement.executeUpdate()).thenThrow(new SQLIntegrityConstraintViolationException(
+                "Unique index or primary key violation: \"PUBLIC.CONSTRAINT_INDEX_1 ON PUBLIC.CHEF(USERNAME NULLS FIRST)\""));
+
+        // Act
+        DuplicateChefException e = assertThrows(DuplicateChefException.class, () -> chefDAO.createChef(testChef));
+
+        // Assert
+        assertEquals("Username already exists", e.getMessage());
+    }
+
     @Test
     public void testUpdateChef() throws Exception {
         // Arrange
@@ -163,4 +227,24 @@ public class ChefDaoTest {
         verify(preparedStatement).setInt(1, testChef.getId());
         verify(preparedStatement).executeUpdate();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSearchChefsByTermPaged() throws Exception {
+        // Arrange
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt("id")).thenReturn(3);
+        when(resultSet.getString("username")).thenReturn("chef3");
+
+        // Act
+        Page<Chef> page = chefDAO.searchChefsByTerm("chef", new PageOptions(2, 2, "username", "desc"));
+
+        // Assert
+        verify(connection).prepareStatement(
+                "SELECT * FROM CHEF WHERE username LIKE ? ORDER BY username DESC, id DESC LIMIT ? OFFSET ?");
+        verify(preparedStatement).setString(1, "%chef%");
+        verify(preparedStatement).setInt(2, 2);
+        verify(preparedStatement).setInt(3, 2);
+        assertEquals(3, page.getTotalElements(), () -> "A short last page should not need a separate count");
+        assertEquals(2, page.getTotalPages());
+    }
+}
\ No newline at end of file
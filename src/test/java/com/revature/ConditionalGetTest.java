@@ -0,0 +1,57 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.ConditionalGet;
+
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+
+public class ConditionalGetTest {
+
+    @Test
+    void matchingTagSkipsTheHandler() throws Exception {
+        Handler handler = mock(Handler.class);
+        Context ctx = mock(Context.class);
+        when(ctx.header("If-None-Match")).thenReturn("\"other\", W/\"recipes-v7\"");
+
+        new ConditionalGet("recipes", () -> "v7", handler).handle(ctx);
+
+        verify(handler, never()).handle(ctx);
+        verify(ctx).status(304);
+        verify(ctx).header("ETag", "W/\"recipes-v7\"");
+    }
+
+    @Test
+    void staleTagRunsTheHandlerAndTagsTheResponse() throws Exception {
+        Handler handler = mock(Handler.class);
+        Context ctx = mock(Context.class);
+        when(ctx.header("If-None-Match")).thenReturn("\"recipes-v7\"");
+        when(ctx.statusCode()).thenReturn(200);
+
+        new ConditionalGet("recipes", () -> "v8", handler).handle(ctx);
+
+        verify(handler).handle(ctx);
+        verify(ctx, never()).status(304);
+        verify(ctx).header("ETag", "W/\"recipes-v8\"");
+        verify(ctx).header("Vary", "Accept-Encoding");
+        verify(ctx).header("Cache-Control", "no-cache");
+    }
+
+    @Test
+    void errorResponsesAreNotTagged() throws Exception {
+        Context ctx = mock(Context.class);
+        when(ctx.statusCode()).thenReturn(404);
+
+        new ConditionalGet("recipes", () -> "v1", mock(Handler.class)).handle(ctx);
+
+        verify(ctx, never()).header(eq("ETag"), anyString());
+        assertFalse(ConditionalGet.matches(null, "\"recipes-v1\""));
+        assertFalse(ConditionalGet.matches("*", "\"recipes-v1\""));
+        assertTrue(ConditionalGet.matches("\"recipes-v1\"", "\"recipes-v1\""));
+    }
+}
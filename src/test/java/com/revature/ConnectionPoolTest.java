@@ -0,0 +1,141 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.ConnectionPool;
+import com.revature.util.PoolStats;
+
+class ConnectionPoolTest {
+
+	private ConnectionPool pool;
+
+	@BeforeEach
+	void setUp() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1");
+		dataSource.setUser("sa");
+		pool = new ConnectionPool(dataSource, 0, 2, 100, 60000, 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.close();
+	}
+
+	@Test
+	void reusesPhysicalConnections() throws SQLException {
+		for (int i = 0; i < 5; i++) {
+			try (Connection connection = pool.getConnection()) {
+				connection.createStatement().execute("SELECT 1");
+			}
+		}
+		PoolStats stats = pool.getStats();
+		assertEquals(1, stats.getCreated(), () -> "Sequential borrows should share one physical connection");
+		assertEquals(5, stats.getBorrowCount());
+		assertEquals(0, stats.getActive());
+		assertEquals(1, stats.getIdle());
+	}
+
+	@Test
+	void opensMinIdleConnectionsUpFront() throws SQLException {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1");
+		dataSource.setUser("sa");
+		try (ConnectionPool warm = new ConnectionPool(dataSource, 2, 3, 100, 60000, 1)) {
+			assertEquals(2, warm.getStats().getCreated());
+			assertEquals(2, warm.getStats().getIdle());
+			try (Connection first = warm.getConnection(); Connection second = warm.getConnection()) {
+				assertEquals(2, warm.getStats().getCreated(), () -> "Borrows should use the connections opened up front");
+			}
+		}
+	}
+
+	@Test
+	void borrowTimesOutWhenPoolIsExhausted() throws SQLException {
+		Connection first = pool.getConnection();
+		Connection second = pool.getConnection();
+		assertEquals(2, pool.getStats().getActive());
+
+		assertThrows(SQLException.class, () -> pool.getConnection(), () -> "A third borrow should time out");
+		assertEquals(1, pool.getStats().getTimeouts());
+
+		first.close();
+		try (Connection third = pool.getConnection()) {
+			assertTrue(third.isValid(1), () -> "A returned connection should be lent out again");
+		}
+		second.close();
+	}
+
+	@Test
+	void discardsConnectionsThatFailValidation() throws SQLException {
+		try (Connection connection = pool.getConnection()) {
+			connection.unwrap(Connection.class).close();
+		}
+		try (Connection connection = pool.getConnection()) {
+			assertTrue(connection.isValid(1));
+		}
+		assertEquals(2, pool.getStats().getCreated(), () -> "A broken connection should be replaced");
+	}
+
+	@Test
+	void resetsTransactionStateOnReturn() throws SQLException {
+		try (Connection connection = pool.getConnection()) {
+			connection.setAutoCommit(false);
+		}
+		try (Connection connection = pool.getConnection()) {
+			assertTrue(connection.getAutoCommit(), () -> "Borrowers should always start in auto-commit mode");
+		}
+	}
+
+	@Test
+	void reportsConnectionsHeldPastTheLeakThreshold() throws Exception {
+		pool.enableLeakDetection(50, false);
+		Connection leaked = pool.getConnection();
+		Thread.sleep(400);
+
+		PoolStats stats = pool.getStats();
+		assertEquals(1, stats.getLeaksDetected(), () -> "A connection held past the threshold should be reported once");
+		assertEquals(0, stats.getLeaksReclaimed());
+		assertTrue(leaked.isValid(1), () -> "Detection alone should not take the connection away");
+		leaked.close();
+	}
+
+	@Test
+	void reclaimsLeakedConnections() throws Exception {
+		pool.enableLeakDetection(50, true);
+		Connection first = pool.getConnection();
+		Connection second = pool.getConnection();
+		Thread.sleep(400);
+
+		PoolStats stats = pool.getStats();
+		assertEquals(2, stats.getLeaksReclaimed());
+		assertEquals(0, stats.getActive());
+		assertTrue(first.isClosed(), () -> "A reclaimed handle should report itself closed");
+		assertThrows(SQLException.class, () -> second.createStatement());
+		try (Connection connection = pool.getConnection()) {
+			assertTrue(connection.isValid(1), () -> "Reclaimed slots should be available to new borrowers");
+		}
+		first.close();
+		assertEquals(0, pool.getStats().getActive(), () -> "Closing a reclaimed handle should not release it twice");
+	}
+
+	@Test
+	void closedHandleCannotBeUsed() throws SQLException {
+		Connection connection = pool.getConnection();
+		connection.close();
+		assertTrue(connection.isClosed());
+		assertThrows(SQLException.class, () -> connection.createStatement());
+		connection.close();
+		assertEquals(0, pool.getStats().getActive(), () -> "Closing twice should only return the connection once");
+	}
+}
@@ -0,0 +1,67 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.CountCache;
+
+public class CountCacheTest {
+
+    @Test
+    void nullAndEmptyTermsShareAnEntry() {
+        CountCache cache = new CountCache(8, 60000);
+        cache.put("RECIPE", null, 5, cache.generation());
+
+        assertEquals(5, cache.get("RECIPE", ""));
+        assertNull(cache.get("INGREDIENT", null), () -> "Counts should be kept per entity");
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void invalidateDropsOnlyThatEntity() {
+        CountCache cache = new CountCache(8, 60000);
+        cache.put("RECIPE", "soup", 3, cache.generation());
+        cache.put("INGREDIENT", "to", 2, cache.generation());
+
+        cache.invalidate("RECIPE");
+
+        assertNull(cache.get("RECIPE", "soup"));
+        assertEquals(2, cache.get("INGREDIENT", "to"));
+    }
+
+    @Test
+    void countStartedBeforeAnInvalidationIsNotStored() {
+        CountCache cache = new CountCache(8, 60000);
+        long generation = cache.generation();
+        cache.invalidate("RECIPE");
+
+        cache.put("RECIPE", "soup", 3, generation);
+
+        assertNull(cache.get("RECIPE", "soup"), () -> "A count that raced with a write would be stale");
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        CountCache cache = new CountCache(2, 60000);
+        cache.put("RECIPE", "a", 1, cache.generation());
+        cache.put("RECIPE", "b", 2, cache.generation());
+        cache.get("RECIPE", "a");
+        cache.put("RECIPE", "c", 3, cache.generation());
+
+        assertEquals(1, cache.get("RECIPE", "a"));
+        assertNull(cache.get("RECIPE", "b"));
+        assertEquals(3, cache.get("RECIPE", "c"));
+    }
+
+    @Test
+    void expiredEntryIsNotServed() throws InterruptedException {
+        CountCache cache = new CountCache(8, 20);
+        cache.put("RECIPE", "soup", 3, cache.generation());
+        Thread.sleep(50);
+
+        assertNull(cache.get("RECIPE", "soup"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.model.Chef;
+import com.revature.util.CacheStats;
+import com.revature.util.InMemorySessionStore;
+
+public class InMemorySessionStoreTest {
+
+    private static final Chef CHEF = new Chef(1, "JoeCool", "snoopy@null.com", "redbarron", false);
+
+    @Test
+    void evictsTheOldestSessionsPastTheCap() {
+        try (InMemorySessionStore store = new InMemorySessionStore(60000, 60000, 2, 60000)) {
+            store.put("a", CHEF);
+            store.put("b", CHEF);
+            store.remove("b");
+            store.put("c", CHEF);
+            store.put("d", CHEF);
+
+            assertNull(store.get("a"), () -> "The oldest session should be evicted");
+            assertNotNull(store.get("c"));
+            assertNotNull(store.get("d"));
+            CacheStats stats = store.getStats();
+            assertEquals(1, stats.getEvictions());
+            assertEquals(2, stats.getSize());
+        }
+    }
+
+    @Test
+    void useExtendsTheIdleTimeoutButNotTheLifetime() throws InterruptedException {
+        try (InMemorySessionStore store = new InMemorySessionStore(400, 1000, 10, 60000)) {
+            store.put("busy", CHEF);
+            store.put("idle", CHEF);
+            for (int i = 0; i < 4; i++) {
+                Thread.sleep(200);
+                assertNotNull(store.get("busy"), () -> "Use should keep the session alive");
+            }
+            assertNull(store.get("idle"), () -> "An unused session should expire");
+
+            Thread.sleep(300);
+            assertNull(store.get("busy"), () -> "A session should expire at its maximum lifetime");
+            assertEquals(2, store.getStats().getExpirations());
+        }
+    }
+
+    @Test
+    void sweeperRemovesExpiredSessions() throws InterruptedException {
+        try (InMemorySessionStore store = new InMemorySessionStore(50, 60000, 10, 20)) {
+            store.put("a", CHEF);
+            store.put("b", CHEF);
+            Thread.sleep(300);
+
+            assertEquals(0, store.size(), () -> "Expired sessions should be swept without being looked up");
+            assertEquals(2, store.getStats().getExpirations());
+        }
+    }
+}
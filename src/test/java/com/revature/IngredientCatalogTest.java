@@ -0,0 +1,80 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.dao.IngredientCatalog;
+import com.revature.model.Ingredient;
+
+public class IngredientCatalogTest {
+
+    private static final List<Ingredient> INGREDIENTS = List.of(new Ingredient(1, "carrot"), new Ingredient(2, "potato"),
+            new Ingredient(3, "tomato"), new Ingredient(4, "lemon"), new Ingredient(5, "rice"), new Ingredient(6, "stone"));
+
+    @Test
+    void searchesBySubstringAndPrefix() {
+        IngredientCatalog catalog = new IngredientCatalog();
+        catalog.load(INGREDIENTS, catalog.generation());
+        catalog.put(new Ingredient(7, "potato starch"));
+
+        assertEquals(List.of(2, 3, 6, 7), ids(catalog.search("to")));
+        assertEquals(List.of(2, 7), ids(catalog.searchPrefix("pot", 10)));
+        assertEquals(List.of(2), ids(catalog.searchPrefix("pot", 1)));
+        assertEquals(List.of(), ids(catalog.searchPrefix("zucchini", 10)));
+    }
+
+    @Test
+    void longerTermsAreAnsweredFromTheTrigramIndex() {
+        IngredientCatalog catalog = new IngredientCatalog();
+        catalog.load(INGREDIENTS, catalog.generation());
+        catalog.put(new Ingredient(7, "potato starch"));
+        catalog.put(new Ingredient(8, "tatotat"));
+
+        assertEquals(List.of(2, 3, 7, 8), ids(catalog.search("ato")));
+        assertEquals(List.of(2, 7), ids(catalog.search("potato")));
+        assertEquals(List.of(7), ids(catalog.search("o st")));
+        assertEquals(List.of(8), ids(catalog.search("tatotat")), () -> "Repeated trigrams should still match");
+        assertEquals(List.of(), ids(catalog.search("totato")),
+                () -> "Names that share every trigram but not the substring should not match");
+        assertEquals(List.of(), ids(catalog.search("Potato")), () -> "The search should stay case-sensitive");
+        assertEquals(List.of(), ids(catalog.search("zucchini")));
+
+        catalog.remove(2);
+        catalog.put(new Ingredient(3, "sweet potato"));
+        assertEquals(List.of(3, 7), ids(catalog.search("potato")), () -> "The index should follow every write");
+    }
+
+    @Test
+    void writesDoNotChangeWhatCallersAlreadyHold() {
+        IngredientCatalog catalog = new IngredientCatalog();
+        catalog.load(INGREDIENTS, catalog.generation());
+        List<Ingredient> before = catalog.getAll();
+
+        catalog.remove(1);
+        catalog.getById(2).setName("changed by a caller");
+
+        assertEquals(6, before.size());
+        assertNull(catalog.getById(1));
+        assertEquals("potato", catalog.getById(2).getName(), "Callers should get copies");
+    }
+
+    @Test
+    void loadReadBeforeAWriteIsRefused() {
+        IngredientCatalog catalog = new IngredientCatalog();
+        long generation = catalog.generation();
+        catalog.put(new Ingredient(7, "salt"));
+
+        assertFalse(catalog.load(INGREDIENTS, generation));
+        assertFalse(catalog.isLoaded());
+    }
+
+    private static List<Integer> ids(List<Ingredient> ingredients) {
+        return ingredients.stream().map(Ingredient::getId).collect(Collectors.toList());
+    }
+}
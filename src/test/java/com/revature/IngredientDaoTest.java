@@ -17,6 +17,8 @@ import com.revature.util.PageOptions;
 import static com.revature.utils.TestingUtils.assertCountDifference;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class IngredientDaoTest {
         private List<Ingredient> ingredientList = new ArrayList<>();
@@ -137,4 +139,55 @@ public class IngredientDaoTest {
                                 "The returned ingredients don't match the expected ingredients.");
         }
 
+        @Test
+        void pageBeyondTheFirstIsReadFromTheDatabaseTest() {
+                PageOptions pageOptions = new PageOptions(2, 4, "name", "desc");
+
+                Page<Ingredient> expectedIngredients = new Page<>(2, 4, 2, 6,
+                                Arrays.asList(ingredientList.get(3), ingredientList.get(0)));
+
+                Page<Ingredient> ingredients = ingredientDao.getAllIngredients(pageOptions);
+
+                assertEquals(expectedIngredients, ingredients,
+                                "The returned ingredients don't match the expected ingredients.");
+        }
+
+        @Test
+        void readsAreServedFromTheCatalogTest() {
+                ConnectionUtil connectionUtil = new ConnectionUtil();
+                IngredientDAO dao = new IngredientDAO(connectionUtil);
+                dao.loadCatalog();
+                int newId = dao.createIngredient(new Ingredient("tomatillo"));
+
+                long before = connectionUtil.getPoolStats().getStatementsCreated();
+                assertEquals(new Ingredient(newId, "tomatillo"), dao.getIngredientById(newId));
+                assertEquals(4, dao.searchIngredients("to").size(), "Created ingredients should be searchable at once");
+                assertEquals(7, dao.getAllIngredients().size());
+                assertEquals(before, connectionUtil.getPoolStats().getStatementsCreated(),
+                                "Catalog reads should not reach the database");
+        }
+
+        @Test
+        void pageWithUnknownSortColumnIsRejectedTest() {
+                PageOptions pageOptions = new PageOptions(1, 2, "name; DROP TABLE INGREDIENT", "ASC");
+
+                assertThrows(IllegalArgumentException.class, () -> ingredientDao.getAllIngredients(pageOptions));
+        }
+
+        @Test
+        void versionMovesOnlyOnceTheCatalogShowsTheWriteTest() {
+                String before = ingredientDao.getDataVersion();
+                List<String> seen = new ArrayList<>();
+                // Listeners run after the catalog is updated, so they see what a concurrent read would
+                ingredientDao.addUpdateListener(id -> {
+                        seen.add(ingredientDao.getIngredientById(id).getName());
+                        assertEquals(before, ingredientDao.getDataVersion(),
+                                        "The version should not move before every read path shows the write");
+                });
+
+                ingredientDao.updateIngredient(new Ingredient(1, "parsnip"));
+
+                assertEquals(List.of("parsnip"), seen);
+                assertNotEquals(before, ingredientDao.getDataVersion());
+        }
 }
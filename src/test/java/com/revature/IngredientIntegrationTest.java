@@ -1,20 +1,28 @@
 package com.revature;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.SQLException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.revature.controller.IngredientController;
 import com.revature.dao.IngredientDAO;
 import com.revature.service.IngredientService;
 import com.revature.util.ConnectionUtil;
 import com.revature.util.DBUtil;
+import com.revature.util.PageOptions;
 
 import io.javalin.Javalin;
 import io.javalin.testtools.JavalinTest;
+import okhttp3.Response;
 
 public class IngredientIntegrationTest {
     private Javalin app;
@@ -40,6 +48,28 @@ public class IngredientIntegrationTest {
         });
     }
 
+    @Test
+    void testConditionalGetIngredient() {
+        JavalinTest.test(app, (server, client) -> {
+            Response first = client.get("/ingredients/1");
+            String etag = first.header("ETag");
+            assertNotNull(etag);
+            assertEquals("no-cache", first.header("Cache-Control"));
+
+            Response unchanged = client.get("/ingredients/1", request -> request.header("If-None-Match", etag));
+            assertEquals(304, unchanged.code());
+            assertEquals("", unchanged.body().string());
+            assertEquals(304, client.get("/ingredients", request -> request.header("If-None-Match", etag)).code(),
+                    "Collection and item tags should both come from the table's change counter");
+
+            client.put("/ingredients/1", "{\"id\": 1, \"name\": \"parsnips\"}");
+            Response changed = client.get("/ingredients/1", request -> request.header("If-None-Match", etag));
+            assertEquals(200, changed.code());
+            assertEquals("{\"id\":1,\"name\":\"parsnips\"}", changed.body().string());
+            assertNull(client.get("/ingredients/100").header("ETag"), "Errors should not be tagged");
+        });
+    }
+
     @Test
     void testGetIngredientNotFound() {
         JavalinTest.test(app, (server, client) -> {
@@ -97,6 +127,23 @@ public class IngredientIntegrationTest {
         });
     }
 
+    @Test
+    void testPageIngredientsRejectsOverflowingOffset() {
+        JavalinTest.test(app, (server, client) -> {
+            assertEquals(400, client.get("/ingredients?page=30000000&pageSize=100").code());
+        });
+    }
+
+    @Test
+    void testPagesLargerThanTheMaximumAreRejected() {
+        int tooLarge = PageOptions.MAX_PAGE_SIZE + 1;
+        JavalinTest.test(app, (server, client) -> {
+            assertEquals(400, client.get("/ingredients?page=1&pageSize=" + tooLarge).code());
+            assertEquals(400, client.get("/ingredients?after=&pageSize=" + tooLarge).code());
+            assertEquals(200, client.get("/ingredients?after=&pageSize=" + PageOptions.MAX_PAGE_SIZE).code());
+        });
+    }
+
     @Test
     void testGetIngredientsByTerm() {
         JavalinTest.test(app, (server, client) -> {
@@ -119,4 +166,30 @@ public class IngredientIntegrationTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    void testCursorPageIngredients() {
+        JavalinTest.test(app, (server, client) -> {
+            ObjectMapper mapper = new ObjectMapper();
+            JsonNode first = mapper.readTree(client.get("/ingredients?after=&pageSize=4&sortBy=name").body().string());
+            assertEquals(
+                    "[{\"id\":1,\"name\":\"carrot\"},{\"id\":4,\"name\":\"lemon\"},{\"id\":2,\"name\":\"potato\"},{\"id\":5,\"name\":\"rice\"}]",
+                    first.get("items").toString());
+            assertTrue(first.get("nextCursor").isTextual(), () -> "A full page should carry a cursor for the next one");
+
+            JsonNode second = mapper.readTree(
+                    client.get("/ingredients?pageSize=4&after=" + first.get("nextCursor").asText()).body().string());
+            assertEquals("[{\"id\":6,\"name\":\"stone\"},{\"id\":3,\"name\":\"tomato\"}]",
+                    second.get("items").toString());
+            assertEquals("name", second.get("sortBy").asText(), () -> "The cursor should carry its sort order");
+            assertTrue(second.get("nextCursor").isNull(), () -> "The last page should not have a next cursor");
+        });
+    }
+
+    @Test
+    void testCursorPageRejectsInvalidCursor() {
+        JavalinTest.test(app, (server, client) -> {
+            assertEquals(400, client.get("/ingredients?after=not-a-cursor").code());
+        });
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.IntBitmap;
+
+public class IntBitmapTest {
+
+    @Test
+    void addsRemovesAndListsInOrder() {
+        IntBitmap bitmap = IntBitmap.of(1000000, 3, 64, 63, 3);
+
+        assertArrayEquals(new int[] { 3, 63, 64, 1000000 }, bitmap.toArray());
+        assertEquals(4, bitmap.cardinality());
+        assertTrue(bitmap.contains(64));
+        assertFalse(bitmap.contains(65));
+        assertFalse(bitmap.contains(-1));
+
+        bitmap.remove(64);
+        bitmap.remove(1000000);
+        bitmap.remove(5);
+        assertArrayEquals(new int[] { 3, 63 }, bitmap.toArray());
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    void andAndOrMatchBitSet() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            IntBitmap left = new IntBitmap();
+            IntBitmap right = new IntBitmap();
+            BitSet expectedLeft = new BitSet();
+            BitSet expectedRight = new BitSet();
+            for (int i = 0; i < 300; i++) {
+                int a = random.nextInt(5000);
+                int b = random.nextInt(5000);
+                left.add(a);
+                right.add(b);
+                expectedLeft.set(a);
+                expectedRight.set(b);
+            }
+            BitSet and = (BitSet) expectedLeft.clone();
+            and.and(expectedRight);
+            BitSet or = (BitSet) expectedLeft.clone();
+            or.or(expectedRight);
+
+            assertArrayEquals(and.stream().toArray(), left.and(right).toArray());
+            assertArrayEquals(or.stream().toArray(), left.or(right).toArray());
+            assertArrayEquals(expectedLeft.stream().toArray(), left.toArray(), () -> "Inputs should not change");
+        }
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        IntBitmap bitmap = IntBitmap.of(1, 2);
+        IntBitmap copy = bitmap.copy();
+        copy.add(3);
+        bitmap.remove(1);
+
+        assertArrayEquals(new int[] { 2 }, bitmap.toArray());
+        assertArrayEquals(new int[] { 1, 2, 3 }, copy.toArray());
+        assertTrue(new IntBitmap().and(copy).isEmpty());
+    }
+}
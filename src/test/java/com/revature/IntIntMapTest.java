@@ -0,0 +1,50 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.collections.IntIntMap;
+
+public class IntIntMapTest {
+
+    @Test
+    void countsAndRemovesLikeHashMap() {
+        Random random = new Random(11);
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(400) - 50;
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                assertEquals((int) expected.merge(key, 2, Integer::sum), map.addTo(key, 2));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = -50; key < 350; key++) {
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.getOrDefault(key, -1).intValue(), map.getOrDefault(key, -1));
+        }
+    }
+
+    @Test
+    void zeroIsAnOrdinaryKey() {
+        IntIntMap map = new IntIntMap();
+        assertFalse(map.containsKey(0));
+        map.put(0, 0);
+
+        assertTrue(map.containsKey(0));
+        assertEquals(1, map.size());
+        assertEquals(5, map.addTo(0, 5));
+        assertTrue(map.remove(0));
+        assertEquals(-1, map.getOrDefault(0, -1));
+    }
+}
@@ -0,0 +1,57 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.collections.IntObjectMap;
+
+public class IntObjectMapTest {
+
+    @Test
+    void matchesHashMapUnderRandomWrites() {
+        Random random = new Random(7);
+        IntObjectMap<String> map = new IntObjectMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            // A small key range keeps probe runs long and removals frequent, and includes 0 and negatives
+            int key = random.nextInt(600) - 100;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = -100; key < 500; key++) {
+            assertEquals(expected.get(key), map.get(key), "key " + key);
+        }
+        Map<Integer, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(0, "zero");
+        map.put(1, "one");
+        IntObjectMap<String> copy = map.copy();
+        copy.remove(0);
+        copy.put(2, "two");
+
+        assertEquals("zero", map.get(0));
+        assertNull(map.get(2));
+        assertEquals(2, copy.size());
+        assertEquals("one", copy.computeIfAbsent(1, key -> "other"));
+        assertThrows(IllegalArgumentException.class, () -> map.put(3, null));
+    }
+}
@@ -0,0 +1,37 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.collections.IntSet;
+
+public class IntSetTest {
+
+    @Test
+    void matchesHashSetUnderRandomWrites() {
+        Random random = new Random(3);
+        IntSet set = IntSet.of(0, 0, 5);
+        Set<Integer> expected = new HashSet<>(Arrays.asList(0, 5));
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(300) - 20;
+            if (random.nextBoolean()) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (int value = -20; value < 280; value++) {
+            assertEquals(expected.contains(value), set.contains(value), "value " + value);
+        }
+        assertEquals(expected, Arrays.stream(set.toArray()).boxed().collect(Collectors.toSet()));
+    }
+}
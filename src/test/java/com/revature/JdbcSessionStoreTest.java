@@ -0,0 +1,89 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.revature.dao.ChefSessionDAO;
+import com.revature.model.Chef;
+import com.revature.util.CacheStats;
+import com.revature.util.ConnectionUtil;
+import com.revature.util.DBUtil;
+import com.revature.util.JdbcSessionStore;
+
+public class JdbcSessionStoreTest {
+
+    private static final Chef CHEF = new Chef(1, "JoeCool", "snoopy@null.com", "redbarron", false);
+
+    private ChefSessionDAO chefSessionDAO;
+
+    @BeforeEach
+    void setUp() {
+        DBUtil.RUN_SQL();
+        chefSessionDAO = new ChefSessionDAO(new ConnectionUtil());
+    }
+
+    @Test
+    void sessionsSurviveARestart() {
+        try (JdbcSessionStore store = new JdbcSessionStore(chefSessionDAO, 60000, 60000, 10, 60000, 60000)) {
+            store.put("token", CHEF);
+        }
+        try (JdbcSessionStore restarted = new JdbcSessionStore(chefSessionDAO, 60000, 60000, 10, 60000, 60000)) {
+            Chef chef = restarted.get("token");
+
+            assertNotNull(chef);
+            assertEquals("JoeCool", chef.getUsername());
+            assertEquals(1, restarted.size());
+        }
+    }
+
+    @Test
+    void readsAreServedFromTheNearCache() {
+        try (JdbcSessionStore store = new JdbcSessionStore(chefSessionDAO, 60000, 60000, 10, 60000, 60000)) {
+            store.put("token", CHEF);
+            for (int i = 0; i < 3; i++) {
+                assertNotNull(store.get("token"));
+            }
+            assertNull(store.get("unknown"));
+            assertNull(store.get(null));
+
+            CacheStats stats = store.getStats();
+            assertEquals(3, stats.getHits(), () -> "A session started here should not be read back from the table");
+            assertEquals(1, stats.getMisses());
+        }
+    }
+
+    @Test
+    void logoutReachesOtherProcessesWhenTheirCachedCopyRunsOut() throws InterruptedException {
+        try (JdbcSessionStore first = new JdbcSessionStore(chefSessionDAO, 60000, 60000, 10, 60000, 200);
+                JdbcSessionStore second = new JdbcSessionStore(chefSessionDAO, 60000, 60000, 10, 60000, 200)) {
+            first.put("token", CHEF);
+            assertNotNull(second.get("token"), () -> "Sessions should be shared through the table");
+
+            assertTrue(first.remove("token"));
+            assertNull(first.get("token"), () -> "The process that logged out should end the session at once");
+            Thread.sleep(300);
+
+            assertNull(second.get("token"));
+            assertFalse(second.remove("token"));
+        }
+    }
+
+    @Test
+    void expiredSessionsAreRejectedAndSwept() throws InterruptedException {
+        try (JdbcSessionStore store = new JdbcSessionStore(chefSessionDAO, 200, 60000, 10, 60000, 60000)) {
+            store.put("idle", CHEF);
+            Thread.sleep(300);
+
+            assertNull(store.get("idle"));
+            assertEquals(1, store.size(), () -> "Expired rows stay until they are swept");
+            store.sweep();
+            assertEquals(0, store.size());
+        }
+    }
+}
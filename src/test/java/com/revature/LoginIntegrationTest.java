@@ -208,4 +208,21 @@ class LoginIntegrationTest {
 
 	}
 
-}
\ No newline at end of file
+	@Test
+	void testRegisterExistingUsername() throws IOException {
+		RequestBody chefBody = RequestBody.create(
+				"{\"username\": \"JoeCool\", \"password\": \"x\", \"email\": \"another@chefmail.com\"}",
+				MediaType.get("application/json; charset=utf-8"));
+		Request registerRequest = new Request.Builder().url(BASE_URL + "/register").post(chefBody).build();
+		Response registerResponse = client.newCall(registerRequest).execute();
+		assertEquals(409, registerResponse.code(), () -> "A taken username should be rejected");
+		assertEquals("Username already exists", registerResponse.body().string());
+
+		RequestBody partialLogin = RequestBody.create("{\"username\": \"Joe\", \"password\": \"redbarron\"}",
+				MediaType.get("application/json; charset=utf-8"));
+		Request loginRequest = new Request.Builder().url(BASE_URL + "/login").post(partialLogin).build();
+		assertEquals(401, client.newCall(loginRequest).execute().code(),
+				() -> "Login should only match the exact username");
+	}
+
+}
\ No newline at end of file
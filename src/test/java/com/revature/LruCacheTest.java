@@ -0,0 +1,49 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.CacheStats;
+import com.revature.util.LruCache;
+
+public class LruCacheTest {
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        LruCache<Integer, String> cache = new LruCache<>(2, 60000);
+        cache.put(1, "one", cache.generation());
+        cache.put(2, "two", cache.generation());
+        cache.get(1);
+        cache.put(3, "three", cache.generation());
+
+        assertEquals("one", cache.get(1));
+        assertNull(cache.get(2), () -> "The least recently used entry should be evicted");
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getEvictions());
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    void valueReadBeforeAnInvalidationIsNotStored() {
+        LruCache<Integer, String> cache = new LruCache<>(8, 60000);
+        long generation = cache.generation();
+        cache.invalidate(1);
+        cache.put(1, "stale", generation);
+
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    void expiredEntriesAreNotServed() throws InterruptedException {
+        LruCache<Integer, String> cache = new LruCache<>(8, 20);
+        cache.put(1, "one", cache.generation());
+        Thread.sleep(50);
+
+        assertNull(cache.get(1));
+        assertEquals(1, cache.getStats().getExpirations());
+    }
+}
@@ -0,0 +1,84 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.ConnectionUtil;
+import com.revature.util.DBUtil;
+import com.revature.util.MigrationRunner;
+
+public class MigrationRunnerTest {
+
+    private ConnectionUtil connectionUtil;
+
+    @BeforeEach
+    void setUp() {
+        DBUtil.RUN_SQL();
+        connectionUtil = new ConnectionUtil();
+    }
+
+    @Test
+    void resetAppliesEveryMigrationOnce() throws SQLException {
+        assertEquals(5, count("SELECT COUNT(*) FROM SCHEMA_VERSION"));
+        assertEquals(5, new MigrationRunner(connectionUtil).currentVersion());
+        assertEquals(2, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME LIKE 'IDX_RECIPE_INGREDIENT_%'"));
+        assertEquals(5, count("SELECT COUNT(*) FROM RECIPE"));
+    }
+
+    @Test
+    void migrateKeepsExistingData() throws SQLException {
+        try (Connection connection = connectionUtil.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO INGREDIENT (name) VALUES ('parsnip')");
+        }
+
+        assertEquals(0, new MigrationRunner(connectionUtil).migrate(), () -> "An up-to-date database has nothing to apply");
+        assertEquals(7, count("SELECT COUNT(*) FROM INGREDIENT"), () -> "Migrating must not wipe or re-seed data");
+    }
+
+    @Test
+    void migrateBaselinesADatabaseBuiltBeforeMigrations() throws SQLException {
+        // What the old single-script reset left behind: the tables and seed rows, without SCHEMA_VERSION
+        try (Connection connection = connectionUtil.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE SCHEMA_VERSION");
+            statement.execute("DROP TABLE CHEF_SESSION");
+            statement.execute("DROP TABLE REVOKED_TOKEN");
+            statement.execute("DROP INDEX IDX_RECIPE_INGREDIENT_RECIPE");
+            statement.execute("DROP INDEX IDX_RECIPE_INGREDIENT_INGREDIENT");
+        }
+
+        assertEquals(3, new MigrationRunner(connectionUtil).migrate(), () -> "Only the migrations after V2 should run");
+        assertEquals(5, new MigrationRunner(connectionUtil).currentVersion());
+        assertEquals(5, count("SELECT COUNT(*) FROM RECIPE"), () -> "Baselining must not wipe or re-seed data");
+        assertEquals(2, count("SELECT COUNT(*) FROM SCHEMA_VERSION WHERE description LIKE '%(baseline)'"));
+    }
+
+    @Test
+    void migratingAFreshDatabaseInsertsNoDemoData() throws SQLException {
+        try (Connection connection = connectionUtil.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+
+        assertEquals(5, new MigrationRunner(connectionUtil).migrate());
+        assertEquals(0, count("SELECT COUNT(*) FROM CHEF"), () -> "Demo chefs must only be inserted by a reset");
+        assertEquals(0, count("SELECT COUNT(*) FROM RECIPE"));
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Connection connection = connectionUtil.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
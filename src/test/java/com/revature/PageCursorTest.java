@@ -0,0 +1,33 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.PageCursor;
+
+public class PageCursorTest {
+
+    @Test
+    void encodedCursorRoundTrips() {
+        PageCursor cursor = new PageCursor("name", true, "tomato soup\nwith basil", 42);
+
+        String token = cursor.encode();
+        PageCursor decoded = PageCursor.decode(token);
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), () -> "Cursors should be safe to put in a URL: " + token);
+        assertEquals("name", decoded.getSortBy());
+        assertTrue(decoded.isDescending());
+        assertEquals("desc", decoded.getSortDirection());
+        assertEquals("tomato soup\nwith basil", decoded.getLastValue());
+        assertEquals(42, decoded.getLastId());
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("djEKbmFtZQphc2MKeAp0b21hdG8"));
+    }
+}
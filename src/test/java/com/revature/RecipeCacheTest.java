@@ -0,0 +1,88 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.dao.RecipeCache;
+import com.revature.model.Chef;
+import com.revature.model.Recipe;
+import com.revature.model.RecipeIngredient;
+
+public class RecipeCacheTest {
+
+    private static Recipe recipe(int id, int chefId, int... ingredientIds) {
+        Recipe recipe = new Recipe(id, "recipe " + id, "Boil.", new Chef(chefId, "chef" + chefId, "e", "p", false));
+        RecipeIngredient[] ingredients = new RecipeIngredient[ingredientIds.length];
+        for (int i = 0; i < ingredientIds.length; i++) {
+            ingredients[i] = new RecipeIngredient(ingredientIds[i], "ingredient " + ingredientIds[i], 1, "cups");
+        }
+        recipe.setIngredients(List.of(ingredients));
+        return recipe;
+    }
+
+    @Test
+    void changesToTheRecipeItsAuthorOrItsIngredientsMakeItStale() {
+        RecipeCache cache = new RecipeCache(16, 60000);
+        cache.put(recipe(1, 10, 100, 101), cache.stamp());
+        cache.put(recipe(2, 20, 200), cache.stamp());
+        cache.put(recipe(3, 30, 300), cache.stamp());
+
+        cache.chefChanged(10);
+        cache.ingredientChanged(200);
+        cache.recipeChanged(3);
+        cache.chefChanged(99);
+
+        assertNull(cache.get(1));
+        assertNull(cache.get(2));
+        assertNull(cache.get(3));
+        cache.put(recipe(1, 10, 100, 101), cache.stamp());
+        assertNotNull(cache.get(1), () -> "A recipe loaded after the change should be cached");
+    }
+
+    @Test
+    void loadThatRacedWithAWriteIsNotStored() {
+        RecipeCache cache = new RecipeCache(16, 60000);
+        long stamp = cache.stamp();
+        cache.ingredientChanged(101);
+        cache.put(recipe(1, 10, 100, 101), stamp);
+        cache.put(recipe(2, 20, 200), stamp);
+
+        assertNull(cache.get(1));
+        assertNotNull(cache.get(2), () -> "A change to an unrelated ingredient should not drop the recipe");
+    }
+
+    @Test
+    void returnsCopies() {
+        RecipeCache cache = new RecipeCache(16, 60000);
+        Recipe original = recipe(1, 10, 100);
+        cache.put(original, cache.stamp());
+        original.setName("changed");
+        Recipe first = cache.get(1);
+        first.getAuthor().setUsername("changed");
+
+        Recipe second = cache.get(1);
+        assertEquals("recipe 1", second.getName());
+        assertEquals("chef10", second.getAuthor().getUsername());
+        assertNotSame(first.getIngredients(), second.getIngredients());
+    }
+
+    @Test
+    void manyChangesResetTheCacheSafely() {
+        RecipeCache cache = new RecipeCache(4, 60000);
+        long stamp = cache.stamp();
+        cache.put(recipe(1, 10, 100), stamp);
+        for (int chef = 50; chef < 60; chef++) {
+            cache.chefChanged(chef);
+        }
+        cache.put(recipe(2, 20, 200), stamp);
+
+        assertNull(cache.get(1));
+        assertNull(cache.get(2), () -> "A stamp from before the reset should be refused");
+    }
+}
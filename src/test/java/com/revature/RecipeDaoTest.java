@@ -80,13 +80,17 @@ class RecipeDaoTest {
         when(resultSet.getString("name")).thenReturn(expectedRecipe.getName());
         when(resultSet.getString("instructions")).thenReturn(expectedRecipe.getInstructions());
         when(resultSet.getInt("chef_id")).thenReturn(expectedRecipe.getAuthor().getId());
-        when(chefDao.getChefById(anyInt())).thenReturn(expectedRecipe.getAuthor());
+        when(resultSet.getString("username")).thenReturn(expectedRecipe.getAuthor().getUsername());
+        when(resultSet.getString("email")).thenReturn(expectedRecipe.getAuthor().getEmail());
+        when(resultSet.getString("password")).thenReturn(expectedRecipe.getAuthor().getPassword());
 
         // Act
         Recipe actualRecipe = recipeDao.getRecipeById(1);
 
         // Assert
         assertEquals(expectedRecipe, actualRecipe);
+        assertEquals(expectedRecipe.getAuthor(), actualRecipe.getAuthor());
+        verify(chefDao, never()).getChefById(anyInt());
 
         verify(preparedStatement).setInt(1, 1);
     }
@@ -94,7 +98,7 @@ class RecipeDaoTest {
     @Test
     void getAllRecipes_Success() throws SQLException {
         // Arrange
-        String expectedSQL = "SELECT * FROM RECIPE ORDER BY id";
+        String expectedSQL = "SELECT r.id, r.name, r.instructions, r.chef_id, c.username, c.email, c.password, c.is_admin FROM RECIPE r LEFT JOIN CHEF c ON r.chef_id = c.id ORDER BY r.id";
         when(connectionUtil.getConnection()).thenReturn(connection); // Mock the connection
         when(connection.createStatement()).thenReturn(preparedStatement); // Mock the statement
         when(preparedStatement.executeQuery(expectedSQL)).thenReturn(resultSet); // Mock the query execution
@@ -110,15 +114,18 @@ class RecipeDaoTest {
                 .thenReturn("Put carrot in water. Boil. Maybe salt.",
                         "Put potato in water. Boil. Maybe salt.");
         when(resultSet.getInt("chef_id")).thenReturn(1, 2);
-
-        when(chefDao.getChefById(1)).thenReturn(chefList.get(0));
-        when(chefDao.getChefById(2)).thenReturn(chefList.get(1));
+        when(resultSet.getString("username")).thenReturn("JoeCool", "CharlieBrown");
+        when(resultSet.getString("email")).thenReturn("snoopy@null.com", "goodgrief@peanuts.com");
+        when(resultSet.getString("password")).thenReturn("redbarron", "thegreatpumpkin");
 
         // Act
         List<Recipe> actualRecipes = recipeDao.getAllRecipes();
 
         // Assert
         assertEquals(recipeList, actualRecipes);
+        assertEquals(chefList.get(0), actualRecipes.get(0).getAuthor());
+        assertEquals(chefList.get(1), actualRecipes.get(1).getAuthor());
+        verify(chefDao, never()).getChefById(anyInt()); // Authors come from the join, not one query per row
         verify(connection).createStatement(); // Verify the statement creation
         verify(preparedStatement).executeQuery(expectedSQL); // Verify the query execution
         verify(resultSet, times(3)).next(); // Verify result set navigation
@@ -224,4 +231,4 @@ class RecipeDaoTest {
         assertEquals(2, recipePage.getItems().size());
         assertEquals(2, recipePage.getPageSize());
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
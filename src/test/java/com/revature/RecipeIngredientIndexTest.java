@@ -0,0 +1,69 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.revature.dao.RecipeIngredientIndex;
+import com.revature.dao.RecipeIngredientIndex.Match;
+import com.revature.util.collections.IntObjectMap;
+
+public class RecipeIngredientIndexTest {
+
+    private RecipeIngredientIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecipeIngredientIndex();
+        IntObjectMap<int[]> rows = new IntObjectMap<>();
+        rows.put(1, new int[] { 1 });
+        rows.put(2, new int[] { 2, 7 });
+        rows.put(3, new int[] { 3, 7, 8 });
+        rows.put(4, new int[] { 4, 5, 7 });
+        index.load(rows, index.generation());
+    }
+
+    @Test
+    void matchesAllAnyOrWithMissingIngredients() {
+        assertEquals(List.of(2, 3, 4), index.search(new int[] { 7 }, Match.ALL, 0));
+        assertEquals(List.of(4), index.search(new int[] { 5, 7 }, Match.ALL, 0));
+        assertEquals(List.of(), index.search(new int[] { 5, 99 }, Match.ALL, 0),
+                () -> "An ingredient no recipe uses should leave nothing to intersect");
+        assertEquals(List.of(1, 4), index.search(new int[] { 5, 1, 99 }, Match.ANY, 0));
+
+        assertEquals(List.of(1, 2), index.search(new int[] { 1, 2, 7 }, Match.MISSING, 0),
+                () -> "Only recipes that need nothing else should be cookable");
+        assertEquals(List.of(1, 2, 3, 4), index.search(new int[] { 1, 2, 7 }, Match.MISSING, 2),
+                () -> "Recipes should be ordered by how many ingredients are missing");
+        assertEquals(List.of(2, 3), index.search(new int[] { 3, 2 }, Match.MISSING, 2));
+    }
+
+    @Test
+    void appliesWritesIncrementally() {
+        index.put(2, new int[] { 2 });
+        index.put(5, new int[] { 5, 5 });
+        index.remove(3);
+        index.removeIngredient(4);
+
+        assertEquals(List.of(4), index.search(new int[] { 7 }, Match.ALL, 0));
+        assertEquals(List.of(4, 5), index.search(new int[] { 5 }, Match.ALL, 0));
+        assertEquals(List.of(4, 5), index.search(new int[] { 5, 7 }, Match.MISSING, 0),
+                () -> "A deleted ingredient should no longer count as missing");
+    }
+
+    @Test
+    void refusesALoadThatRacedWithAWrite() {
+        RecipeIngredientIndex fresh = new RecipeIngredientIndex();
+        assertThrows(IllegalStateException.class, () -> fresh.search(new int[] { 1 }, Match.ANY, 0));
+
+        long generation = fresh.generation();
+        fresh.remove(1);
+        assertFalse(fresh.load(new IntObjectMap<>(), generation));
+        assertFalse(fresh.isLoaded());
+    }
+}
@@ -1,25 +1,34 @@
 package com.revature;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.revature.controller.AuthenticationController;
 import com.revature.controller.IngredientController;
 import com.revature.controller.RecipeController;
 import com.revature.model.Chef;
+import com.revature.model.Ingredient;
 import com.revature.model.Recipe;
+import com.revature.model.RecipeIngredient;
 import com.revature.dao.ChefDAO;
 import com.revature.dao.IngredientDAO;
 import com.revature.dao.RecipeDAO;
+import com.revature.dao.RecipeIngredientIndex;
 import com.revature.service.AuthenticationService;
 import com.revature.service.ChefService;
 import com.revature.service.IngredientService;
@@ -28,6 +37,7 @@ import com.revature.util.ConnectionUtil;
 import com.revature.util.DBUtil;
 import com.revature.util.JavalinAppUtil;
 import com.revature.util.Page;
+import com.revature.util.PageOptions;
 
 import io.javalin.Javalin;
 import io.javalin.json.JavalinJackson;
@@ -81,13 +91,13 @@ class RecipeIntegrationTest {
 		jsonRecipeList = new JavalinJackson().toJsonString(recipeList.toArray(), Recipe[].class);
 
 		chefDao = new ChefDAO(new ConnectionUtil());
+		ingredientDao = new IngredientDAO(new ConnectionUtil());
 		recipeDao = new RecipeDAO(chefDao, ingredientDao, new ConnectionUtil());
 		recipeService = new RecipeService(recipeDao);
 		chefService = new ChefService(chefDao);
 		authService = new AuthenticationService(chefService);
 		recipeController = new RecipeController(recipeService, authService);
 		authController = new AuthenticationController(chefService, authService);
-		ingredientDao = new IngredientDAO(new ConnectionUtil());
 		ingredientService = new IngredientService(ingredientDao);
 		ingredientController = new IngredientController(ingredientService);
 		appUtil = new JavalinAppUtil(recipeController, authController, ingredientController);
@@ -178,6 +188,27 @@ class RecipeIntegrationTest {
 
 	}
 
+	@Test
+	void testDeleteRecipeChecksTheRequestersRole() throws IOException {
+		RequestBody chefBody = RequestBody.create("{\"username\":\"JoeCool\",\"password\":\"redbarron\"}",
+				MediaType.get("application/json; charset=utf-8"));
+		Request loginRequest = new Request.Builder().url(BASE_URL + "/login").post(chefBody).build();
+		String nonAdminToken = client.newCall(loginRequest).execute().body().string();
+
+		Request nonAdminDelete = new Request.Builder().url(BASE_URL + "/recipes/3")
+				.addHeader("Authorization", "Bearer " + nonAdminToken).delete().build();
+		assertEquals(401, client.newCall(nonAdminDelete).execute().code(),
+				() -> "A non-admin should not delete recipes while an admin is also logged in");
+
+		Request adminDelete = new Request.Builder().url(BASE_URL + "/recipes/3")
+				.addHeader("Authorization", "Bearer " + token).delete().build();
+		assertEquals(200, client.newCall(adminDelete).execute().code());
+
+		Request noHeaderPost = new Request.Builder().url(BASE_URL + "/recipes")
+				.post(RequestBody.create("{}", MediaType.get("application/json; charset=utf-8"))).build();
+		assertEquals(401, client.newCall(noHeaderPost).execute().code());
+	}
+
 	@Test
 	void testFilteredPageOfRecipes() throws IOException {
 
@@ -193,4 +224,244 @@ class RecipeIntegrationTest {
 				"The single result should be returned");
 	}
 
-}
\ No newline at end of file
+	@Test
+	void testCursorPagesOfRecipes() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		List<Integer> ids = new ArrayList<>();
+		String url = BASE_URL + "/recipes?after=&pageSize=2&sortBy=chef_id&sortDirection=desc";
+		int pages = 0;
+		while (url != null) {
+			Request request = new Request.Builder().url(url).get().addHeader("Authorization", token).build();
+			JsonNode page = mapper.readTree(client.newCall(request).execute().body().string());
+			page.get("items").forEach(item -> ids.add(item.get("id").asInt()));
+			JsonNode nextCursor = page.get("nextCursor");
+			url = nextCursor.isNull() ? null : BASE_URL + "/recipes?pageSize=2&after=" + nextCursor.asText();
+			pages++;
+		}
+		assertEquals(List.of(5, 4, 3, 2, 1), ids, "Cursor pages should walk every recipe once, in order");
+		assertEquals(3, pages);
+	}
+
+	@Test
+	void testPagesLargerThanTheMaximumAreRejected() throws IOException {
+		int tooLarge = PageOptions.MAX_PAGE_SIZE + 1;
+		for (String query : List.of("after=&pageSize=" + tooLarge, "page=1&pageSize=" + tooLarge)) {
+			Request request = new Request.Builder().url(BASE_URL + "/recipes?" + query).get()
+					.addHeader("Authorization", token).build();
+			try (Response response = client.newCall(request).execute()) {
+				assertEquals(400, response.code(), query);
+			}
+		}
+	}
+
+	@Test
+	void testPageOfRecipesWithIngredients() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		Request request = new Request.Builder().url(BASE_URL + "/recipes?page=2&pageSize=2&include=ingredients").get()
+				.addHeader("Authorization", token).build();
+		JsonNode items = mapper.readTree(client.newCall(request).execute().body().string()).get("items");
+		assertEquals(1, items.get(0).get("ingredients").size());
+		assertEquals(2, items.get(1).get("ingredients").size(), "Recipe 4 should have both of its ingredients");
+		assertEquals("Tbs", items.get(1).get("ingredients").get(0).get("unit").asText());
+
+		Request plain = new Request.Builder().url(BASE_URL + "/recipes/4").get().addHeader("Authorization", token)
+				.build();
+		assertTrue(mapper.readTree(client.newCall(plain).execute().body().string()).get("ingredients").isNull(),
+				"Ingredients should only be loaded when asked for");
+	}
+	@Test
+	void testSearchRecipesByRelevance() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		Request request = new Request.Builder()
+				.url(BASE_URL + "/recipes?page=1&pageSize=2&term=lemon%20salt&sortBy=relevance").get()
+				.addHeader("Authorization", token).build();
+		JsonNode page = mapper.readTree(client.newCall(request).execute().body().string());
+		assertEquals(5, page.get("totalElements").asInt(), "Every recipe mentions salt in its instructions");
+		assertEquals(4, page.get("items").get(0).get("id").asInt(), "The lemon recipe should rank first");
+		assertEquals(2, page.get("items").size());
+
+		Recipe newRecipe = new Recipe(6, "fried fish", "fish, oil, stove", chefList.get(3));
+		RequestBody recipeBody = RequestBody.create(new JavalinJackson().toJsonString(newRecipe, Recipe.class),
+				MediaType.get("application/json; charset=utf-8"));
+		client.newCall(new Request.Builder().url(BASE_URL + "/recipes").addHeader("Authorization", "Bearer " + token)
+				.post(recipeBody).build()).execute().close();
+		Request fish = new Request.Builder().url(BASE_URL + "/recipes?page=1&pageSize=10&term=stove&sortBy=relevance")
+				.get().addHeader("Authorization", token).build();
+		JsonNode items = mapper.readTree(client.newCall(fish).execute().body().string()).get("items");
+		assertEquals(1, items.size(), "New recipes should be searchable at once");
+		assertEquals(6, items.get(0).get("id").asInt());
+
+		Request noTerm = new Request.Builder().url(BASE_URL + "/recipes?page=1&sortBy=relevance").get()
+				.addHeader("Authorization", token).build();
+		assertEquals(400, client.newCall(noTerm).execute().code());
+	}
+
+	@Test
+	void testAutocomplete() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		Request ingredients = new Request.Builder().url(BASE_URL + "/autocomplete?type=ingredient&prefix=to").get()
+				.build();
+		JsonNode suggestions = mapper.readTree(client.newCall(ingredients).execute().body().string());
+		assertEquals(1, suggestions.size());
+		assertEquals("tomato", suggestions.get(0).get("name").asText());
+
+		Request recipes = new Request.Builder().url(BASE_URL + "/autocomplete?type=recipe&prefix=&limit=2").get()
+				.build();
+		suggestions = mapper.readTree(client.newCall(recipes).execute().body().string());
+		assertEquals(2, suggestions.size());
+		assertEquals("carrot soup", suggestions.get(0).get("name").asText());
+		assertEquals(4, suggestions.get(1).get("id").asInt(), "Suggestions should be ordered by name");
+
+		Request badType = new Request.Builder().url(BASE_URL + "/autocomplete?type=chef&prefix=a").get().build();
+		assertEquals(400, client.newCall(badType).execute().code());
+		Request badLimit = new Request.Builder().url(BASE_URL + "/autocomplete?type=recipe&prefix=a&limit=0").get()
+				.build();
+		assertEquals(400, client.newCall(badLimit).execute().code());
+	}
+
+	@Test
+	void testSearchRecipesByIngredients() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		Request all = new Request.Builder().url(BASE_URL + "/recipes?ingredients=rice,4").get().build();
+		JsonNode recipes = mapper.readTree(client.newCall(all).execute().body().string());
+		assertEquals(1, recipes.size());
+		assertEquals("lemon rice soup", recipes.get(0).get("name").asText());
+
+		Request any = new Request.Builder().url(BASE_URL + "/recipes?ingredients=carrot,potato,saffron&match=any").get()
+				.build();
+		recipes = mapper.readTree(client.newCall(any).execute().body().string());
+		assertEquals(2, recipes.size());
+		assertEquals(1, recipes.get(0).get("id").asInt());
+		assertEquals(2, recipes.get(1).get("id").asInt());
+
+		Request missing = new Request.Builder().url(BASE_URL + "/recipes?ingredients=rice,tomato&match=missing&maxMissing=1")
+				.get().build();
+		recipes = mapper.readTree(client.newCall(missing).execute().body().string());
+		assertEquals(3, recipes.get(0).get("id").asInt(), "Recipes with nothing missing should come first");
+		assertEquals(4, recipes.get(1).get("id").asInt());
+
+		ingredientDao.deleteIngredient(ingredientDao.getIngredientById(4));
+		Request afterDelete = new Request.Builder().url(BASE_URL + "/recipes?ingredients=rice&match=missing").get()
+				.build();
+		recipes = mapper.readTree(client.newCall(afterDelete).execute().body().string());
+		assertEquals(4, recipes.get(0).get("id").asInt(), "Deleting lemon should leave rice as the only ingredient");
+
+		Request single = new Request.Builder().url(BASE_URL + "/recipes?ingredient=tom").get().build();
+		recipes = mapper.readTree(client.newCall(single).execute().body().string());
+		assertEquals(3, recipes.get(0).get("id").asInt(), "The ingredient parameter should search by ingredient");
+
+		Request badMatch = new Request.Builder().url(BASE_URL + "/recipes?ingredients=rice&match=some").get().build();
+		assertEquals(400, client.newCall(badMatch).execute().code());
+	}
+
+	@Test
+	void testConditionalGetRecipes() throws IOException {
+		Response first = client.newCall(new Request.Builder().url(BASE_URL + "/recipes").get().build()).execute();
+		String etag = first.header("ETag");
+		assertTrue(etag.startsWith("W/\""), "Gzipped and plain bodies share the tag, so it must be weak");
+		assertEquals("Accept-Encoding", first.header("Vary"));
+		first.close();
+		Request revalidate = new Request.Builder().url(BASE_URL + "/recipes").header("If-None-Match", etag).get()
+				.build();
+		try (Response unchanged = client.newCall(revalidate).execute()) {
+			assertEquals(304, unchanged.code());
+		}
+
+		Recipe newRecipe = new Recipe(0, "fried fish", "fish, oil, stove", chefList.get(3));
+		RequestBody body = RequestBody.create(new JavalinJackson().toJsonString(newRecipe, Recipe.class),
+				MediaType.get("application/json; charset=utf-8"));
+		client.newCall(new Request.Builder().url(BASE_URL + "/recipes").addHeader("Authorization", token).post(body)
+				.build()).execute().close();
+		try (Response changed = client.newCall(revalidate).execute()) {
+			assertEquals(200, changed.code(), "A new recipe should change the collection's tag");
+			assertTrue(changed.body().string().contains("fried fish"));
+		}
+	}
+
+	@Test
+	void testCachedRecipeIsNeverStale() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		Request get = new Request.Builder().url(BASE_URL + "/recipes/4?include=ingredients").get().build();
+		JsonNode recipe = mapper.readTree(client.newCall(get).execute().body().string());
+		assertEquals(2, recipe.get("ingredients").size());
+		assertEquals(recipe, mapper.readTree(client.newCall(get).execute().body().string()));
+		assertEquals(1, recipeDao.getCacheStats().getHits(), "The second read should come from the cache");
+
+		Recipe update = new Recipe(4, "lemon rice soup", "Simmer gently.", chefList.get(3));
+		RequestBody body = RequestBody.create(new JavalinJackson().toJsonString(update, Recipe.class),
+				MediaType.get("application/json; charset=utf-8"));
+		client.newCall(new Request.Builder().url(BASE_URL + "/recipes/4").addHeader("Authorization", token).put(body)
+				.build()).execute().close();
+		recipe = mapper.readTree(client.newCall(get).execute().body().string());
+		assertEquals("Simmer gently.", recipe.get("instructions").asText());
+
+		ingredientDao.updateIngredient(new Ingredient(5, "brown rice"));
+		recipe = mapper.readTree(client.newCall(get).execute().body().string());
+		assertEquals("brown rice", recipe.get("ingredients").get(0).get("name").asText(),
+				"Renaming an ingredient should reach recipes that were cached with it");
+
+		Chef author = chefDao.getChefById(recipe.get("author").get("id").asInt());
+		author.setUsername("RenamedChef");
+		chefDao.updateChef(author);
+		recipe = mapper.readTree(client.newCall(get).execute().body().string());
+		assertEquals("RenamedChef", recipe.get("author").get("username").asText());
+
+		Request plain = new Request.Builder().url(BASE_URL + "/recipes/4").get().build();
+		assertTrue(mapper.readTree(client.newCall(plain).execute().body().string()).get("ingredients").isNull(),
+				"Ingredients should only be returned when asked for");
+	}
+
+	@Test
+	void testCachedRecipePageIsNeverStale() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		Request get = new Request.Builder().url(BASE_URL + "/recipes?page=1&pageSize=5&sortBy=name").get().build();
+		Request reordered = new Request.Builder().url(BASE_URL + "/recipes?sortBy=name&pageSize=5&page=1").get()
+				.build();
+		JsonNode page = mapper.readTree(client.newCall(get).execute().body().string());
+		assertEquals(page, mapper.readTree(client.newCall(reordered).execute().body().string()),
+				"Query parameters in another order should read the same cached page");
+
+		Chef author = chefDao.getChefById(page.get("items").get(0).get("author").get("id").asInt());
+		author.setUsername("RenamedChef");
+		chefDao.updateChef(author);
+		page = mapper.readTree(client.newCall(get).execute().body().string());
+		assertEquals("RenamedChef", page.get("items").get(0).get("author").get("username").asText(),
+				"A change to a chef should reach the cached pages that show them");
+	}
+
+	@Test
+	void testVersionMovesOnlyOnceTheIndexesShowTheWrite() throws Exception {
+		int writes = 30;
+		long start = changeCount(recipeDao.getDataVersion());
+		List<String> failures = new CopyOnWriteArrayList<>();
+		AtomicBoolean done = new AtomicBoolean();
+		Thread reader = new Thread(() -> {
+			while (!done.get()) {
+				// Read the version first, as ConditionalGet and ResponseCache do
+				long created = changeCount(recipeDao.getDataVersion()) - start;
+				int byName = recipeDao.searchRecipesByRelevance("zucchini", new PageOptions(1, 100)).getTotalElements();
+				int byIngredient = recipeDao.searchRecipesByIngredients(List.of("1"), RecipeIngredientIndex.Match.ALL, 0)
+						.size() - 1;
+				if (byName < created || byIngredient < created) {
+					failures.add("version showed " + created + " writes, indexes " + byName + " and " + byIngredient);
+				}
+			}
+		});
+		reader.start();
+		for (int i = 0; i < writes; i++) {
+			Recipe recipe = new Recipe(0, "zucchini bake " + i, "Bake.", chefList.get(0));
+			recipe.setIngredients(List.of(new RecipeIngredient(1, "carrot", 1, "cup")));
+			recipeDao.createRecipe(recipe);
+		}
+		done.set(true);
+		reader.join();
+
+		assertEquals(List.of(), failures);
+		assertEquals(writes, changeCount(recipeDao.getDataVersion()) - start);
+	}
+
+	/** The number of writes a version counts, which follows the random epoch. */
+	private static long changeCount(String version) {
+		return Long.parseLong(version.substring(version.lastIndexOf('-') + 1));
+	}
+}
@@ -0,0 +1,220 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.revature.dao.ChefDAO;
+import com.revature.dao.IngredientDAO;
+import com.revature.dao.RecipeDAO;
+import com.revature.model.Chef;
+import com.revature.model.Recipe;
+import com.revature.model.RecipeIngredient;
+import com.revature.util.ConnectionUtil;
+import com.revature.util.DBUtil;
+import com.revature.util.Page;
+import com.revature.util.PageOptions;
+
+/**
+ * Counts the statements each recipe read issues against the pool, for a small
+ * and a large RECIPE table. Every read should cost the same number of queries
+ * no matter how many recipes it returns.
+ */
+class RecipeQueryCountTest {
+
+	/** The most ids RecipeDAO sends in one IN list. */
+	private static final int IN_LIST_SIZE = 500;
+
+	private ConnectionUtil connectionUtil;
+	private RecipeDAO recipeDao;
+
+	@BeforeEach
+	void setUp() {
+		DBUtil.RUN_SQL();
+		connectionUtil = new ConnectionUtil();
+		recipeDao = new RecipeDAO(new ChefDAO(connectionUtil), new IngredientDAO(connectionUtil), connectionUtil);
+	}
+
+	@Test
+	void recipeReadsUseOneQueryRegardlessOfRowCount() throws SQLException {
+		long smallAll = statementsFor(() -> recipeDao.getAllRecipes(), 5);
+		long smallTerm = statementsFor(() -> recipeDao.searchRecipesByTerm("soup"), 5);
+		long smallIngredient = statementsFor(() -> recipeDao.searchRecipesByIngredient("o"), 4);
+
+		addRecipes(200);
+
+		long largeAll = statementsFor(() -> recipeDao.getAllRecipes(), 205);
+		long largeTerm = statementsFor(() -> recipeDao.searchRecipesByTerm("soup"), 205);
+		long largeIngredient = statementsFor(() -> recipeDao.searchRecipesByIngredient("o"), 4);
+
+		assertEquals(1, smallAll);
+		assertEquals(1, smallTerm);
+		assertEquals(1, smallIngredient);
+		assertEquals(1, largeAll, () -> "getAllRecipes should not issue a query per recipe");
+		assertEquals(1, largeTerm, () -> "searchRecipesByTerm should not issue a query per recipe");
+		assertEquals(1, largeIngredient, () -> "searchRecipesByIngredient should not issue a query per recipe");
+		assertEquals(1, statementsFor(() -> {
+			Recipe recipe = recipeDao.getRecipeById(1);
+			return recipe == null ? List.of() : List.of(recipe);
+		}, 1), () -> "getRecipeById should read the author in the same query");
+
+		List<Recipe> all = recipeDao.getAllRecipes();
+		assertEquals((205 + IN_LIST_SIZE - 1) / IN_LIST_SIZE, statementsFor(() -> {
+			recipeDao.loadIngredients(all);
+			return all;
+		}, 205), () -> "loadIngredients should read up to " + IN_LIST_SIZE + " recipes' ingredients per query");
+		assertEquals(2, all.get(3).getIngredients().size());
+		assertEquals(0, all.get(204).getIngredients().size());
+	}
+
+	@Test
+	void ingredientsOfManyRecipesAreReadInBoundedChunks() throws SQLException {
+		addRecipes(1000);
+		List<Recipe> all = recipeDao.getAllRecipes();
+
+		long statements = statementsFor(() -> {
+			recipeDao.loadIngredients(all);
+			return all;
+		}, 1005);
+		assertEquals((1005 + IN_LIST_SIZE - 1) / IN_LIST_SIZE, statements,
+				() -> "loadIngredients should send at most " + IN_LIST_SIZE + " recipe ids per query");
+		assertEquals(2, all.get(3).getIngredients().size());
+		assertEquals(0, all.get(1004).getIngredients().size());
+	}
+
+	@Test
+	void laterPagesOfTheSameSearchReuseTheCount() throws SQLException {
+		addRecipes(20);
+		PageOptions secondPage = new PageOptions(2, 10, "id", "asc");
+
+		long firstPageStatements = pageStatementsFor(() -> recipeDao.searchRecipesByTerm("soup", new PageOptions(1, 10, "id", "asc")), 25);
+		long secondPageStatements = pageStatementsFor(() -> recipeDao.searchRecipesByTerm("soup", secondPage), 25);
+		assertEquals(2, firstPageStatements, () -> "The first page should run the page query and the count");
+		assertEquals(1, secondPageStatements, () -> "Later pages should reuse the cached count");
+
+		recipeDao.createRecipe(new Recipe(0, "fresh soup", "Boil.", new Chef(1, "JoeCool", "snoopy@null.com", "redbarron", false)));
+		assertEquals(2, pageStatementsFor(() -> recipeDao.searchRecipesByTerm("soup", secondPage), 26),
+				() -> "Creating a recipe should invalidate the cached count");
+	}
+
+	@Test
+	void recipeIngredientsAreSavedInOneBatch() throws SQLException {
+		int firstIngredient = addIngredients(30);
+		Chef chef = new Chef(1, "JoeCool", "snoopy@null.com", "redbarron", false);
+		List<RecipeIngredient> ingredients = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			ingredients.add(new RecipeIngredient(firstIngredient + i, null, i + 0.25, "cups"));
+		}
+		Recipe recipe = new Recipe(0, "big soup", "Boil.", chef);
+		recipe.setIngredients(ingredients);
+
+		long before = connectionUtil.getPoolStats().getStatementsCreated();
+		int id = recipeDao.createRecipe(recipe);
+		assertEquals(2, connectionUtil.getPoolStats().getStatementsCreated() - before,
+				() -> "The recipe row and all of its ingredients should take two statements");
+		assertEquals("29.25", storedIngredients(id).get(firstIngredient + 29));
+		assertEquals(30, storedIngredients(id).size());
+
+		recipe.setId(id);
+		ingredients.remove(0);
+		ingredients.set(0, new RecipeIngredient(firstIngredient + 1, null, 7.5, "cups"));
+		before = connectionUtil.getPoolStats().getStatementsCreated();
+		recipeDao.updateRecipe(recipe);
+		assertEquals(4, connectionUtil.getPoolStats().getStatementsCreated() - before,
+				() -> "An update should read the stored list once and batch each kind of change");
+		Map<Integer, String> stored = storedIngredients(id);
+		assertEquals(29, stored.size());
+		assertEquals("7.50", stored.get(firstIngredient + 1));
+		assertEquals("2.25", stored.get(firstIngredient + 2));
+
+		before = connectionUtil.getPoolStats().getStatementsCreated();
+		recipeDao.updateRecipe(recipe);
+		assertEquals(2, connectionUtil.getPoolStats().getStatementsCreated() - before,
+				() -> "An unchanged ingredient list should not be written again");
+	}
+
+	private long pageStatementsFor(Supplier<Page<Recipe>> read, int expectedTotal) {
+		long before = connectionUtil.getPoolStats().getStatementsCreated();
+		Page<Recipe> page = read.get();
+		long after = connectionUtil.getPoolStats().getStatementsCreated();
+		assertEquals(expectedTotal, page.getTotalElements());
+		assertEquals(3, page.getTotalPages());
+		return after - before;
+	}
+
+	private long statementsFor(Supplier<List<Recipe>> read, int expectedSize) {
+		long before = connectionUtil.getPoolStats().getStatementsCreated();
+		List<Recipe> recipes = read.get();
+		long after = connectionUtil.getPoolStats().getStatementsCreated();
+		assertNotNull(recipes);
+		assertEquals(expectedSize, recipes.size());
+		recipes.forEach(recipe -> assertNotNull(recipe.getAuthor(), () -> "Every recipe should have its author"));
+		return after - before;
+	}
+
+	/**
+	 * @return the id of the first of the added ingredients, whose ids are consecutive
+	 */
+	private int addIngredients(int count) throws SQLException {
+		try (Connection connection = connectionUtil.getConnection()) {
+			int first;
+			try (ResultSet resultSet = connection.createStatement().executeQuery("SELECT MAX(id) + 1 FROM INGREDIENT")) {
+				resultSet.next();
+				first = resultSet.getInt(1);
+			}
+			try (PreparedStatement statement = connection.prepareStatement("INSERT INTO INGREDIENT (id, name) VALUES (?, ?)")) {
+				for (int i = 0; i < count; i++) {
+					statement.setInt(1, first + i);
+					statement.setString(2, "spice " + i);
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+			return first;
+		}
+	}
+
+	/**
+	 * @return the stored volume of each of the recipe's ingredients, keyed by ingredient id
+	 */
+	private Map<Integer, String> storedIngredients(int recipeId) throws SQLException {
+		Map<Integer, String> volumes = new HashMap<>();
+		try (Connection connection = connectionUtil.getConnection();
+				PreparedStatement statement = connection
+						.prepareStatement("SELECT ingredient_id, vol FROM RECIPE_INGREDIENT WHERE recipe_id = ?")) {
+			statement.setInt(1, recipeId);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					volumes.put(resultSet.getInt(1), resultSet.getBigDecimal(2).toPlainString());
+				}
+			}
+		}
+		return volumes;
+	}
+
+	private void addRecipes(int count) throws SQLException {
+		try (Connection connection = connectionUtil.getConnection();
+				PreparedStatement statement = connection
+						.prepareStatement("INSERT INTO RECIPE (name, instructions, chef_id) VALUES (?, ?, ?)")) {
+			for (int i = 0; i < count; i++) {
+				statement.setString(1, "generated soup " + i);
+				statement.setString(2, "Boil.");
+				statement.setInt(3, i % 4 + 1);
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.revature.dao.RecipeSearchIndex;
+import com.revature.model.Recipe;
+
+public class RecipeSearchIndexTest {
+
+    private RecipeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecipeSearchIndex();
+        index.load(Arrays.asList(
+                new Recipe(1, "carrot soup", "Put carrot in water.  Boil.  Maybe salt.", null),
+                new Recipe(2, "potato soup", "Put potato in water.  Boil.  Maybe salt.", null),
+                new Recipe(3, "roast potato", "Roast the potato, then mash the potato.", null),
+                new Recipe(4, "lemon rice soup", "Put lemon and rice in water.  Boil.  Maybe salt.", null)),
+                index.generation());
+    }
+
+    @Test
+    void ranksByRelevanceAcrossNameAndInstructions() {
+        assertEquals(List.of(3, 2), index.search("POTATO", 0, 10).getIds(),
+                () -> "The recipe that mentions the word most should come first, and case should not matter");
+        assertEquals(List.of(4), index.search("rice", 0, 10).getIds(), () -> "Words in the name should match");
+        assertEquals(List.of(3), index.search("roast", 0, 10).getIds());
+        assertEquals(3, index.search("water", 0, 10).getTotalMatches(), () -> "Words in the instructions should match");
+        assertTrue(index.search("pumpkin", 0, 10).getIds().isEmpty());
+        assertTrue(index.search("  ", 0, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void matchesAnyWordAndPages() {
+        RecipeSearchIndex.Result all = index.search("carrot lemon potato", 0, 10);
+        assertEquals(4, all.getTotalMatches());
+
+        RecipeSearchIndex.Result second = index.search("carrot lemon potato", 2, 2);
+        assertEquals(4, second.getTotalMatches());
+        assertEquals(all.getIds().subList(2, 4), second.getIds());
+        assertTrue(index.search("carrot lemon potato", 4, 2).getIds().isEmpty());
+    }
+
+    @Test
+    void appliesWritesIncrementally() {
+        index.put(5, "pumpkin soup", "Boil the pumpkin.");
+        index.put(1, "carrot soup", "Put carrot in stock.");
+        index.remove(2);
+
+        assertEquals(List.of(5), index.search("pumpkin", 0, 10).getIds());
+        assertEquals(List.of(3), index.search("potato", 0, 10).getIds());
+        assertFalse(index.search("stock", 0, 10).getIds().isEmpty(), () -> "An updated recipe should be re-indexed");
+        assertFalse(index.search("water", 0, 10).getIds().contains(1), () -> "Words removed by an update should not match");
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void suggestsNamesByPrefix() {
+        index.put(5, "potato salad", "Boil the potato.");
+        index.remove(2);
+
+        assertEquals(List.of(5), ids(index.searchPrefix("pot", 10)));
+        assertEquals(List.of(1, 4, 5), ids(index.searchPrefix("", 3)), () -> "Suggestions should be ordered by name");
+        assertEquals("lemon rice soup", index.searchPrefix("lemon", 10).get(0).getName());
+        assertTrue(index.searchPrefix("Pot", 10).isEmpty(), () -> "The prefix should be case-sensitive");
+    }
+
+    @Test
+    void refusesALoadThatRacedWithAWrite() {
+        RecipeSearchIndex fresh = new RecipeSearchIndex();
+        assertThrows(IllegalStateException.class, () -> fresh.search("soup", 0, 10));
+
+        long generation = fresh.generation();
+        fresh.remove(1);
+        assertFalse(fresh.load(List.of(new Recipe(1, "carrot soup", "Boil.", null)), generation));
+        assertFalse(fresh.isLoaded());
+        assertTrue(fresh.load(List.of(), fresh.generation()));
+    }
+
+    private static List<Integer> ids(List<Recipe> recipes) {
+        return recipes.stream().map(Recipe::getId).collect(Collectors.toList());
+    }
+}
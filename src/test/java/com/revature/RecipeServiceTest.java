@@ -2,6 +2,7 @@ package com.revature;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -144,4 +145,17 @@ public class RecipeServiceTest {
         assertEquals(new Page<Recipe>(1, 5, 0, 0, Collections.emptyList()), recipes,
                 () -> "Service shouldn't change the page returned from the dao");
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchByRelevanceUsesTheSearchIndex() {
+        when(recipeDao.searchRecipesByRelevance(anyString(), any(PageOptions.class)))
+                .thenReturn(new Page<Recipe>(1, 5, 1, 2, Arrays.asList(MOCKS.get(4), MOCKS.get(0))));
+        Page<Recipe> recipes = recipeService.searchRecipes("boil water", 1, 5, "relevance", "asc");
+        verify(recipeDao).searchRecipesByRelevance(eq("boil water"), any(PageOptions.class));
+        verify(recipeDao, never()).searchRecipesByTerm(anyString(), any(PageOptions.class));
+        assertEquals(new Page<Recipe>(1, 5, 1, 2, Arrays.asList(MOCKS.get(4), MOCKS.get(0))), recipes,
+                () -> "Service shouldn't change the page returned from the dao");
+        assertThrows(IllegalArgumentException.class, () -> recipeService.searchRecipes(null, 1, 5, "relevance", "asc"),
+                () -> "Relevance needs a term to rank by");
+    }
+}
@@ -0,0 +1,128 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.ResponseCache;
+
+import io.javalin.Javalin;
+import io.javalin.testtools.JavalinTest;
+import okhttp3.Response;
+
+public class ResponseCacheTest {
+
+    /** Builds an app whose one route is cached, counting how often its handler runs. */
+    private static Javalin app(ResponseCache cache, AtomicReference<String> version, AtomicInteger calls, int items) {
+        Javalin app = Javalin.create();
+        app.get("/items", cache.cached("items", version::get, ctx -> {
+            calls.incrementAndGet();
+            if (ctx.queryParam("missing") != null) {
+                ctx.status(404).result("No items found");
+                return;
+            }
+            StringBuilder names = new StringBuilder();
+            for (int i = 0; i < items; i++) {
+                names.append("item ").append(i).append(' ');
+            }
+            ctx.json(Map.of("version", version.get(), "page", String.valueOf(ctx.queryParam("page")), "names", names.toString()));
+        }));
+        return app;
+    }
+
+    @Test
+    void servesStoredBytesUntilTheVersionChanges() {
+        ResponseCache cache = new ResponseCache(1024 * 1024, 1500);
+        AtomicReference<String> version = new AtomicReference<>("v1");
+        AtomicInteger calls = new AtomicInteger();
+        JavalinTest.test(app(cache, version, calls, 5), (server, client) -> {
+            String first = client.get("/items?page=1&size=5").body().string();
+            Response second = client.get("/items?size=5&page=1");
+            assertEquals(first, second.body().string());
+            assertEquals("application/json", second.header("Content-Type"));
+            assertEquals(1, calls.get(), "Reordered query parameters should hit the same entry");
+
+            version.set("v2");
+            assertTrue(client.get("/items?page=1&size=5").body().string().contains("v2"));
+            assertEquals(2, calls.get());
+            assertEquals(1, cache.getStats().getSize(), "Entries of the old version should be dropped");
+
+            client.get("/items?missing=true");
+            assertEquals(404, client.get("/items?missing=true").code());
+            assertEquals(4, calls.get(), "Errors should never be cached");
+        });
+    }
+
+    @Test
+    void bodyBuiltWhileTheVersionMovedIsNotStored() {
+        ResponseCache cache = new ResponseCache(1024 * 1024, 1500);
+        AtomicReference<String> version = new AtomicReference<>("v1");
+        AtomicInteger calls = new AtomicInteger();
+        Javalin app = Javalin.create();
+        app.get("/items", cache.cached("items", version::get, ctx -> {
+            // A write commits while the handler is reading
+            version.set("v" + (calls.incrementAndGet() + 1));
+            ctx.json(Map.of("calls", calls.get()));
+        }));
+        JavalinTest.test(app, (server, client) -> {
+            assertEquals("{\"calls\":1}", client.get("/items").body().string());
+            assertEquals("{\"calls\":2}", client.get("/items").body().string());
+            assertEquals(0, cache.getStats().getSize());
+        });
+    }
+
+    @Test
+    void largeBodiesAreServedPreGzipped() {
+        ResponseCache cache = new ResponseCache(1024 * 1024, 1500);
+        AtomicInteger calls = new AtomicInteger();
+        JavalinTest.test(app(cache, new AtomicReference<>("v1"), calls, 500), (server, client) -> {
+            String plain = client.get("/items", request -> request.header("Accept-Encoding", "identity")).body().string();
+            assertTrue(plain.length() > 1500);
+
+            Response gzipped = client.get("/items", request -> request.header("Accept-Encoding", "br, gzip;q=0.5"));
+            assertEquals("gzip", gzipped.header("Content-Encoding"));
+            assertEquals("Accept-Encoding", gzipped.header("Vary"));
+            byte[] body = new GZIPInputStream(new ByteArrayInputStream(gzipped.body().bytes())).readAllBytes();
+            assertEquals(plain, new String(body, StandardCharsets.UTF_8));
+
+            assertEquals(1, calls.get(), "Both encodings should come from one stored entry");
+        });
+    }
+
+    @Test
+    void holdsNoMoreThanItsByteBudget() {
+        ResponseCache cache = new ResponseCache(4096, 1500);
+        AtomicInteger calls = new AtomicInteger();
+        JavalinTest.test(app(cache, new AtomicReference<>("v1"), calls, 60), (server, client) -> {
+            for (int page = 1; page <= 10; page++) {
+                client.get("/items?page=" + page).close();
+            }
+            assertTrue(cache.getUsedBytes() <= 4096);
+            assertTrue(cache.getStats().getEvictions() > 0);
+
+            client.get("/items?page=10").close();
+            assertEquals(10, calls.get(), "The most recent page should still be cached");
+            client.get("/items?page=1").close();
+            assertEquals(11, calls.get(), "The oldest page should have been evicted");
+        });
+    }
+
+    @Test
+    void readsAcceptEncodingQualities() {
+        for (String header : new String[] { "gzip", "deflate, GZIP", "gzip;q=0.1", "*" }) {
+            assertTrue(ResponseCache.acceptsGzip(header), header);
+        }
+        for (String header : new String[] { null, "", "br", "gzip;q=0", "gzip; q=0.0, *", "*;q=0" }) {
+            assertFalse(ResponseCache.acceptsGzip(header), String.valueOf(header));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.revature.dao.RevokedTokenDAO;
+import com.revature.model.Chef;
+import com.revature.service.SignedTokenService;
+import com.revature.util.ConnectionUtil;
+import com.revature.util.DBUtil;
+import com.revature.util.TokenSigner;
+
+public class SignedTokenServiceTest {
+
+    private static final byte[] SECRET = secret((byte) 7);
+    private static final Chef CHEF = new Chef(4, "ChefTrevin", "trevin@null.com", "trevature", true);
+
+    private RevokedTokenDAO revokedTokenDAO;
+    private SignedTokenService tokens;
+
+    @BeforeEach
+    void setUp() {
+        DBUtil.RUN_SQL();
+        revokedTokenDAO = new RevokedTokenDAO(new ConnectionUtil());
+        tokens = new SignedTokenService(new TokenSigner(SECRET), revokedTokenDAO, 60000, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokens.close();
+    }
+
+    @Test
+    void verifiesTheTokensItIssues() {
+        Chef chef = tokens.verify(tokens.issue(CHEF));
+
+        assertNotNull(chef);
+        assertEquals(4, chef.getId());
+        assertEquals("ChefTrevin", chef.getUsername());
+        assertTrue(chef.isAdmin());
+        assertNull(chef.getPassword(), () -> "The token should not carry the password");
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = tokens.issue(CHEF);
+        String tampered = (token.charAt(0) == 'A' ? 'B' : 'A') + token.substring(1);
+
+        assertNull(tokens.verify(tampered));
+        assertNull(tokens.verify("not a token"));
+        assertNull(tokens.verify(null));
+        try (SignedTokenService other = new SignedTokenService(new TokenSigner(secret((byte) 8)), revokedTokenDAO, 60000, 60000)) {
+            assertNull(other.verify(token), () -> "A token signed with another secret should be rejected");
+        }
+    }
+
+    @Test
+    void rejectsExpiredTokens() throws InterruptedException {
+        try (SignedTokenService shortLived = new SignedTokenService(new TokenSigner(SECRET), revokedTokenDAO, 1, 60000)) {
+            String token = shortLived.issue(CHEF);
+            Thread.sleep(20);
+
+            assertNull(shortLived.verify(token));
+        }
+    }
+
+    @Test
+    void revocationReachesOtherNodesOnTheirNextRefresh() {
+        try (SignedTokenService otherNode = new SignedTokenService(new TokenSigner(SECRET), revokedTokenDAO, 60000, 60000)) {
+            String token = tokens.issue(CHEF);
+            assertNotNull(otherNode.verify(token), () -> "Every node sharing the secret should accept the token");
+
+            tokens.revoke(token);
+            assertNull(tokens.verify(token), () -> "The revoking node should reject the token at once");
+            assertNotNull(otherNode.verify(token), () -> "Other nodes only see the revocation after a refresh");
+
+            otherNode.refresh();
+            assertNull(otherNode.verify(token));
+            assertNotNull(otherNode.verify(tokens.issue(CHEF)), () -> "Other tokens should not be affected");
+        }
+    }
+
+    private static byte[] secret(byte value) {
+        byte[] secret = new byte[32];
+        Arrays.fill(secret, value);
+        return secret;
+    }
+}
@@ -0,0 +1,43 @@
+package com.revature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import com.revature.util.SqlScriptReader;
+
+public class SqlScriptReaderTest {
+
+    @Test
+    void splitsStatementsAndDropsComments() throws IOException {
+        String script = "-- a table\nCREATE TABLE T (id INT); /* block; comment */\n"
+                + "INSERT INTO T VALUES (1);;\n-- trailing comment only\n";
+        try (SqlScriptReader reader = new SqlScriptReader(new StringReader(script))) {
+            assertEquals("CREATE TABLE T (id INT)", reader.nextStatement());
+            assertEquals("INSERT INTO T VALUES (1)", reader.nextStatement());
+            assertNull(reader.nextStatement());
+        }
+    }
+
+    @Test
+    void keepsSemicolonsAndDashesInsideQuotes() throws IOException {
+        String script = "INSERT INTO R VALUES ('Boil; salt -- to taste', 'it''s done');"
+                + "SELECT \"odd;name\" FROM R";
+        try (SqlScriptReader reader = new SqlScriptReader(new StringReader(script))) {
+            assertEquals("INSERT INTO R VALUES ('Boil; salt -- to taste', 'it''s done')", reader.nextStatement());
+            assertEquals("SELECT \"odd;name\" FROM R", reader.nextStatement());
+            assertNull(reader.nextStatement());
+        }
+    }
+
+    @Test
+    void unterminatedQuoteIsReported() {
+        SqlScriptReader reader = new SqlScriptReader(new StringReader("INSERT INTO R VALUES ('oops);"));
+        assertThrows(IOException.class, reader::nextStatement);
+    }
+}
@@ -0,0 +1,164 @@
+package com.revature.benchmark;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import com.revature.util.collections.IntIntMap;
+import com.revature.util.collections.IntObjectMap;
+
+/**
+ * Compares the int-keyed maps in {@code com.revature.util.collections} with the {@code HashMap<Integer, ...>} they
+ * replace, for the id lookups the caches and indexes do on every request. Each pair of maps holds the same random
+ * ids, from a range wider than the boxed Integer cache, and answers the same stream of lookups, half of them misses.
+ * The retained heap of each map is estimated from the used heap after a forced collection, which is rough but
+ * shows the difference clearly.
+ *
+ * This is not a unit test and does not run with the test suite. Run it with:
+ *
+ * <pre>
+ * mvn -q test-compile
+ * java -cp target/classes:target/test-classes com.revature.benchmark.IntMapBenchmark [entries]
+ * </pre>
+ */
+public class IntMapBenchmark {
+
+    private static final int LOOKUPS = 1000000;
+    private static final int ROUNDS = 20;
+    private static final int WARMUP_ROUNDS = 10;
+
+    /** Written by every measured operation, so the JIT cannot drop the lookups as dead code. */
+    private static long sink;
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        Random random = new Random(42);
+        int[] keys = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            keys[i] = 1000 + random.nextInt(entries * 4);
+        }
+        int[] lookups = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = i % 2 == 0 ? keys[random.nextInt(entries)] : 1000 + random.nextInt(entries * 4);
+        }
+        System.out.printf("%d entries, %d lookups per round%n", entries, LOOKUPS);
+
+        System.out.println();
+        System.out.println("== id -> object (caches, the ingredient catalog, index postings)");
+        Map<Integer, Object> boxedObjects = measureHeap("HashMap<Integer, Object>", () -> {
+            Map<Integer, Object> map = new HashMap<>();
+            for (int key : keys) {
+                map.put(key, keys);
+            }
+            return map;
+        });
+        IntObjectMap<Object> objects = measureHeap("IntObjectMap<Object>", () -> {
+            IntObjectMap<Object> map = new IntObjectMap<>();
+            for (int key : keys) {
+                map.put(key, keys);
+            }
+            return map;
+        });
+        time("HashMap<Integer, Object>.get", () -> {
+            int found = 0;
+            for (int key : lookups) {
+                if (boxedObjects.get(key) != null) {
+                    found++;
+                }
+            }
+            return found;
+        });
+        time("IntObjectMap.get", () -> {
+            int found = 0;
+            for (int key : lookups) {
+                if (objects.get(key) != null) {
+                    found++;
+                }
+            }
+            return found;
+        });
+
+        System.out.println();
+        System.out.println("== id -> int (term frequencies, document lengths)");
+        Map<Integer, Integer> boxedInts = measureHeap("HashMap<Integer, Integer>", () -> {
+            Map<Integer, Integer> map = new HashMap<>();
+            for (int key : keys) {
+                map.merge(key, 1, Integer::sum);
+            }
+            return map;
+        });
+        IntIntMap ints = measureHeap("IntIntMap", () -> {
+            IntIntMap map = new IntIntMap();
+            for (int key : keys) {
+                map.addTo(key, 1);
+            }
+            return map;
+        });
+        time("HashMap<Integer, Integer>.get", () -> {
+            int total = 0;
+            for (int key : lookups) {
+                total += boxedInts.getOrDefault(key, 0);
+            }
+            return total;
+        });
+        time("IntIntMap.getOrDefault", () -> {
+            int total = 0;
+            for (int key : lookups) {
+                total += ints.getOrDefault(key, 0);
+            }
+            return total;
+        });
+        time("HashMap<Integer, Integer>.merge", () -> {
+            Map<Integer, Integer> map = new HashMap<>();
+            for (int key : lookups) {
+                map.merge(key, 1, Integer::sum);
+            }
+            return map.size();
+        });
+        time("IntIntMap.addTo", () -> {
+            IntIntMap map = new IntIntMap();
+            for (int key : lookups) {
+                map.addTo(key, 1);
+            }
+            return map.size();
+        });
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Builds a map and reports roughly how much heap it retains.
+     */
+    private static <T> T measureHeap(String name, Supplier<T> build) {
+        long before = usedHeap();
+        T map = build.get();
+        long after = usedHeap();
+        System.out.printf("%-32s retains about %6.1f MB%n", name, (after - before) / 1e6);
+        return map;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void time(String name, IntSupplier operation) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += operation.getAsInt();
+        }
+        long[] samples = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += operation.getAsInt();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-32s median %8.3f ms   p90 %8.3f ms%n", name, samples[ROUNDS / 2] / 1e6,
+                samples[ROUNDS * 9 / 10] / 1e6);
+    }
+}
@@ -0,0 +1,187 @@
+package com.revature.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import com.revature.dao.ChefDAO;
+import com.revature.dao.IngredientDAO;
+import com.revature.dao.RecipeDAO;
+import com.revature.model.Chef;
+import com.revature.model.Ingredient;
+import com.revature.model.Recipe;
+import com.revature.util.ConnectionPool;
+import com.revature.util.ConnectionUtil;
+import com.revature.util.MigrationRunner;
+
+/**
+ * Measures the DAO methods that filter on RECIPE_INGREDIENT.recipe_id, RECIPE_INGREDIENT.ingredient_id and
+ * RECIPE.chef_id, before and after the V3 index migration, on a large synthetic dataset in a private in-memory
+ * H2 database. The query plans are printed alongside the timings.
+ *
+ * This is not a unit test and does not run with the test suite. Run it with:
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.revature.benchmark.JoinIndexBenchmark [recipes]
+ * </pre>
+ */
+public class JoinIndexBenchmark {
+
+    private static final int CHEFS = 200;
+    private static final int INGREDIENTS = 2000;
+    private static final int INGREDIENTS_PER_RECIPE = 8;
+    private static final int ROUNDS = 40;
+    private static final int WARMUP_ROUNDS = 10;
+
+    private final ConnectionUtil connectionUtil;
+    private final ChefDAO chefDao;
+    private final IngredientDAO ingredientDao;
+    private final RecipeDAO recipeDao;
+    private final int recipes;
+
+    /** The next ids to delete, so that every delete in every phase removes rows that still exist. */
+    private int nextRecipe = 1;
+    private int nextIngredient = 1;
+    private int nextChef = CHEFS + 1;
+    /** Lookups that do not delete anything walk through their own ids. */
+    private int nextSearch = INGREDIENTS / 2;
+    private int nextChefLookup = 1;
+
+    private JoinIndexBenchmark(ConnectionUtil connectionUtil, int recipes) {
+        this.connectionUtil = connectionUtil;
+        this.chefDao = new ChefDAO(connectionUtil);
+        this.ingredientDao = new IngredientDAO(connectionUtil);
+        this.recipeDao = new RecipeDAO(chefDao, ingredientDao, connectionUtil);
+        this.recipes = recipes;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        int recipes = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:join-index-benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        try (ConnectionPool pool = new ConnectionPool(dataSource, 1, 2, 5000, 300000, 2)) {
+            ConnectionUtil connectionUtil = new ConnectionUtil(pool);
+            MigrationRunner migrations = new MigrationRunner(connectionUtil);
+            migrations.migrate(2);
+
+            JoinIndexBenchmark benchmark = new JoinIndexBenchmark(connectionUtil, recipes);
+            benchmark.load();
+            benchmark.run("before V3 (foreign-key indexes only)");
+            migrations.migrate(3);
+            benchmark.run("after V3");
+        }
+    }
+
+    /**
+     * Adds synthetic chefs, ingredients, recipes and recipe ingredients on top of the seed data. Half of the
+     * chefs have no recipes, so deleting them only costs the foreign-key check.
+     */
+    private void load() throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = connectionUtil.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM RECIPE_INGREDIENT");
+            statement.execute("DELETE FROM RECIPE");
+            statement.execute("DELETE FROM INGREDIENT");
+            statement.execute("DELETE FROM CHEF");
+            statement.execute("INSERT INTO CHEF (id, username, email, password, is_admin) SELECT X, 'chef' || X, "
+                    + "'chef' || X || '@bench.test', 'secret', FALSE FROM SYSTEM_RANGE(1, " + CHEFS * 2 + ")");
+            statement.execute("INSERT INTO INGREDIENT (id, name) SELECT X, 'ing' || LPAD(X, 5, '0') "
+                    + "FROM SYSTEM_RANGE(1, " + INGREDIENTS + ")");
+            statement.execute("INSERT INTO RECIPE (id, name, instructions, chef_id) SELECT X, 'recipe ' || X, "
+                    + "'Boil.', MOD(X, " + CHEFS + ") + 1 FROM SYSTEM_RANGE(1, " + recipes + ")");
+            statement.execute("INSERT INTO RECIPE_INGREDIENT (recipe_id, ingredient_id, vol, unit) "
+                    + "SELECT r.X, MOD(r.X * 7 + k.X * 251, " + INGREDIENTS + ") + 1, 1, 'cups' "
+                    + "FROM SYSTEM_RANGE(1, " + recipes + ") r, SYSTEM_RANGE(1, " + INGREDIENTS_PER_RECIPE + ") k");
+            statement.execute("ANALYZE");
+        }
+        System.out.printf("loaded %d recipes, %d recipe ingredients in %d ms%n", recipes,
+                recipes * INGREDIENTS_PER_RECIPE, (System.nanoTime() - start) / 1000000);
+    }
+
+    private void run(String phase) throws SQLException {
+        System.out.println();
+        System.out.println("== " + phase);
+        explain("searchRecipesByIngredient", "SELECT ri.recipe_id FROM RECIPE_INGREDIENT ri JOIN INGREDIENT i "
+                + "ON ri.ingredient_id = i.id WHERE i.name LIKE '%ing00042%'");
+        explain("deleteRecipe", "DELETE FROM RECIPE_INGREDIENT WHERE recipe_id = 1");
+        explain("deleteIngredient", "DELETE FROM RECIPE_INGREDIENT WHERE INGREDIENT_ID = 1");
+        explain("recipes by chef", "SELECT id FROM RECIPE WHERE chef_id = 1");
+
+        time("searchRecipesByIngredient", () -> {
+            List<Recipe> found = recipeDao.searchRecipesByIngredient(ingredientName(nextSearch++));
+            if (found == null || found.isEmpty()) {
+                throw new IllegalStateException("The benchmark data should match every ingredient");
+            }
+        });
+        time("  ingredient -> recipe ids", () -> {
+            try (Connection connection = connectionUtil.getConnection();
+                    PreparedStatement statement = connection.prepareStatement("SELECT ri.recipe_id FROM RECIPE_INGREDIENT ri "
+                            + "JOIN INGREDIENT i ON ri.ingredient_id = i.id WHERE i.name LIKE ?")) {
+                statement.setString(1, "%" + ingredientName(nextSearch++) + "%");
+                drain(statement);
+            }
+        });
+        time("deleteRecipe", () -> recipeDao.deleteRecipe(new Recipe(nextRecipe++, null, null, null)));
+        time("deleteIngredient", () -> ingredientDao.deleteIngredient(new Ingredient(nextIngredient++, null)));
+        time("deleteChef", () -> chefDao.deleteChef(new Chef(nextChef++, null, null, null, false)));
+        time("recipes by chef", () -> {
+            try (Connection connection = connectionUtil.getConnection();
+                    PreparedStatement statement = connection.prepareStatement("SELECT id FROM RECIPE WHERE chef_id = ?")) {
+                statement.setInt(1, nextChefLookup++ % CHEFS + 1);
+                drain(statement);
+            }
+        });
+    }
+
+    private static void drain(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                resultSet.getInt(1);
+            }
+        }
+    }
+
+    private interface Operation {
+        void run() throws SQLException;
+    }
+
+    private void time(String name, Operation operation) throws SQLException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            operation.run();
+        }
+        long[] samples = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-26s median %8.3f ms   p90 %8.3f ms%n", name, samples[ROUNDS / 2] / 1e6,
+                samples[ROUNDS * 9 / 10] / 1e6);
+    }
+
+    private void explain(String name, String sql) throws SQLException {
+        try (Connection connection = connectionUtil.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            resultSet.next();
+            System.out.println("plan for " + name + ":");
+            for (String line : resultSet.getString(1).split("\n")) {
+                System.out.println("    " + line);
+            }
+        }
+    }
+
+    private static String ingredientName(int id) {
+        return String.format("ing%05d", id);
+    }
+}